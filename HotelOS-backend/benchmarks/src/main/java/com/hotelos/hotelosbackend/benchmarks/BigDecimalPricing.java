@@ -0,0 +1,50 @@
+package com.hotelos.hotelosbackend.benchmarks;
+
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * The BigDecimal room price pipeline from before pricing moved to scaled longs, kept as the baseline of
+ * {@link PriceCalculationBenchmark}. Same inputs and rounding; occupancy is left out like in the fixtures.
+ */
+final class BigDecimalPricing {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final SeasonalRateCalendar seasonalRateCalendar;
+    private final PromotionCatalog promotionCatalog;
+
+    BigDecimalPricing(SeasonalRateCalendar seasonalRateCalendar, PromotionCatalog promotionCatalog) {
+        this.seasonalRateCalendar = seasonalRateCalendar;
+        this.promotionCatalog = promotionCatalog;
+    }
+
+    BigDecimal calculateRoomPrice(Room room, LocalDate checkIn, LocalDate checkOut) {
+        BigDecimal price = room.getHotel().getBasePrice()
+                .multiply(BigDecimal.valueOf(room.getRoomType().getPriceFactor()));
+        if (room.getPriceModifier() != null) {
+            price = price.multiply(room.getPriceModifier());
+        }
+
+        // The calendar keeps scaled longs only, the baseline turns them back into BigDecimal
+        long[] multipliers = seasonalRateCalendar.nightlyMultiplierUnits(room.getHotel().getId(), checkIn, checkOut);
+        if (multipliers != null) {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (long multiplier : multipliers) {
+                sum = sum.add(BigDecimal.valueOf(multiplier, SeasonalRateCalendar.MULTIPLIER_SCALE));
+            }
+            price = price.multiply(sum).divide(BigDecimal.valueOf(multipliers.length), 2, RoundingMode.HALF_UP);
+        }
+
+        BigDecimal discountPercent = promotionCatalog.bestDiscount(room.getHotel().getId(),
+                room.getRoomType().getId(), checkIn, checkOut, null);
+        if (discountPercent != null) {
+            price = price.multiply(ONE_HUNDRED.subtract(discountPercent)).divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
+        }
+        return price;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotelos.hotelosbackend.benchmarks;
+
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room and Hotel equals/hashCode through the hash based collections the services build.
+ * Room hashes its Hotel, which hashes its address and contact, so the cost grows with the object graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityEqualityBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    private List<Room> fixture;
+    private List<Room> copies;
+    private List<Hotel> hotels;
+    private Set<Room> roomSet;
+
+    @Setup
+    public void setUp() {
+        fixture = HotelFixtures.rooms(rooms);
+        // Equal but not identical rooms, the way the same row loaded twice looks
+        copies = new ArrayList<>(fixture.size());
+        for (Room room : fixture) {
+            copies.add(room.withDescription(room.getDescription()));
+        }
+        hotels = fixture.stream().map(Room::getHotel).toList();
+        roomSet = new HashSet<>(fixture);
+    }
+
+    @Benchmark
+    public Set<Room> buildRoomSet() {
+        return new HashSet<>(fixture);
+    }
+
+    @Benchmark
+    public void lookupEqualRooms(Blackhole blackhole) {
+        for (Room copy : copies) {
+            blackhole.consume(roomSet.contains(copy));
+        }
+    }
+
+    @Benchmark
+    public void hotelHashCode(Blackhole blackhole) {
+        for (Hotel hotel : hotels) {
+            blackhole.consume(hotel.hashCode());
+        }
+    }
+}
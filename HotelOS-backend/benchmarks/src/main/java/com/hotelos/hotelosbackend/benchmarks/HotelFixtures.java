@@ -0,0 +1,147 @@
+package com.hotelos.hotelosbackend.benchmarks;
+
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.*;
+import com.hotelos.hotelosbackend.repository.PromotionRepository;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.SeasonalRateRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic in-memory hotels and rooms for the benchmarks. A fixed seed keeps runs comparable,
+ * every hotel has 100 rooms spread over 5 room types.
+ */
+public final class HotelFixtures {
+
+    static final int ROOMS_PER_HOTEL = 100;
+    static final int ROOM_TYPES_PER_HOTEL = 5;
+
+    private HotelFixtures() {
+    }
+
+    public static List<Room> rooms(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Room> rooms = new ArrayList<>(count);
+        Hotel hotel = null;
+        List<RoomType> roomTypes = List.of();
+        for (int i = 0; i < count; i++) {
+            if (i % ROOMS_PER_HOTEL == 0) {
+                hotel = hotel(i / ROOMS_PER_HOTEL + 1, random);
+                roomTypes = roomTypes(hotel, random);
+            }
+            Room room = new Room();
+            room.setRoomId(i + 1);
+            room.setRoomNumber(100 + i % ROOMS_PER_HOTEL);
+            room.setHotel(hotel);
+            room.setRoomType(roomTypes.get(random.nextInt(roomTypes.size())));
+            room.setCapacity(1 + random.nextInt(4));
+            // Roughly a third of the rooms carry their own modifier
+            if (random.nextInt(3) == 0) {
+                room.setPriceModifier(BigDecimal.valueOf(80 + random.nextInt(41), 2));
+            }
+            room.setStatus(random.nextInt(10) == 0 ? RoomStatus.MAINTENANCE : RoomStatus.AVAILABLE);
+            room.setDescription("Room " + room.getRoomNumber());
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    /**
+     * Pricing service for the hotels of {@link #rooms(int)} over {@link #seasonalRateCalendar(int)} and
+     * {@link #promotionCatalog(int)}. The availability index is never built, so occupancy pricing is skipped.
+     */
+    public static IPriceCalculationServices priceCalculationServices(int rooms) {
+        return priceCalculationServices(seasonalRateCalendar(rooms), promotionCatalog(rooms));
+    }
+
+    public static IPriceCalculationServices priceCalculationServices(SeasonalRateCalendar calendar,
+            PromotionCatalog catalog) {
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(repository(RoomRepository.class, List.of()),
+                repository(ReservationRepository.class, List.of()), new SimpleMeterRegistry(), 18);
+        return new IPriceCalculationServices(calendar, index, catalog, 0.7, 0.25);
+    }
+
+    /** Every hotel has a summer season from July 11th, so a stay from July 10th mixes seasonal and plain nights */
+    public static SeasonalRateCalendar seasonalRateCalendar(int rooms) {
+        List<SeasonalRate> seasons = new ArrayList<>();
+        for (long hotelId = 1; hotelId <= hotels(rooms); hotelId++) {
+            seasons.add(new SeasonalRate(hotelId, hotelId, "Summer", LocalDate.of(2025, 7, 11),
+                    LocalDate.of(2025, 8, 31), new BigDecimal("1.2500"), null, null));
+        }
+        SeasonalRateCalendar calendar = new SeasonalRateCalendar(repository(SeasonalRateRepository.class, seasons));
+        calendar.rebuildAll();
+        return calendar;
+    }
+
+    /** Every other hotel gives 10% off stays of three nights or more */
+    public static PromotionCatalog promotionCatalog(int rooms) {
+        List<Promotion> promotions = new ArrayList<>();
+        for (long hotelId = 2; hotelId <= hotels(rooms); hotelId += 2) {
+            Promotion promotion = new Promotion();
+            promotion.setId(hotelId);
+            promotion.setHotelId(hotelId);
+            promotion.setType(PromotionType.LENGTH_OF_STAY);
+            promotion.setMinNights(3);
+            promotion.setDiscountPercent(new BigDecimal("10.00"));
+            promotions.add(promotion);
+        }
+        PromotionCatalog catalog = new PromotionCatalog(repository(PromotionRepository.class, promotions));
+        catalog.rebuildAll();
+        return catalog;
+    }
+
+    private static int hotels(int rooms) {
+        return (rooms + ROOMS_PER_HOTEL - 1) / ROOMS_PER_HOTEL;
+    }
+
+    // Spring Data repositories are interfaces; the pricing components only call list finders at build time
+    private static <T> T repository(Class<T> type, List<?> all) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll", "findAllByActiveTrue" -> all;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName();
+                    default -> List.class.isAssignableFrom(method.getReturnType()) ? List.of() : null;
+                }));
+    }
+
+    private static Hotel hotel(long id, SplittableRandom random) {
+        AddressInformation address = new AddressInformation();
+        address.setCity("City " + id % 50);
+        address.setCountry("Country " + id % 10);
+
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName("Hotel " + id);
+        hotel.setDescription("Synthetic hotel " + id);
+        hotel.setAddressInformation(address);
+        hotel.setBasePrice(BigDecimal.valueOf(5_000 + random.nextInt(25_000), 2));
+        return hotel;
+    }
+
+    private static List<RoomType> roomTypes(Hotel hotel, SplittableRandom random) {
+        List<RoomType> roomTypes = new ArrayList<>(ROOM_TYPES_PER_HOTEL);
+        for (int i = 0; i < ROOM_TYPES_PER_HOTEL; i++) {
+            roomTypes.add(RoomType.builder()
+                    .id(hotel.getId() * ROOM_TYPES_PER_HOTEL + i)
+                    .name("Type " + i)
+                    .priceFactor(1.0 + i * 0.25 + random.nextInt(10) / 100.0)
+                    .hotel(hotel)
+                    .isActive(true)
+                    .build());
+        }
+        return roomTypes;
+    }
+}
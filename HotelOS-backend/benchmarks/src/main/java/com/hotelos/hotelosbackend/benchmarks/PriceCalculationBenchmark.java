@@ -0,0 +1,62 @@
+package com.hotelos.hotelosbackend.benchmarks;
+
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices every room of the fixture for a three night stay, the per-room cost is the score divided by rooms.
+ * bigDecimalBaseline runs the former BigDecimal arithmetic on the same seasons and promotions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceCalculationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    private IPriceCalculationServices priceCalculationServices;
+    private BigDecimalPricing bigDecimalPricing;
+    private final LocalDate checkIn = LocalDate.of(2025, 7, 10);
+    private final LocalDate checkOut = checkIn.plusDays(3);
+    private List<Room> fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = HotelFixtures.rooms(rooms);
+        SeasonalRateCalendar calendar = HotelFixtures.seasonalRateCalendar(rooms);
+        PromotionCatalog catalog = HotelFixtures.promotionCatalog(rooms);
+        priceCalculationServices = HotelFixtures.priceCalculationServices(calendar, catalog);
+        bigDecimalPricing = new BigDecimalPricing(calendar, catalog);
+    }
+
+    @Benchmark
+    public void calculateRoomPrice(Blackhole blackhole) {
+        for (Room room : fixture) {
+            blackhole.consume(priceCalculationServices.calculateRoomPrice(room, checkIn, checkOut));
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalBaseline(Blackhole blackhole) {
+        for (Room room : fixture) {
+            blackhole.consume(bigDecimalPricing.calculateRoomPrice(room, checkIn, checkOut));
+        }
+    }
+
+    @Benchmark
+    public void quote(Blackhole blackhole) {
+        blackhole.consume(priceCalculationServices.quote(fixture, checkIn, checkOut));
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotelos.hotelosbackend.implementation;
+
+import com.hotelos.hotelosbackend.benchmarks.HotelFixtures;
+import com.hotelos.hotelosbackend.dto.HotelOfferDto;
+import com.hotelos.hotelosbackend.dto.RoomDto;
+import com.hotelos.hotelosbackend.mapper.RoomMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the implementation package to reach the package-private offer pipeline of IHotelServices
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotelOfferBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    private List<RoomDto> roomDtos;
+
+    @Setup
+    public void setUp() {
+        IPriceCalculationServices priceCalculationServices = HotelFixtures.priceCalculationServices(rooms);
+        RoomMapperImpl roomMapper = new RoomMapperImpl();
+        // Priced up front so only the stream pipelines are measured
+        roomDtos = HotelFixtures.rooms(rooms).stream()
+                .map(room -> {
+                    BigDecimal price = priceCalculationServices.calculateRoomPrice(room, null, null);
+                    return roomMapper.toDto(room, price);
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public HotelOfferDto fillOfferFromRooms() {
+        HotelOfferDto hotelOffer = new HotelOfferDto();
+        IHotelServices.fillOfferFromRooms(hotelOffer, roomDtos);
+        return hotelOffer;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hotelos.hotelosbackend.mapper;
+
+import com.hotelos.hotelosbackend.benchmarks.HotelFixtures;
+import com.hotelos.hotelosbackend.models.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the mapper package to wire the protected price service without a Spring context
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rooms;
+
+    private final LocalDate checkIn = LocalDate.of(2025, 7, 10);
+    private final LocalDate checkOut = checkIn.plusDays(3);
+    private RoomMapper roomMapper;
+    private List<Room> fixture;
+
+    @Setup
+    public void setUp() {
+        roomMapper = new RoomMapperImpl();
+        roomMapper.priceCalculationService = HotelFixtures.priceCalculationServices(rooms);
+        fixture = HotelFixtures.rooms(rooms);
+    }
+
+    /** toDto(room, checkIn, checkOut) maps and prices each room for the stay */
+    @Benchmark
+    public void toDtoWithDates(Blackhole blackhole) {
+        for (Room room : fixture) {
+            blackhole.consume(roomMapper.toDto(room, checkIn, checkOut));
+        }
+    }
+}
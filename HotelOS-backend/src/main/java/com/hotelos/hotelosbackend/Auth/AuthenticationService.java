@@ -7,12 +7,15 @@ import com.hotelos.hotelosbackend.models.User;
 import com.hotelos.hotelosbackend.models.UserType;
 import com.hotelos.hotelosbackend.repository.HotelRepository;
 import com.hotelos.hotelosbackend.repository.UserRepository;
+import com.hotelos.hotelosbackend.services.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
@@ -22,6 +25,7 @@ public class AuthenticationService {
     private final IJWTServices jwtServices;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final TokenRevocationService tokenRevocationService;
 
     private String normalizeEmail(String raw) {
         if (raw == null)
@@ -74,6 +78,8 @@ public class AuthenticationService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        // Tokens carry the user in their claims, so the ones issued before the change have to be revoked
+        tokenRevocationService.revokeTokensIssuedBefore(user.getUserId(), Instant.now());
 
         if (user.getEmail() != null) {
             emailService.sendPasswordChanged(user.getEmail(), user.getFirstName());
@@ -110,6 +116,7 @@ public class AuthenticationService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        tokenRevocationService.revokeTokensIssuedBefore(user.getUserId(), Instant.now());
 
         if (user.getEmail() != null) {
             emailService.sendPasswordChanged(user.getEmail(), user.getFirstName());
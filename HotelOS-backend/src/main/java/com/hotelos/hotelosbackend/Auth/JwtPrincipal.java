@@ -0,0 +1,17 @@
+package com.hotelos.hotelosbackend.Auth;
+
+import com.hotelos.hotelosbackend.models.UserType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Authenticated user built from the claims of a JWT, without loading the user from the database.
+ */
+public record JwtPrincipal(long userId, String email, UserType userType, Long hotelId) {
+
+    public List<GrantedAuthority> authorities() {
+        return userType == null ? List.of() : List.of(new SimpleGrantedAuthority(userType.name()));
+    }
+}
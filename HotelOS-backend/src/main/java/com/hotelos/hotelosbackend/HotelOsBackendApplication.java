@@ -3,9 +3,11 @@ package com.hotelos.hotelosbackend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan("com.hotelos.hotelosbackend.models")
+@EnableScheduling
 public class HotelOsBackendApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(HotelOsBackendApplication.class, args);
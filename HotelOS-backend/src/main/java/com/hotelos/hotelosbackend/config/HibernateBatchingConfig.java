@@ -0,0 +1,31 @@
+package com.hotelos.hotelosbackend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * JDBC batching for inserts and updates. Only entities with sequence ids (see {@link IdSequenceAligner})
+ * can be batched, identity ids force one round trip per INSERT.
+ */
+@Configuration
+public class HibernateBatchingConfig implements HibernatePropertiesCustomizer {
+
+    private final int batchSize;
+
+    public HibernateBatchingConfig(@Value("${hotelos.jpa.batch-size:50}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+        // Groups statements per table, so interleaved rooms and images still end up in full batches
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+        hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        hibernateProperties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+    }
+}
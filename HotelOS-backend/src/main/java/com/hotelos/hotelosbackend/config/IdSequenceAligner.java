@@ -0,0 +1,53 @@
+package com.hotelos.hotelosbackend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the id sequences of the batch inserted tables and moves them past ids that were generated
+ * by the old identity columns, before the first request can insert anything.
+ */
+@Component
+public class IdSequenceAligner {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // Must match the allocationSize of the @SequenceGenerator mappings
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("public.rooms_seq", "public.rooms", "room_id"),
+            new IdSequence("public.entity_images_seq", "public.entity_images", "id"),
+            new IdSequence("public.guests_seq", "public.guests", "guest_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory is only injected so the schema exists before the sequences are aligned
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void align() {
+        for (IdSequence sequence : SEQUENCES) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.name() + " INCREMENT BY " + ALLOCATION_SIZE);
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + sequence.idColumn() + "), 0) FROM " + sequence.table(), Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence.name(), Long.class);
+            // Hibernate's pooled optimizer hands out the block just below each value it reads, so ids from
+            // the next block are all greater than the current last value
+            if (maxId != null && lastValue != null && maxId >= lastValue) {
+                jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?)", Long.class, sequence.name(), maxId + 1);
+                logger.info("Moved {} past existing id {}", sequence.name(), maxId);
+            }
+        }
+    }
+
+    private record IdSequence(String name, String table, String idColumn) {
+    }
+}
@@ -1,13 +1,18 @@
 package com.hotelos.hotelosbackend.config;
 
+import com.hotelos.hotelosbackend.Auth.JwtPrincipal;
 import com.hotelos.hotelosbackend.implementation.IJWTServices;
+import com.hotelos.hotelosbackend.models.User;
+import com.hotelos.hotelosbackend.services.TokenRevocationService;
 import io.micrometer.common.lang.NonNull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +21,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 
 @Component
@@ -23,28 +33,87 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final int USER_CACHE_MAX_SIZE = 10_000;
+
     private final IJWTServices ijwtServices;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Authenticate from the token claims alone; tokens without the user claims still load the user
+    @Value("${hotelos.jwt.stateless:true}")
+    private boolean stateless;
+
+    @Value("${hotelos.jwt.user-cache-ttl-ms:30000}")
+    private long userCacheTtlMillis;
+
+    // Least recently used evicted first
+    private final Map<String, CachedUser> userCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                    return size() > USER_CACHE_MAX_SIZE;
+                }
+            });
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String userEmail;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         final String token = authHeader.substring(7);
-        userEmail = ijwtServices.extractUsername(token);
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-            if (ijwtServices.isTokenValid(token, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<JwtPrincipal> principal = stateless ? ijwtServices.extractPrincipal(token) : Optional.empty();
+            if (principal.isPresent()) {
+                if (!tokenRevocationService.isRevoked(principal.get().userId(), ijwtServices.extractIssuedAt(token))) {
+                    authenticate(request, principal.get(), principal.get().authorities());
+                }
+            } else {
+                authenticateWithUserLookup(request, token);
             }
         }
         filterChain.doFilter(request, response);
 
     }
+
+    private void authenticateWithUserLookup(HttpServletRequest request, String token) {
+        final String userEmail = ijwtServices.extractUsername(token);
+        if (userEmail == null) {
+            return;
+        }
+        UserDetails userDetails = loadUser(userEmail);
+        if (userDetails instanceof User user
+                && tokenRevocationService.isRevoked(user.getUserId(), ijwtServices.extractIssuedAt(token))) {
+            return;
+        }
+        if (ijwtServices.isTokenValid(token, userDetails)) {
+            authenticate(request, userDetails, userDetails.getAuthorities());
+        }
+    }
+
+    // Short-lived local cache so tokens without the user claims do not query the database on every request
+    private UserDetails loadUser(String email) {
+        if (userCacheTtlMillis <= 0) {
+            return userDetailsService.loadUserByUsername(email);
+        }
+        long now = System.currentTimeMillis();
+        CachedUser cached = userCache.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.userDetails();
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        userCache.put(email, new CachedUser(userDetails, now + userCacheTtlMillis));
+        return userDetails;
+    }
+
+    private void authenticate(HttpServletRequest request, Object principal,
+            Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+    }
+
+    private record CachedUser(UserDetails userDetails, long expiresAt) {
+    }
 }
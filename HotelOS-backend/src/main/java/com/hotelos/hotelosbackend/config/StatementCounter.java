@@ -0,0 +1,34 @@
+package com.hotelos.hotelosbackend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Unlike the session factory statistics
+ * it needs no generate_statistics and is not mixed up with concurrent requests; the statements of an
+ * operation are the difference of two readings.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<long[]> prepared = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        prepared.get()[0]++;
+        return sql;
+    }
+
+    public long current() {
+        return prepared.get()[0];
+    }
+}
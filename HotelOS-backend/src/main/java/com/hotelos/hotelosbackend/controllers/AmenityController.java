@@ -1,6 +1,7 @@
 package com.hotelos.hotelosbackend.controllers;
 
 import com.hotelos.hotelosbackend.dto.AmenityDto;
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.RoomDto;
 import com.hotelos.hotelosbackend.mapper.AmenityMapper;
 import com.hotelos.hotelosbackend.models.Amenity;
@@ -9,6 +10,7 @@ import com.hotelos.hotelosbackend.models.Room;
 import com.hotelos.hotelosbackend.services.AmenityServices;
 import com.hotelos.hotelosbackend.services.HotelServices;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -70,6 +73,22 @@ public class AmenityController {
         return ResponseEntity.ok(amenities.map(amenityMapper::toDto));
     }
 
+    @GetMapping("/hotel/{hotelId}/scroll")
+    public ResponseEntity<?> scrollAmenitiesByHotelId(
+            @PathVariable @Positive Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Positive @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            CursorPageDto<AmenityDto> amenities = amenityServices
+                    .getAmenitiesByHotelIdAfter(hotelId, cursor, size, withTotal)
+                    .map(amenityMapper::toDto);
+            return ResponseEntity.ok(amenities);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AmenityDto> updateAmenity(
             @PathVariable @Positive Long id,
@@ -0,0 +1,99 @@
+package com.hotelos.hotelosbackend.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelos.hotelosbackend.dto.HotelPerformanceDto;
+import com.hotelos.hotelosbackend.models.AnalyticsGranularity;
+import com.hotelos.hotelosbackend.services.HotelAnalyticsService;
+import com.hotelos.hotelosbackend.services.HotelServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/hotels")
+@Tag(name = "Hotel Analytics", description = "Occupancy and revenue analytics")
+public class HotelAnalyticsController {
+
+    @Autowired
+    private HotelAnalyticsService hotelAnalyticsService;
+
+    @Autowired
+    private HotelServices hotelServices;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping("/{id}/analytics")
+    @Operation(summary = "Get hotel performance",
+            description = "Returns occupancy rate, ADR and RevPAR per day, week or month between two dates (inclusive), as JSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<?> getHotelPerformance(
+            @Parameter(description = "Hotel ID") @PathVariable Long id,
+            @Parameter(description = "First day") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "DAY, WEEK or MONTH") @RequestParam(defaultValue = "DAY") AnalyticsGranularity granularity,
+            @Parameter(description = "json or csv") @RequestParam(defaultValue = "json") String format) {
+        if (!hotelServices.hotelExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<HotelPerformanceDto> performance;
+        try {
+            performance = hotelAnalyticsService.getPerformance(id, from, to, granularity);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        if ("csv".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writer.write("period_start,period_end,available_room_nights,sold_room_nights,revenue,occupancy_rate,adr,revpar\n");
+                for (HotelPerformanceDto row : performance) {
+                    writer.write(row.getPeriodStart() + "," + row.getPeriodEnd() + "," + row.getAvailableRoomNights()
+                            + "," + row.getSoldRoomNights() + "," + row.getRevenue().toPlainString() + ","
+                            + row.getOccupancyRate().toPlainString() + "," + row.getAdr().toPlainString() + ","
+                            + row.getRevPar().toPlainString() + "\n");
+                }
+                writer.flush();
+            };
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"hotel-" + id + "-analytics-" + from + "-" + to + ".csv\"")
+                    .body(body);
+        }
+
+        // Rows are written one by one instead of serializing the whole list at once
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                for (HotelPerformanceDto row : performance) {
+                    objectMapper.writeValue(generator, row);
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -4,6 +4,7 @@ import com.hotelos.hotelosbackend.dto.*;
 import com.hotelos.hotelosbackend.mapper.*;
 import com.hotelos.hotelosbackend.models.EntityImage;
 import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
 import com.hotelos.hotelosbackend.repository.EntityImageRepository;
 import com.hotelos.hotelosbackend.services.CloudinaryServices;
 import com.hotelos.hotelosbackend.services.HotelServices;
@@ -17,6 +18,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -26,6 +29,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -35,6 +39,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @RestController
+@Validated
 @RequestMapping("/api/hotels")
 @Tag(name = "Hotel Management", description = "APIs for hotel operations - create, update, delete hotels and manage their properties")
 public class HotelController {
@@ -120,8 +125,9 @@ public class HotelController {
     })
     public ResponseEntity<?> getAllHotelImages(@Parameter(description = "Hotel ID") @PathVariable Long id) {
         try {
-            Hotel hotel = hotelServices.getHotelById(id)
-                    .orElseThrow(() -> new RuntimeException("Hotel not found"));
+            if (!hotelServices.hotelExists(id)) {
+                throw new RuntimeException("Hotel not found");
+            }
 
             List<EntityImage> images = imageRepository.findByEntityTypeAndEntityIdOrderByDisplayOrderAsc(
                     EntityImage.EntityType.HOTEL, id);
@@ -281,10 +287,19 @@ public class HotelController {
             int startingDisplayOrder = imageRepository.findMaxDisplayOrderForEntity(EntityImage.EntityType.HOTEL, id)
                     .orElse(0) + 1;
 
-            List<String> urls = cloudinaryServices.uploadMultipleHotelImages(files, id, hotel.getName());
+            CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleHotelImages(files, id, hotel.getName());
+            List<String> urls = result.urls();
             List<Map<String, Object>> uploadedImages = new ArrayList<>();
 
-            // Save all images to database as non-primary
+            if (urls.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "No files could be uploaded");
+                response.put("failed", result.failed());
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+            }
+
+            // Save all images to database as non-primary, ids come from the sequence and the inserts are batched
+            List<EntityImage> entityImages = new ArrayList<>(urls.size());
             for (int i = 0; i < urls.size(); i++) {
                 String url = urls.get(i);
 
@@ -296,20 +311,24 @@ public class HotelController {
                 entityImage.setPrimary(false); // Always non-primary
                 entityImage.setDisplayOrder(startingDisplayOrder + i);
                 entityImage.setUploadDate(LocalDateTime.now());
+                entityImages.add(entityImage);
+            }
 
-                EntityImage savedImage = imageRepository.save(entityImage);
-
+            for (EntityImage savedImage : imageRepository.saveAll(entityImages)) {
                 Map<String, Object> imageDetails = new HashMap<>();
                 imageDetails.put("id", savedImage.getId());
-                imageDetails.put("url", url);
+                imageDetails.put("url", savedImage.getUrl());
                 imageDetails.put("isPrimary", false);
                 uploadedImages.add(imageDetails);
             }
 
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Files uploaded successfully");
+            response.put("message", result.failed().isEmpty()
+                    ? "Files uploaded successfully" : "Some files failed to upload");
             response.put("count", urls.size());
             response.put("images", uploadedImages);
+            // Files that failed or timed out, with their position in the request
+            response.put("failed", result.failed());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -417,6 +436,30 @@ public class HotelController {
         return ResponseEntity.ok(hotels);
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll hotels", description = "Returns hotels in id order using an opaque cursor instead of page offsets, deep pages cost the same as the first one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hotels retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<?> scrollHotels(
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") @Positive @Max(500) int size,
+            @Parameter(description = "Also count all matching hotels") @RequestParam(defaultValue = "false") boolean withTotal,
+            @Parameter(description = "Filter by hotel name") @RequestParam(required = false) String hotel_name,
+            @Parameter(description = "Filter by country") @RequestParam(required = false) String country,
+            @Parameter(description = "Filter by city") @RequestParam(required = false) String city
+    ) {
+        try {
+            CursorPageDto<HotelDto> hotels = hotelServices
+                    .getHotelsWithFiltersAfter(hotel_name, country, city, cursor, size, withTotal)
+                    .map(hotelMapper::toDto);
+            return ResponseEntity.ok(hotels);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/offers")
     @Operation(summary = "Get hotel offers", description = "Returns a paginated list of hotel offers with optional filtering")
     @ApiResponses(value = {
@@ -444,12 +487,13 @@ public class HotelController {
     public ResponseEntity<HotelOfferDto> getHotelWithOffers(
             @Parameter(description = "Hotel ID") @PathVariable Long id,
             @Parameter(description = "Check-in date") @RequestParam(required = false) LocalDate checkIn,
-            @Parameter(description = "Check-out date") @RequestParam(required = false) LocalDate checkOut
+            @Parameter(description = "Check-out date") @RequestParam(required = false) LocalDate checkOut,
+            @Parameter(description = "Promo code") @RequestParam(required = false) String promoCode
     ) {
-        return hotelServices.getHotelById(id).map(hotel -> {
-            HotelOfferDto hotelOffer = hotelServices.getHotelOfferById(hotel.getId(), checkIn, checkOut);
-            return ResponseEntity.ok(hotelOffer);
-        }).orElse(ResponseEntity.notFound().build());
+        if (!hotelServices.hotelExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(hotelServices.getHotelOfferById(id, checkIn, checkOut, promoCode));
     }
 
     @GetMapping("/{id}")
@@ -489,10 +533,32 @@ public class HotelController {
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Filter by email") @RequestParam(required = false) String email) {
         Pageable pageable = PageRequest.of(page, size);
-        return hotelServices.getHotelById(id).map(hotel -> {
-            Page<UserDto> users = userServices.getUsersWithFilters(email, id, pageable).map(userMapper::toDto);
+        if (!hotelServices.hotelExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Page<UserDto> users = userServices.getUsersWithFilters(email, id, pageable).map(userMapper::toDto);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/{id}/users/scroll")
+    @Operation(summary = "Scroll users by hotel ID", description = "Returns a hotel's users in id order using an opaque cursor instead of page offsets")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<?> scrollUsersByHotelId(
+            @Parameter(description = "Hotel ID") @PathVariable Long id,
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") @Positive @Max(500) int size,
+            @Parameter(description = "Also count all matching users") @RequestParam(defaultValue = "false") boolean withTotal,
+            @Parameter(description = "Filter by email") @RequestParam(required = false) String email) {
+        try {
+            CursorPageDto<UserDto> users = userServices.getHotelUsersAfter(email, id, cursor, size, withTotal)
+                    .map(userMapper::toDto);
             return ResponseEntity.ok(users);
-        }).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}/rooms")
@@ -510,6 +576,58 @@ public class HotelController {
         return ResponseEntity.ok(rooms);
     }
 
+    @GetMapping("/{id}/rooms/scroll")
+    @Operation(summary = "Scroll rooms by hotel ID", description = "Returns a hotel's rooms in id order using an opaque cursor instead of page offsets")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rooms retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<?> scrollRoomsByHotelId(
+            @Parameter(description = "Hotel ID") @PathVariable Long id,
+            @Parameter(description = "Cursor from the previous page, omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") @Positive @Max(500) int size,
+            @Parameter(description = "Also count all matching rooms") @RequestParam(defaultValue = "false") boolean withTotal,
+            @Parameter(description = "Filter by room number") @RequestParam(required = false) Long roomNumber) {
+        try {
+            CursorPageDto<RoomDto> rooms = roomServices.getRoomsWithFiltersAfter(id, roomNumber, cursor, size, withTotal)
+                    .map(roomMapper::toDto);
+            return ResponseEntity.ok(rooms);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/rooms/bulk")
+    @Operation(summary = "Add rooms in bulk", description = "Creates many rooms of a hotel in one transaction using batched inserts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rooms created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or duplicate room numbers"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<?> addRoomsBulk(
+            @Parameter(description = "Hotel ID") @PathVariable Long id,
+            @RequestBody List<@Valid RoomDto> roomDtos) {
+        Optional<Hotel> hotel = hotelServices.getHotelById(id);
+        if (hotel.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (roomDtos.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No rooms provided"));
+        }
+
+        try {
+            List<Room> rooms = roomServices.createRooms(hotel.get(), roomDtos.stream()
+                    .map(dto -> roomMapper.toEntity(dto, hotel.get()))
+                    .collect(Collectors.toList()));
+            // Ids only, mapping thousands of full room DTOs back would dwarf the insert itself
+            return ResponseEntity.ok(Map.of(
+                    "count", rooms.size(),
+                    "roomIds", rooms.stream().map(Room::getRoomId).toList()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}/rooms/cheapest")
     @Operation(summary = "Get cheapest room by hotel ID", description = "Returns the lowest priced room for a hotel")
     @ApiResponses(value = {
@@ -518,10 +636,10 @@ public class HotelController {
     })
     public ResponseEntity<RoomDto> getCheapestRoomByHotelId(
             @Parameter(description = "Hotel ID") @PathVariable Long id) {
-        return hotelServices.getHotelById(id).map(hotel -> {
-            RoomDto cheapestRoom = roomServices.getCheapestRoomByHotelId(id);
-            return ResponseEntity.ok(cheapestRoom);
-        }).orElse(ResponseEntity.notFound().build());
+        if (!hotelServices.hotelExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(roomServices.getCheapestRoomByHotelId(id));
     }
 
     @PutMapping("/{id}")
@@ -546,21 +664,17 @@ public class HotelController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete hotel", description = "Deletes a hotel and updates related entities")
+    @Operation(summary = "Delete hotel", description = "Deletes a hotel with its rooms, reservations, room types, amenities and images, its users are unassigned")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Hotel deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Hotel not found")
     })
     public ResponseEntity<Void> deleteHotel(
             @Parameter(description = "Hotel ID") @PathVariable Long id) {
-        hotelServices.getHotelById(id).ifPresent(hotel -> {
-            userServices.getUsersByHotel(hotel).forEach(user -> {
-                user.setHotel(null);
-                userServices.updateUser(user);
-            });
-            roomServices.getRoomsByHotel(id).forEach(room -> roomServices.deleteRoom(room.getRoomId()));
-            hotelServices.deleteHotel(id);
-        });
+        if (!hotelServices.hotelExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        hotelServices.deleteHotel(id);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
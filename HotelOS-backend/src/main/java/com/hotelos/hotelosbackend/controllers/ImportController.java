@@ -0,0 +1,69 @@
+package com.hotelos.hotelosbackend.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelos.hotelosbackend.dto.ImportReportDto;
+import com.hotelos.hotelosbackend.models.ImportKind;
+import com.hotelos.hotelosbackend.services.BulkImportServices;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/imports")
+@Tag(name = "Bulk Import", description = "Streaming CSV and NDJSON imports of hotels, room types, rooms and amenities")
+public class ImportController {
+
+    @Autowired
+    private BulkImportServices bulkImportServices;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${hotelos.imports.max-record-chars:" + ImportRecordReader.DEFAULT_MAX_RECORD_CHARS + "}")
+    private int maxRecordChars;
+
+    @PostMapping("/{kind}")
+    @Operation(summary = "Bulk import",
+            description = "Reads the raw request body record by record and writes valid rows in batches. "
+                    + "Invalid rows are skipped and reported by line number.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for failed lines"),
+            @ApiResponse(responseCode = "400", description = "Unknown kind or format, or an invalid CSV header")
+    })
+    public ResponseEntity<?> importRecords(
+            @Parameter(description = "hotels, room-types, rooms or amenities") @PathVariable String kind,
+            @Parameter(description = "csv (first line is the header) or ndjson") @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        try {
+            ImportKind importKind = ImportKind.fromPath(kind);
+            // The body is consumed as a stream, it is never buffered as a whole
+            BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            ImportRecordReader reader;
+            if ("csv".equalsIgnoreCase(format)) {
+                reader = ImportRecordReader.csv(in, maxRecordChars);
+            } else if ("ndjson".equalsIgnoreCase(format)) {
+                reader = ImportRecordReader.ndjson(in, objectMapper, maxRecordChars);
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("error", "format must be csv or ndjson"));
+            }
+            ImportReportDto report = bulkImportServices.importRecords(importKind, reader);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
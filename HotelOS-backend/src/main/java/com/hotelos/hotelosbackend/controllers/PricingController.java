@@ -0,0 +1,57 @@
+package com.hotelos.hotelosbackend.controllers;
+
+import com.hotelos.hotelosbackend.dto.PriceQuoteDto;
+import com.hotelos.hotelosbackend.dto.PriceQuoteRequestDto;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.services.PriceCalculationService;
+import com.hotelos.hotelosbackend.services.RoomServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/pricing")
+@Tag(name = "Pricing", description = "Room price quotes")
+public class PricingController {
+
+    @Autowired
+    private PriceCalculationService priceCalculationService;
+
+    @Autowired
+    private RoomServices roomServices;
+
+    @PostMapping("/quotes")
+    @Operation(summary = "Quote rooms for a stay",
+            description = "Prices up to 500 rooms for the same dates in one call, with the price of every night")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quotes in the order of the requested room IDs"),
+            @ApiResponse(responseCode = "400", description = "Invalid dates or unknown room IDs")
+    })
+    public ResponseEntity<?> quote(@Valid @RequestBody PriceQuoteRequestDto request) {
+        Set<Long> roomIds = new LinkedHashSet<>(request.getRoomIds());
+        Map<Long, Room> roomsById = roomServices.getRoomsByIds(roomIds).stream()
+                .collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+        List<Long> missing = roomIds.stream().filter(id -> !roomsById.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Rooms not found: " + missing));
+        }
+
+        List<Room> rooms = roomIds.stream().map(roomsById::get).toList();
+        try {
+            List<PriceQuoteDto> quotes = priceCalculationService.quote(rooms, request.getCheckIn(),
+                    request.getCheckOut(), request.getPromoCode());
+            return ResponseEntity.ok(quotes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.hotelos.hotelosbackend.controllers;
+
+import com.hotelos.hotelosbackend.dto.PromotionDto;
+import com.hotelos.hotelosbackend.mapper.PromotionMapper;
+import com.hotelos.hotelosbackend.services.HotelServices;
+import com.hotelos.hotelosbackend.services.PromotionServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/promotions")
+@Tag(name = "Promotions", description = "Discount rules of a hotel")
+public class PromotionController {
+
+    @Autowired
+    private PromotionServices promotionServices;
+
+    @Autowired
+    private HotelServices hotelServices;
+
+    @Autowired
+    private PromotionMapper promotionMapper;
+
+    @GetMapping
+    @Operation(summary = "List promotions", description = "Returns the hotel's promotions, active or not")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Promotions retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<List<PromotionDto>> getPromotions(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId) {
+        if (!hotelServices.hotelExists(hotelId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(promotionServices.getPromotions(hotelId).stream()
+                .map(promotionMapper::toDto)
+                .toList());
+    }
+
+    @PostMapping
+    @Operation(summary = "Add promotion", description = "Creates a discount rule; a stay gets the largest discount it qualifies for")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Promotion created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<?> addPromotion(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Valid @RequestBody PromotionDto promotionDto) {
+        if (!hotelServices.hotelExists(hotelId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(promotionMapper.toDto(promotionServices.createPromotion(hotelId,
+                    promotionMapper.toEntity(promotionDto))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update promotion", description = "Changes the conditions or discount of a promotion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Promotion updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Promotion not found in this hotel")
+    })
+    public ResponseEntity<?> updatePromotion(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Parameter(description = "Promotion ID") @PathVariable @Positive Long id,
+            @Valid @RequestBody PromotionDto promotionDto) {
+        try {
+            return promotionServices.updatePromotion(hotelId, id, promotionMapper.toEntity(promotionDto))
+                    .<ResponseEntity<?>>map(saved -> ResponseEntity.ok(promotionMapper.toDto(saved)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete promotion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Promotion deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Promotion not found in this hotel")
+    })
+    public ResponseEntity<Void> deletePromotion(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Parameter(description = "Promotion ID") @PathVariable @Positive Long id) {
+        return promotionServices.deletePromotion(hotelId, id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -1,18 +1,30 @@
 package com.hotelos.hotelosbackend.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.ReservationDto;
+import com.hotelos.hotelosbackend.dto.ReservationExportRow;
 import com.hotelos.hotelosbackend.mapper.ReservationMapper;
 import com.hotelos.hotelosbackend.models.Reservation;
 import com.hotelos.hotelosbackend.services.ReservationServices;
+import com.hotelos.hotelosbackend.utils.Csv;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -24,6 +36,9 @@ public class ReservationController {
     @Autowired
     private ReservationMapper reservationMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<ReservationDto> addReservation(@Valid @RequestBody ReservationDto reservationDto) {
         Reservation reservation = reservationMapper.toEntity(reservationDto);
@@ -68,6 +83,50 @@ public class ReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    @GetMapping("/hotel/{hotelId}/scroll")
+    public ResponseEntity<?> scrollReservationsByHotelId(
+            @PathVariable @Positive Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Positive @Max(500) int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            CursorPageDto<ReservationDto> reservations = reservationServices
+                    .getReservationsByHotelId(hotelId, cursor, size, withTotal)
+                    .map(reservationMapper::toDto);
+            return ResponseEntity.ok(reservations);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/hotel/{hotelId}/export")
+    public ResponseEntity<StreamingResponseBody> exportReservationsByHotelId(
+            @PathVariable @Positive Long hotelId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        // Rows go out as they are read, nothing holds the whole export in memory
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(Csv.line((Object[]) ReservationExportRow.CSV_HEADER));
+            }
+            reservationServices.exportReservationsByHotelId(hotelId, row -> {
+                try {
+                    writer.write(csv ? Csv.line(row.csvValues()) : objectMapper.writeValueAsString(row) + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"hotel-" + hotelId + "-reservations."
+                        + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<ReservationDto>> getReservationsByUser(
             @PathVariable @Positive Long userId,
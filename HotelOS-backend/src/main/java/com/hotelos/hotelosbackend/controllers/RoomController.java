@@ -194,10 +194,19 @@ public class RoomController {
             int startingDisplayOrder = imageRepository.findMaxDisplayOrderForEntity(EntityImage.EntityType.ROOM, id)
                     .orElse(0) + 1;
 
-            List<String> urls = cloudinaryServices.uploadMultipleRoomImages(files, id, room.getHotel().getName(),room.getRoomId(), String.valueOf(room.getRoomNumber()));
+            CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleRoomImages(files, id, room.getHotel().getName(),room.getRoomId(), String.valueOf(room.getRoomNumber()));
+            List<String> urls = result.urls();
             List<Map<String, Object>> uploadedImages = new ArrayList<>();
 
-            // Save all images to database as non-primary
+            if (urls.isEmpty()) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "No files could be uploaded");
+                response.put("failed", result.failed());
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+            }
+
+            // Save all images to database as non-primary, ids come from the sequence and the inserts are batched
+            List<EntityImage> entityImages = new ArrayList<>(urls.size());
             for (int i = 0; i < urls.size(); i++) {
                 String url = urls.get(i);
 
@@ -209,20 +218,24 @@ public class RoomController {
                 entityImage.setPrimary(false); // Always non-primary
                 entityImage.setDisplayOrder(startingDisplayOrder + i);
                 entityImage.setUploadDate(LocalDateTime.now());
+                entityImages.add(entityImage);
+            }
 
-                EntityImage savedImage = imageRepository.save(entityImage);
-
+            for (EntityImage savedImage : imageRepository.saveAll(entityImages)) {
                 Map<String, Object> imageDetails = new HashMap<>();
                 imageDetails.put("id", savedImage.getId());
-                imageDetails.put("url", url);
+                imageDetails.put("url", savedImage.getUrl());
                 imageDetails.put("isPrimary", false);
                 uploadedImages.add(imageDetails);
             }
 
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "Files uploaded successfully");
+            response.put("message", result.failed().isEmpty()
+                    ? "Files uploaded successfully" : "Some files failed to upload");
             response.put("count", urls.size());
             response.put("images", uploadedImages);
+            // Files that failed or timed out, with their position in the request
+            response.put("failed", result.failed());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -239,8 +252,9 @@ public class RoomController {
     })
     public ResponseEntity<?> getAllRoomImages(@Parameter(description = "Room ID") @PathVariable Long id) {
         try {
-            Room room = roomServices.getRoomById(id)
-                    .orElseThrow(() -> new RuntimeException("Room not found"));
+            if (!roomServices.roomExists(id)) {
+                throw new RuntimeException("Room not found");
+            }
 
             List<EntityImage> images = imageRepository.findByEntityTypeAndEntityIdOrderByDisplayOrderAsc(
                     EntityImage.EntityType.ROOM, id);
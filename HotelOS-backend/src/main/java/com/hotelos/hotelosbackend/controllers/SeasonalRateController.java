@@ -0,0 +1,105 @@
+package com.hotelos.hotelosbackend.controllers;
+
+import com.hotelos.hotelosbackend.dto.SeasonalRateDto;
+import com.hotelos.hotelosbackend.mapper.SeasonalRateMapper;
+import com.hotelos.hotelosbackend.services.HotelServices;
+import com.hotelos.hotelosbackend.services.SeasonalRateServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/seasonal-rates")
+@Tag(name = "Seasonal Rates", description = "Date ranged price multipliers of a hotel")
+public class SeasonalRateController {
+
+    @Autowired
+    private SeasonalRateServices seasonalRateServices;
+
+    @Autowired
+    private HotelServices hotelServices;
+
+    @Autowired
+    private SeasonalRateMapper seasonalRateMapper;
+
+    @GetMapping
+    @Operation(summary = "List seasonal rates", description = "Returns the hotel's seasons ordered by start date")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seasons retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<List<SeasonalRateDto>> getSeasonalRates(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId) {
+        if (!hotelServices.hotelExists(hotelId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(seasonalRateServices.getSeasonalRates(hotelId).stream()
+                .map(seasonalRateMapper::toDto)
+                .toList());
+    }
+
+    @PostMapping
+    @Operation(summary = "Add seasonal rate", description = "Creates a season; where seasons overlap, the one starting last wins")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Season created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Hotel not found")
+    })
+    public ResponseEntity<?> addSeasonalRate(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Valid @RequestBody SeasonalRateDto seasonalRateDto) {
+        if (!hotelServices.hotelExists(hotelId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(seasonalRateMapper.toDto(seasonalRateServices.createSeasonalRate(hotelId,
+                    seasonalRateMapper.toEntity(seasonalRateDto))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update seasonal rate", description = "Changes the dates or multiplier of a season")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Season updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Season not found in this hotel")
+    })
+    public ResponseEntity<?> updateSeasonalRate(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Parameter(description = "Season ID") @PathVariable @Positive Long id,
+            @Valid @RequestBody SeasonalRateDto seasonalRateDto) {
+        try {
+            return seasonalRateServices.updateSeasonalRate(hotelId, id, seasonalRateMapper.toEntity(seasonalRateDto))
+                    .<ResponseEntity<?>>map(saved -> ResponseEntity.ok(seasonalRateMapper.toDto(saved)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete seasonal rate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Season deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Season not found in this hotel")
+    })
+    public ResponseEntity<Void> deleteSeasonalRate(
+            @Parameter(description = "Hotel ID") @PathVariable @Positive Long hotelId,
+            @Parameter(description = "Season ID") @PathVariable @Positive Long id) {
+        return seasonalRateServices.deleteSeasonalRate(hotelId, id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -4,19 +4,21 @@ import com.hotelos.hotelosbackend.dto.UserDto;
 import com.hotelos.hotelosbackend.mapper.UserMapper;
 import com.hotelos.hotelosbackend.models.User;
 import com.hotelos.hotelosbackend.models.UserType;
+import com.hotelos.hotelosbackend.services.FileDownloadService;
 import com.hotelos.hotelosbackend.services.UserServices;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -32,6 +34,9 @@ public class UserController {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private FileDownloadService fileDownloadService;
+
     @PostMapping
     public ResponseEntity<UserDto> addUser(@Valid @RequestBody UserDto userDto) {
         User user = userMapper.toEntity(userDto);
@@ -63,22 +68,21 @@ public class UserController {
     }
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<String> getRoomImage(@PathVariable @Positive(message = "ID must be a positive number") Long id, HttpServletResponse response) {
+    public ResponseEntity<String> getRoomImage(@PathVariable @Positive(message = "ID must be a positive number") Long id, HttpServletRequest request, HttpServletResponse response) {
         try {
             User user = userServices.getUserById(id).orElseThrow(() -> new RuntimeException("User not found"));
             if (user.getImagePath() == null || user.getImagePath().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("File is empty or invalid");
             }
 
-            byte[] image = userServices.getFile(user.getImagePath());
-            if (image == null || image.length == 0) {
+            Resource image = userServices.getFile(user.getImagePath());
+            if (image.contentLength() == 0) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("File is empty or invalid");
             }
 
-            response.setContentType(MediaType.IMAGE_JPEG_VALUE);
-            StreamUtils.copy(image, response.getOutputStream());
-
-            return ResponseEntity.ok(new String(image));
+            // The body is written to the response directly, null tells Spring the request is handled
+            fileDownloadService.serve(image, MediaType.IMAGE_JPEG, request, response);
+            return null;
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.toString());
         }
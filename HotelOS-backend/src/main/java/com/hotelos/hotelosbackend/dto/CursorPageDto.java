@@ -0,0 +1,47 @@
+package com.hotelos.hotelosbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a keyset paginated list")
+public class CursorPageDto<T> {
+    private List<T> content;
+
+    @Schema(description = "Pass as 'cursor' to get the next page, null on the last page")
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    private int size;
+
+    @Schema(description = "Total number of matching rows, only counted when 'withTotal' is set")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long total;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only tells whether
+     * another page follows. The cursor is the sort key of the last returned row.
+     */
+    public static <T> CursorPageDto<T> of(List<T> rows, int size, Function<? super T, ?> sortKey, Long total) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(sortKey.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageDto<>(content, nextCursor, hasNext, content.size(), total);
+    }
+
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageDto<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext, size, total);
+    }
+}
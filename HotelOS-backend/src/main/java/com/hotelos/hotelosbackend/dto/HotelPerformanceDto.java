@@ -0,0 +1,32 @@
+package com.hotelos.hotelosbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Occupancy and revenue of a hotel over one period")
+public class HotelPerformanceDto {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Long availableRoomNights;
+    private Long soldRoomNights;
+    private BigDecimal revenue;
+
+    @Schema(description = "Sold room nights divided by available room nights")
+    private BigDecimal occupancyRate;
+
+    @Schema(description = "Average daily rate: revenue divided by sold room nights")
+    private BigDecimal adr;
+
+    @Schema(description = "Revenue per available room night")
+    private BigDecimal revPar;
+}
@@ -0,0 +1,41 @@
+package com.hotelos.hotelosbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk import")
+public class ImportReportDto {
+    private String kind;
+
+    @Schema(description = "Records read from the input")
+    private long processed;
+
+    private long imported;
+
+    private long failed;
+
+    @Schema(description = "Per line errors, capped at hotelos.import.max-reported-errors")
+    private List<LineError> errors;
+
+    private boolean errorsTruncated;
+
+    @Schema(description = "Ids of the created rows, only reported for hotels and room types")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CreatedRow> created;
+
+    public record LineError(long line, String message) {
+    }
+
+    public record CreatedRow(long line, long id) {
+    }
+}
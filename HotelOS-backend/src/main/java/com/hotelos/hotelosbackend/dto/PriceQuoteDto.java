@@ -0,0 +1,40 @@
+package com.hotelos.hotelosbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Price of one room for a stay, night by night")
+public class PriceQuoteDto {
+    private Long roomId;
+
+    private Long hotelId;
+
+    private LocalDate checkIn;
+
+    private LocalDate checkOut;
+
+    @Schema(description = "Average nightly rate, the price room listings show for these dates")
+    private BigDecimal price;
+
+    @Schema(description = "Promotion discount in percent, null when none applies")
+    private BigDecimal discountPercent;
+
+    @Schema(description = "Sum of the nightly prices")
+    private BigDecimal total;
+
+    private List<NightPrice> nights;
+
+    public record NightPrice(LocalDate date, BigDecimal price) {
+    }
+}
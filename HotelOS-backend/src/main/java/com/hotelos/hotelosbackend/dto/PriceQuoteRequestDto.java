@@ -0,0 +1,34 @@
+package com.hotelos.hotelosbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Rooms to price for one stay")
+public class PriceQuoteRequestDto {
+    @NotEmpty(message = "At least one room ID is required")
+    @Size(max = 500, message = "At most 500 rooms can be quoted at once")
+    private List<@NotNull @Positive Long> roomIds;
+
+    @NotNull(message = "Check-in date is required")
+    private LocalDate checkIn;
+
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOut;
+
+    @Schema(description = "Unlocks the hotel's promo code promotions")
+    private String promoCode;
+}
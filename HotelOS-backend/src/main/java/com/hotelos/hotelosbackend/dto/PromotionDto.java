@@ -0,0 +1,74 @@
+package com.hotelos.hotelosbackend.dto;
+
+import com.hotelos.hotelosbackend.models.PromotionType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Promotion: a percentage discount for stays meeting all of its conditions")
+public class PromotionDto {
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Schema(description = "Taken from the path", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long hotelId;
+
+    @Positive(message = "Room type ID must be positive")
+    @Schema(description = "Restricts the promotion to one room type, required for ROOM_TYPE")
+    private Long roomTypeId;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    @Schema(example = "Book 60 days ahead")
+    private String name;
+
+    @NotNull(message = "Type is required")
+    private PromotionType type;
+
+    @Size(max = 50, message = "Code must not exceed 50 characters")
+    @Schema(description = "Required for PROMO_CODE, matched case-insensitively", example = "SUMMER10")
+    private String code;
+
+    @NotNull(message = "Discount is required")
+    @DecimalMin(value = "0.01", message = "Discount must be at least 0.01 percent")
+    @DecimalMax(value = "100", inclusive = false, message = "Discount must be below 100 percent")
+    @Schema(example = "15")
+    private BigDecimal discountPercent;
+
+    @Positive(message = "Minimum nights must be positive")
+    @Schema(description = "Required for LENGTH_OF_STAY")
+    private Integer minNights;
+
+    @PositiveOrZero(message = "Minimum days before arrival must not be negative")
+    @Schema(description = "Required for EARLY_BIRD")
+    private Integer minDaysBeforeArrival;
+
+    @PositiveOrZero(message = "Maximum days before arrival must not be negative")
+    @Schema(description = "Required for LAST_MINUTE")
+    private Integer maxDaysBeforeArrival;
+
+    @Schema(description = "First check-in date the promotion applies to")
+    private LocalDate validFrom;
+
+    @Schema(description = "Last check-in date the promotion applies to, inclusive")
+    private LocalDate validTo;
+
+    @Builder.Default
+    private boolean active = true;
+}
@@ -0,0 +1,38 @@
+package com.hotelos.hotelosbackend.dto;
+
+import com.hotelos.hotelosbackend.models.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Flat reservation row for exports, read straight from a JPQL constructor expression without loading entities */
+public record ReservationExportRow(
+        Long reservationId,
+        String reservationName,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        ReservationStatus status,
+        BigDecimal totalAmount,
+        Integer numberOfAdults,
+        Integer numberOfChildren,
+        Long roomId,
+        Long roomNumber,
+        Long userId,
+        String userEmail,
+        String primaryGuestName,
+        String primaryGuestEmail,
+        String primaryGuestPhone,
+        LocalDateTime createdAt) {
+
+    public static final String[] CSV_HEADER = {"reservation_id", "reservation_name", "check_in_date",
+            "check_out_date", "status", "total_amount", "number_of_adults", "number_of_children", "room_id",
+            "room_number", "user_id", "user_email", "primary_guest_name", "primary_guest_email",
+            "primary_guest_phone", "created_at"};
+
+    public Object[] csvValues() {
+        return new Object[]{reservationId, reservationName, checkInDate, checkOutDate, status, totalAmount,
+                numberOfAdults, numberOfChildren, roomId, roomNumber, userId, userEmail, primaryGuestName,
+                primaryGuestEmail, primaryGuestPhone, createdAt};
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotelos.hotelosbackend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Seasonal rate: a price multiplier for a range of nights")
+public class SeasonalRateDto {
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    @Schema(description = "Taken from the path", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long hotelId;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    @Schema(example = "Summer high season")
+    private String name;
+
+    @NotNull(message = "Start date is required")
+    @Schema(description = "First night of the season")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    @Schema(description = "Last night of the season, inclusive")
+    private LocalDate endDate;
+
+    @NotNull(message = "Multiplier is required")
+    @DecimalMin(value = "0.1", message = "Multiplier must be at least 0.1")
+    @DecimalMax(value = "10", message = "Multiplier must be at most 10")
+    @Schema(example = "1.25")
+    private BigDecimal multiplier;
+}
@@ -1,12 +1,16 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.models.Amenity;
 import com.hotelos.hotelosbackend.repository.AmenityRepository;
 import com.hotelos.hotelosbackend.services.AmenityServices;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -33,6 +37,15 @@ public class IAmenityServices implements AmenityServices {
         return amenityRepository.findByHotel_Id(hotelId, pageable);
     }
 
+    @Override
+    public CursorPageDto<Amenity> getAmenitiesByHotelIdAfter(Long hotelId, String cursor, int size, boolean withTotal) {
+        long afterId = CursorCodec.decodeAfterId(cursor);
+        List<Amenity> rows = amenityRepository.findByHotel_IdAndIdGreaterThanOrderByIdAsc(hotelId, afterId,
+                Limit.of(size + 1));
+        Long total = withTotal ? amenityRepository.countByHotel_Id(hotelId) : null;
+        return CursorPageDto.of(rows, size, Amenity::getId, total);
+    }
+
     @Override
     public Optional<Amenity> getAmenityById(Long id) {
         return amenityRepository.findById(id);
@@ -0,0 +1,437 @@
+package com.hotelos.hotelosbackend.implementation;
+
+import com.hotelos.hotelosbackend.dto.ImportReportDto;
+import com.hotelos.hotelosbackend.models.*;
+import com.hotelos.hotelosbackend.repository.HotelRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.RoomTypeRepository;
+import com.hotelos.hotelosbackend.services.BulkImportServices;
+import com.hotelos.hotelosbackend.services.CheapestRoomProjectionService;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader.ImportRecord;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader.MalformedRecordException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Streams import records into batched inserts. Rows are checked against in-memory state loaded once per
+ * hotel (existence, room numbers, room types) instead of one uniqueness query per row, and each batch is
+ * written through JPA so the statistics and availability listeners see every new room.
+ */
+@Service
+public class IBulkImportServices implements BulkImportServices {
+    private static final Logger logger = LoggerFactory.getLogger(IBulkImportServices.class);
+
+    private static final Runnable NOTHING = () -> {
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final HotelRepository hotelRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomRepository roomRepository;
+    private final CheapestRoomProjectionService cheapestRoomProjectionService;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Value("${hotelos.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${hotelos.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public IBulkImportServices(PlatformTransactionManager transactionManager, HotelRepository hotelRepository,
+            RoomTypeRepository roomTypeRepository, RoomRepository roomRepository,
+            CheapestRoomProjectionService cheapestRoomProjectionService, RoomAvailabilityIndex roomAvailabilityIndex) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotelRepository = hotelRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomRepository = roomRepository;
+        this.cheapestRoomProjectionService = cheapestRoomProjectionService;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+    }
+
+    @Override
+    public ImportReportDto importRecords(ImportKind kind, ImportRecordReader reader) throws IOException {
+        ImportRun run = new ImportRun(kind);
+        while (true) {
+            ImportRecord record;
+            try {
+                record = reader.next();
+            } catch (MalformedRecordException e) {
+                run.processed++;
+                run.failed(e.getLine(), e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                break;
+            }
+            run.processed++;
+            try {
+                run.pending.add(parse(run, record));
+            } catch (IllegalArgumentException e) {
+                run.failed(record.line(), e.getMessage());
+            }
+            if (run.pending.size() >= batchSize) {
+                write(run);
+            }
+        }
+        write(run);
+
+        // Once per hotel instead of once per room
+        run.touchedHotels.forEach(cheapestRoomProjectionService::refreshHotel);
+        logger.info("Import of {} finished: {} records read, {} imported, {} failed",
+                kind.path(), run.processed, run.imported, run.failed);
+        return run.report();
+    }
+
+    private void write(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> rows = new ArrayList<>(run.pending);
+        run.pending.clear();
+
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> {
+                List<Long> written = new ArrayList<>(rows.size());
+                for (PendingRow row : rows) {
+                    written.add(row.write().apply(entityManager));
+                }
+                // Detached after every batch, so the persistence context never holds more than one batch
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Import batch of {} {} rolled back", rows.size(), run.kind.path(), e);
+            String message = "Batch rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (PendingRow row : rows) {
+                row.rollback().run();
+                run.failed(row.line(), message);
+            }
+            return;
+        }
+
+        run.imported += rows.size();
+        if (run.created != null) {
+            for (int i = 0; i < rows.size(); i++) {
+                run.created.add(new ImportReportDto.CreatedRow(rows.get(i).line(), ids.get(i)));
+            }
+        }
+        logger.info("Import of {}: {} records read, {} imported, {} failed",
+                run.kind.path(), run.processed, run.imported, run.failed);
+    }
+
+    private PendingRow parse(ImportRun run, ImportRecord record) {
+        return switch (run.kind) {
+            case HOTELS -> parseHotel(record);
+            case ROOM_TYPES -> parseRoomType(run, record);
+            case ROOMS -> parseRoom(run, record);
+            case AMENITIES -> parseAmenity(run, record);
+        };
+    }
+
+    private PendingRow parseHotel(ImportRecord record) {
+        Hotel hotel = new Hotel();
+        hotel.setName(required(record, "name", 100));
+        hotel.setDescription(record.get("description"));
+        hotel.setBasePrice(positiveDecimal(record, "basePrice"));
+
+        AddressInformation address = new AddressInformation();
+        address.setAddress(record.get("address"));
+        address.setCity(record.get("city"));
+        address.setState(record.get("state"));
+        address.setZipCode(record.get("zipCode"));
+        address.setCountry(record.get("country"));
+        hotel.setAddressInformation(address);
+
+        ContactInformation contact = new ContactInformation();
+        contact.setPhoneNumber(record.get("phoneNumber"));
+        contact.setEmail(record.get("email"));
+        hotel.setContactInformation(contact);
+
+        return new PendingRow(record.line(), em -> {
+            em.persist(hotel);
+            return hotel.getId();
+        }, NOTHING);
+    }
+
+    private PendingRow parseRoomType(ImportRun run, ImportRecord record) {
+        Long hotelId = optionalLong(record, "hotelId");
+        if (hotelId != null) {
+            requireHotel(run, hotelId);
+        }
+        String name = required(record, "name", 255);
+        Double priceFactor = optionalDouble(record, "priceFactor");
+        if (priceFactor == null || priceFactor < 0.1) {
+            throw new IllegalArgumentException("priceFactor is required and must be at least 0.1");
+        }
+        String active = record.get("active");
+
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setPriceFactor(priceFactor);
+        roomType.setDescription(record.get("description"));
+        roomType.setActive(active == null || Boolean.parseBoolean(active));
+
+        // Global room types (no hotel) are not deduplicated, there is no owner to scope the name to
+        Runnable rollback = NOTHING;
+        if (hotelId != null) {
+            Set<String> names = run.roomTypeNames.computeIfAbsent(hotelId, this::loadRoomTypeNames);
+            String key = name.toLowerCase(Locale.ROOT);
+            if (!names.add(key)) {
+                throw new IllegalArgumentException("Room type '" + name + "' already exists in hotel " + hotelId);
+            }
+            rollback = () -> names.remove(key);
+        }
+
+        return new PendingRow(record.line(), em -> {
+            roomType.setHotel(hotelId == null ? null : em.getReference(Hotel.class, hotelId));
+            em.persist(roomType);
+            return roomType.getId();
+        }, rollback);
+    }
+
+    private PendingRow parseRoom(ImportRun run, ImportRecord record) {
+        long hotelId = requiredLong(record, "hotelId");
+        requireHotel(run, hotelId);
+        long roomNumber = requiredLong(record, "roomNumber");
+        if (roomNumber <= 0) {
+            throw new IllegalArgumentException("roomNumber must be a positive number");
+        }
+        long roomTypeId = resolveRoomType(run, hotelId, record);
+        Long capacity = optionalLong(record, "capacity");
+        if (capacity == null || capacity <= 0 || capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity is required and must be a positive number");
+        }
+
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setCapacity(capacity.intValue());
+        room.setPriceModifier(optionalDecimal(record, "priceModifier"));
+        room.setStatus(enumValue(RoomStatus.class, record, "status", RoomStatus.AVAILABLE));
+        room.setDescription(optional(record, "description", 300));
+
+        // Checked last, so a row rejected for another reason does not claim its room number
+        Set<Long> roomNumbers = run.roomNumbers.computeIfAbsent(hotelId,
+                id -> new HashSet<>(roomRepository.findRoomNumbersByHotelId(id)));
+        if (!roomNumbers.add(roomNumber)) {
+            throw new IllegalArgumentException("Room number " + roomNumber + " already exists in hotel " + hotelId);
+        }
+        run.touchedHotels.add(hotelId);
+
+        return new PendingRow(record.line(), em -> {
+            room.setHotel(em.getReference(Hotel.class, hotelId));
+            room.setRoomType(em.getReference(RoomType.class, roomTypeId));
+            em.persist(room);
+            roomAvailabilityIndex.roomSaved(room);
+            return room.getRoomId();
+        }, () -> roomNumbers.remove(roomNumber));
+    }
+
+    private PendingRow parseAmenity(ImportRun run, ImportRecord record) {
+        long hotelId = requiredLong(record, "hotelId");
+        requireHotel(run, hotelId);
+        Double distanceKm = optionalDouble(record, "distanceKm");
+        if (distanceKm != null && distanceKm < 0) {
+            throw new IllegalArgumentException("distanceKm must not be negative");
+        }
+
+        Amenity amenity = new Amenity();
+        amenity.setName(required(record, "name", 100));
+        amenity.setDescription(optional(record, "description", 500));
+        amenity.setType(enumValue(AmenityType.class, record, "type", null));
+        amenity.setDistanceKm(distanceKm);
+        amenity.setImageUrl(optional(record, "imageUrl", 255));
+
+        return new PendingRow(record.line(), em -> {
+            amenity.setHotel(em.getReference(Hotel.class, hotelId));
+            em.persist(amenity);
+            return amenity.getId();
+        }, NOTHING);
+    }
+
+    private void requireHotel(ImportRun run, long hotelId) {
+        if (!run.hotelExists.computeIfAbsent(hotelId, hotelRepository::existsById)) {
+            throw new IllegalArgumentException("Hotel " + hotelId + " does not exist");
+        }
+    }
+
+    private Set<String> loadRoomTypeNames(Long hotelId) {
+        Set<String> names = new HashSet<>();
+        for (RoomType roomType : roomTypeRepository.findByHotelIdOrHotelIsNull(hotelId)) {
+            if (roomType.getHotel() != null) {
+                names.add(roomType.getName().toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+
+    // Rooms name their type by id or by name; the hotel's own types win over global ones of the same name
+    private long resolveRoomType(ImportRun run, long hotelId, ImportRecord record) {
+        RoomTypeLookup lookup = run.roomTypes.computeIfAbsent(hotelId, id -> {
+            Set<Long> ids = new HashSet<>();
+            Map<String, Long> byName = new HashMap<>();
+            for (RoomType roomType : roomTypeRepository.findByHotelIdOrHotelIsNull(id)) {
+                ids.add(roomType.getId());
+                String key = roomType.getName().toLowerCase(Locale.ROOT);
+                if (roomType.getHotel() != null || !byName.containsKey(key)) {
+                    byName.put(key, roomType.getId());
+                }
+            }
+            return new RoomTypeLookup(ids, byName);
+        });
+
+        Long roomTypeId = optionalLong(record, "roomTypeId");
+        if (roomTypeId != null) {
+            if (!lookup.ids().contains(roomTypeId)) {
+                throw new IllegalArgumentException("Room type " + roomTypeId + " is not available in hotel " + hotelId);
+            }
+            return roomTypeId;
+        }
+        String name = record.get("roomTypeName");
+        if (name == null) {
+            throw new IllegalArgumentException("roomTypeId or roomTypeName is required");
+        }
+        Long byName = lookup.byName().get(name.toLowerCase(Locale.ROOT));
+        if (byName == null) {
+            throw new IllegalArgumentException("Room type '" + name + "' is not available in hotel " + hotelId);
+        }
+        return byName;
+    }
+
+    private static String required(ImportRecord record, String column, int maxLength) {
+        String value = optional(record, column, maxLength);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(ImportRecord record, String column, int maxLength) {
+        String value = record.get(column);
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " cannot exceed " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static long requiredLong(ImportRecord record, String column) {
+        Long value = optionalLong(record, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static Long optionalLong(ImportRecord record, String column) {
+        return parse(record, column, Long::valueOf, "a whole number");
+    }
+
+    private static Double optionalDouble(ImportRecord record, String column) {
+        return parse(record, column, Double::valueOf, "a number");
+    }
+
+    private static BigDecimal optionalDecimal(ImportRecord record, String column) {
+        return parse(record, column, BigDecimal::new, "a number");
+    }
+
+    private static BigDecimal positiveDecimal(ImportRecord record, String column) {
+        BigDecimal value = optionalDecimal(record, column);
+        if (value == null || value.signum() <= 0) {
+            throw new IllegalArgumentException(column + " is required and must be greater than 0");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, ImportRecord record, String column, E fallback) {
+        String value = record.get(column);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " must be one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    private static <T> T parse(ImportRecord record, String column, Function<String, T> parser, String expected) {
+        String value = record.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be " + expected);
+        }
+    }
+
+    /** A validated row: how to persist it, returning the new id, and how to release what it reserved */
+    private record PendingRow(long line, Function<EntityManager, Long> write, Runnable rollback) {
+    }
+
+    private record RoomTypeLookup(Set<Long> ids, Map<String, Long> byName) {
+    }
+
+    /** State of one import call; the caches live only as long as the request */
+    private class ImportRun {
+        private final ImportKind kind;
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<ImportReportDto.LineError> errors = new ArrayList<>();
+        private final List<ImportReportDto.CreatedRow> created;
+        private final Map<Long, Boolean> hotelExists = new HashMap<>();
+        private final Map<Long, Set<Long>> roomNumbers = new HashMap<>();
+        private final Map<Long, Set<String>> roomTypeNames = new HashMap<>();
+        private final Map<Long, RoomTypeLookup> roomTypes = new HashMap<>();
+        private final Set<Long> touchedHotels = new HashSet<>();
+        private long processed;
+        private long imported;
+        private long failed;
+        private boolean errorsTruncated;
+
+        private ImportRun(ImportKind kind) {
+            this.kind = kind;
+            // Rooms and amenities can run into the hundred thousands, their ids are not worth echoing back
+            this.created = kind == ImportKind.HOTELS || kind == ImportKind.ROOM_TYPES ? new ArrayList<>() : null;
+        }
+
+        private void failed(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReportDto.LineError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private ImportReportDto report() {
+            return ImportReportDto.builder()
+                    .kind(kind.path())
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .created(created)
+                    .build();
+        }
+    }
+}
@@ -7,17 +7,30 @@ import com.hotelos.hotelosbackend.mapper.RoomMapper;
 import com.hotelos.hotelosbackend.models.*;
 import com.hotelos.hotelosbackend.repository.*;
 import com.hotelos.hotelosbackend.services.*;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -48,11 +61,46 @@ public class IHotelServices implements HotelServices {
 
     private final RoomTypeServices roomTypeServices;
 
+    private final HotelOfferBatchLoader hotelOfferBatchLoader;
+
+    private final CheapestRoomProjectionService cheapestRoomProjectionService;
+
+    private final HotelCheapestRoomRepository hotelCheapestRoomRepository;
+
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final HotelStatisticsAggregate hotelStatisticsAggregate;
+
+    private final RoomTypeRepository roomTypeRepository;
+
+    private final EntityImageRepository imageRepository;
+
+    private final HotelDailyFactRepository hotelDailyFactRepository;
+
+    private final CloudinaryServices cloudinaryServices;
+
+    private final SeasonalRateRepository seasonalRateRepository;
+
+    private final SeasonalRateCalendar seasonalRateCalendar;
+
+    private final PromotionRepository promotionRepository;
+
+    private final PromotionCatalog promotionCatalog;
+
+    private final TokenRevocationService tokenRevocationService;
+
     public IHotelServices(HotelRepository hotelRepository, FileStorageService fileStorageService,
             UserRepository userRepository, RoomRepository roomRepository, RoomServices roomServices,
             ReservationRepository reservationRepository, AmenityRepository amenityRepository, HotelMapper hotelMapper,
             RoomMapper roomMapper, PriceCalculationService priceCalculationService, AmenityMapper amenityMapper,
-            RoomTypeServices roomTypeServices) {
+            RoomTypeServices roomTypeServices, HotelOfferBatchLoader hotelOfferBatchLoader,
+            CheapestRoomProjectionService cheapestRoomProjectionService,
+            HotelCheapestRoomRepository hotelCheapestRoomRepository, RoomAvailabilityIndex roomAvailabilityIndex,
+            HotelStatisticsAggregate hotelStatisticsAggregate, RoomTypeRepository roomTypeRepository,
+            EntityImageRepository imageRepository, HotelDailyFactRepository hotelDailyFactRepository,
+            CloudinaryServices cloudinaryServices, SeasonalRateRepository seasonalRateRepository,
+            SeasonalRateCalendar seasonalRateCalendar, PromotionRepository promotionRepository,
+            PromotionCatalog promotionCatalog, TokenRevocationService tokenRevocationService) {
         this.hotelRepository = hotelRepository;
         this.fileStorageService = fileStorageService;
         this.userRepository = userRepository;
@@ -65,11 +113,28 @@ public class IHotelServices implements HotelServices {
         this.priceCalculationService = priceCalculationService;
         this.amenityMapper = amenityMapper;
         this.roomTypeServices = roomTypeServices;
+        this.hotelOfferBatchLoader = hotelOfferBatchLoader;
+        this.cheapestRoomProjectionService = cheapestRoomProjectionService;
+        this.hotelCheapestRoomRepository = hotelCheapestRoomRepository;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.hotelStatisticsAggregate = hotelStatisticsAggregate;
+        this.roomTypeRepository = roomTypeRepository;
+        this.imageRepository = imageRepository;
+        this.hotelDailyFactRepository = hotelDailyFactRepository;
+        this.cloudinaryServices = cloudinaryServices;
+        this.seasonalRateRepository = seasonalRateRepository;
+        this.seasonalRateCalendar = seasonalRateCalendar;
+        this.promotionRepository = promotionRepository;
+        this.promotionCatalog = promotionCatalog;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
     public Hotel saveHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        // The base price feeds every room price of the hotel
+        cheapestRoomProjectionService.refreshHotel(savedHotel.getId());
+        return savedHotel;
     }
 
     @Override
@@ -84,13 +149,18 @@ public class IHotelServices implements HotelServices {
 
     @Override
     public HotelStatisticsDto getHotelStatistics(Hotel hotel) {
+        return hotelStatisticsAggregate.statisticsFor(hotel.getId()).orElseGet(() -> countHotelStatistics(hotel));
+    }
+
+    // Only used until the statistics aggregate has been built
+    private HotelStatisticsDto countHotelStatistics(Hotel hotel) {
         HotelStatisticsDto hotelStatisticsDto = new HotelStatisticsDto();
         hotelStatisticsDto.setHotelId(hotel.getId());
-        hotelStatisticsDto.setManagerCount(userRepository.countUsersByUserTypeEquals(UserType.MANAGER));
-        hotelStatisticsDto.setStaffCount(userRepository.countUsersByUserTypeEquals(UserType.STAFF));
-        hotelStatisticsDto.setTotalUserCount(userRepository.count());
-        hotelStatisticsDto.setReservationsCount(reservationRepository.count());
-        hotelStatisticsDto.setTotalRoomCount(roomRepository.count());
+        hotelStatisticsDto.setManagerCount(userRepository.countByHotelIdAndUserType(hotel.getId(), UserType.MANAGER));
+        hotelStatisticsDto.setStaffCount(userRepository.countByHotelIdAndUserType(hotel.getId(), UserType.STAFF));
+        hotelStatisticsDto.setTotalUserCount(userRepository.countByHotelId(hotel.getId()));
+        hotelStatisticsDto.setReservationsCount(reservationRepository.countByRoomHotelId(hotel.getId()));
+        hotelStatisticsDto.setTotalRoomCount(roomRepository.countByHotelId(hotel.getId()));
         hotelStatisticsDto
                 .setCurrentlyAvailableCount(roomRepository.countByHotelAndStatusEquals(hotel, RoomStatus.AVAILABLE));
         hotelStatisticsDto
@@ -99,7 +169,7 @@ public class IHotelServices implements HotelServices {
     }
 
     @Override
-    public byte[] getFile(String filePath) throws IOException {
+    public Resource getFile(String filePath) throws IOException {
         return fileStorageService.getFile(filePath);
     }
 
@@ -136,186 +206,189 @@ public class IHotelServices implements HotelServices {
     @Override
     public List<Hotel> getHotelsWithFilters(String hotelName, String country, String city) {
         // If all parameters are null or blank, return all hotels
-        if ((hotelName == null || hotelName.isBlank()) &&
-                (country == null || country.isBlank()) &&
-                (city == null || city.isBlank())) {
+        if (isBlank(hotelName) && isBlank(country) && isBlank(city)) {
             return hotelRepository.findAll();
         }
 
-        // Create Specification for dynamic querying
-        return hotelRepository.findAll(
-                (root, query, criteriaBuilder) -> {
-                    List<Predicate> predicates = new ArrayList<>();
-
-                    if (hotelName != null && !hotelName.isBlank()) {
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("name")),
-                                "%" + hotelName.toLowerCase() + "%"));
-                    }
-
-                    if (country != null && !country.isBlank()) {
-                        // Join to addressInformation first, then access country
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("addressInformation").get("country")),
-                                "%" + country.toLowerCase() + "%"));
-                    }
-
-                    if (city != null && !city.isBlank()) {
-                        // Join to addressInformation first, then access city
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("addressInformation").get("city")),
-                                "%" + city.toLowerCase() + "%"));
-                    }
-
-                    return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-                });
+        return hotelRepository.findAll(hotelFilters(hotelName, country, city));
     }
 
     @Override
     public Page<Hotel> getHotelsWithFiltersPaginated(String hotelName, String country, String city, Pageable pageable) {
         // If all parameters are null or blank, return all hotels
-        if ((hotelName == null || hotelName.isBlank()) &&
-                (country == null || country.isBlank()) &&
-                (city == null || city.isBlank())) {
+        if (isBlank(hotelName) && isBlank(country) && isBlank(city)) {
             return getAllHotels(pageable);
         }
 
-        // Create Specification for dynamic querying
-        Page<Hotel> smth = hotelRepository.findAll(
-                (root, query, criteriaBuilder) -> {
-                    List<Predicate> predicates = new ArrayList<>();
-
-                    if (hotelName != null && !hotelName.isBlank()) {
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("name")),
-                                "%" + hotelName.toLowerCase() + "%"));
-                    }
-
-                    if (country != null && !country.isBlank()) {
-                        // Join to addressInformation first, then access country
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("addressInformation").get("country")),
-                                "%" + country.toLowerCase() + "%"));
-                    }
-
-                    if (city != null && !city.isBlank()) {
-                        // Join to addressInformation first, then access city
-                        predicates.add(criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("addressInformation").get("city")),
-                                "%" + city.toLowerCase() + "%"));
-                    }
-
-                    return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-                },
-                pageable);
-        System.out.println("Hotels with filters: " + smth.getContent());
-        return smth;
+        return hotelRepository.findAll(hotelFilters(hotelName, country, city).and(fetchContactDetails()), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Hotel> getHotelsWithFiltersAfter(String hotelName, String country, String city, String cursor,
+            int size, boolean withTotal) {
+        long afterId = CursorCodec.decodeAfterId(cursor);
+        Specification<Hotel> filters = hotelFilters(hotelName, country, city);
+        Specification<Hotel> after = (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), afterId);
+        List<Hotel> rows = hotelRepository.findBy(filters.and(after).and(fetchContactDetails()),
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+        Long total = withTotal ? hotelRepository.count(filters) : null;
+        return CursorPageDto.of(rows, size, Hotel::getId, total);
     }
 
-    // todo FIX ALL THE OTHER UPDATING AND FORMS XDD....
     @Override
+    @Transactional(readOnly = true)
     public Page<HotelOfferDto> getHotelsOffersWithFilters(String hotel_name, String country, String city, String sortBy,
             Pageable pageable) {
-        List<HotelOfferDto> hotels = getHotelsWithFilters(hotel_name, country, city).stream()
-                .map(hotelMapper::toOfferDto)
-                .collect(Collectors.toList());
-
-        // Assign cheapest rooms for hotels
-        hotels.forEach(hotelOfferDto -> {
-            List<RoomDto> roomDtos = roomRepository.findAllByHotelId(hotelOfferDto.getId()).stream()
-                    .map(room -> roomMapper.toDto(room, null, null))
-                    .toList();
-
-            // Find cheapest room overall
-            RoomDto cheapestRoom = roomDtos.stream()
-                    .filter(room -> room.getStatus() == RoomStatus.AVAILABLE)
-                    .min(Comparator.comparing(RoomDto::getPrice))
+        // Filtering, sorting and LIMIT/OFFSET all run in the database, only the requested page is mapped
+        Specification<Hotel> specification = hotelFilters(hotel_name, country, city)
+                .and(offerOrdering(sortBy))
+                .and(fetchContactDetails());
+        Page<Hotel> hotels = hotelRepository.findAll(specification,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+
+        // Cheapest rooms and amenities for the whole page in a fixed number of queries, independent of the page size
+        HotelOfferBatchLoader.HotelOfferBatch batch = hotelOfferBatchLoader.load(
+                hotels.stream().map(Hotel::getId).toList());
+
+        return hotels.map(hotel -> {
+            HotelOfferDto hotelOfferDto = hotelMapper.toOfferDto(hotel);
+
+            // Cheapest room overall, already priced by the projection
+            RoomDto cheapestRoom = batch.cheapest(hotel.getId())
+                    .flatMap(cheapest -> batch.room(cheapest.getRoomId())
+                            .map(room -> roomMapper.toDto(room, cheapest.getPrice())))
                     .orElse(null);
             hotelOfferDto.setCheapestRoom(cheapestRoom);
-        });
 
-        // Assign amenities
-        hotels.forEach(hotelOfferDto -> {
-            List<AmenityDto> amenities = amenityRepository.findAllByHotel_Id(hotelOfferDto.getId()).stream()
+            List<AmenityDto> amenities = batch.amenities(hotel.getId()).stream()
                     .map(amenityMapper::toDto).toList();
             hotelOfferDto.setAmenities(amenities);
+            return hotelOfferDto;
         });
+    }
 
-        // Apply sorting
-        if (sortBy != null && !sortBy.isBlank()) {
-            // Convert list to mutable list for sorting
-            List<HotelOfferDto> mutableHotels = new ArrayList<>(hotels);
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 
-            // Parse sort parameters
-            String field = sortBy;
-            boolean isAscending;
+    private Specification<Hotel> hotelFilters(String hotelName, String country, String city) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
 
-            if (sortBy.contains("-")) {
-                String[] sortParams = sortBy.split("-");
-                field = sortParams[0];
-                isAscending = sortParams.length > 1 && !sortParams[1].equalsIgnoreCase("desc");
-            } else {
-                isAscending = true;
+            if (!isBlank(hotelName)) {
+                predicates.add(criteriaBuilder.like(
+                        criteriaBuilder.lower(root.get("name")),
+                        "%" + hotelName.toLowerCase() + "%"));
             }
 
-            // todo check if works well :)
-            // Create comparator based on sort field
-            Comparator<HotelOfferDto> comparator;
-            if (field.equalsIgnoreCase("price")) {
-                comparator = Comparator.comparing(
-                        hotel -> {
-                            if (hotel.getCheapestRoom() == null || hotel.getCheapestRoom().getPrice() == null) {
-                                return isAscending ? BigDecimal.valueOf(Double.MAX_VALUE) : BigDecimal.ZERO;
-                            }
-                            return hotel.getCheapestRoom().getPrice();
-                        });
-            } else {
-                comparator = Comparator.comparing(
-                        hotel -> hotel.getName() != null ? hotel.getName().toLowerCase() : "");
+            if (!isBlank(country)) {
+                // Join to addressInformation first, then access country
+                predicates.add(criteriaBuilder.like(
+                        criteriaBuilder.lower(root.get("addressInformation").get("country")),
+                        "%" + country.toLowerCase() + "%"));
             }
 
-            // Apply direction
-            if (!isAscending) {
-                comparator = comparator.reversed();
+            if (!isBlank(city)) {
+                // Join to addressInformation first, then access city
+                predicates.add(criteriaBuilder.like(
+                        criteriaBuilder.lower(root.get("addressInformation").get("city")),
+                        "%" + city.toLowerCase() + "%"));
             }
 
-            // Sort the list
-            mutableHotels.sort(comparator);
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-            // Replace original list with sorted list
-            hotels = mutableHotels;
-        }
+    // Fetches the eager one-to-one associations in the page query instead of one select per hotel
+    private Specification<Hotel> fetchContactDetails() {
+        return (root, query, criteriaBuilder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("addressInformation", JoinType.LEFT);
+                root.fetch("contactInformation", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
 
-        // Simplified pagination
-        int pageSize = pageable.getPageSize();
-        int currentPage = pageable.getPageNumber();
-        int startItem = currentPage * pageSize;
+    /**
+     * Orders offers by "price" (cheapest available room) or by name, e.g. "price-desc" or "name-asc".
+     * Hotels without an available room always come last, as they did with the in-memory sort.
+     */
+    private Specification<Hotel> offerOrdering(String sortBy) {
+        return (root, query, criteriaBuilder) -> {
+            if (isBlank(sortBy) || Long.class.equals(query.getResultType())) {
+                return null;
+            }
 
-        List<HotelOfferDto> paginatedList;
+            String field = sortBy;
+            boolean isAscending = true;
+            if (sortBy.contains("-")) {
+                String[] sortParams = sortBy.split("-");
+                field = sortParams[0];
+                isAscending = sortParams.length <= 1 || !sortParams[1].equalsIgnoreCase("desc");
+            }
 
-        if (hotels.size() < startItem) {
-            paginatedList = Collections.emptyList();
-        } else {
-            int toIndex = Math.min(startItem + pageSize, hotels.size());
-            paginatedList = hotels.subList(startItem, toIndex);
-        }
+            Expression<?> sortKey;
+            if (field.equalsIgnoreCase("price")) {
+                // Cheapest available room from the maintained projection
+                Subquery<BigDecimal> cheapestPrice = query.subquery(BigDecimal.class);
+                Root<HotelCheapestRoom> cheapest = cheapestPrice.from(HotelCheapestRoom.class);
+                cheapestPrice.select(criteriaBuilder.min(cheapest.<BigDecimal>get("price")))
+                        .where(criteriaBuilder.equal(cheapest.get("hotelId"), root.get("id")));
+                sortKey = criteriaBuilder.coalesce(cheapestPrice,
+                        isAscending ? BigDecimal.valueOf(Double.MAX_VALUE) : BigDecimal.ZERO);
+            } else {
+                sortKey = criteriaBuilder.lower(root.get("name"));
+            }
 
-        return new PageImpl<>(paginatedList, pageable, hotels.size());
+            query.orderBy(isAscending ? criteriaBuilder.asc(sortKey) : criteriaBuilder.desc(sortKey),
+                    criteriaBuilder.asc(root.get("id")));
+            return null;
+        };
     }
 
     @Override
-    public HotelOfferDto getHotelOfferById(Long id, LocalDate checkIn, LocalDate checkOut) {
+    public HotelOfferDto getHotelOfferById(Long id, LocalDate checkIn, LocalDate checkOut, String promoCode) {
         HotelOfferDto hotelOffer = hotelRepository.findById(id)
                 .map(hotelMapper::toOfferDto)
                 .orElseThrow(() -> new NoSuchElementException("Hotel with id " + id + " not found"));
 
-        List<RoomDto> roomDtos = Optional.ofNullable(checkIn)
-                .flatMap(in -> Optional.ofNullable(checkOut)
-                        .map(out -> roomRepository.findAvailableRoomsByHotelAndDates(id, in, out)))
-                .orElseGet(() -> roomRepository.findAllByHotelId(id))
-                .stream()
-                .map(room -> roomMapper.toDto(room, checkIn, checkOut))
+        if (checkIn == null || checkOut == null) {
+            return fillOfferFromProjection(hotelOffer, id);
+        }
+
+        // Free rooms come from the availability index, the database query is only the fallback
+        List<Room> freeRooms = roomAvailabilityIndex.findFreeRoomIds(id, checkIn, checkOut)
+                .map(roomIds -> roomIds.isEmpty() ? List.<Room>of() : roomRepository.findAllByRoomIdIn(roomIds))
+                .orElseGet(() -> roomRepository.findAvailableRoomsByHotelAndDates(id, checkIn, checkOut));
+
+        fillOfferFromRooms(hotelOffer, priceRooms(freeRooms, checkIn, checkOut, promoCode));
+
+        List<AmenityDto> amenities = amenityRepository.findAllByHotel_Id(id).stream().map(amenityMapper::toDto)
                 .toList();
+        hotelOffer.setAmenities(amenities);
+
+        return hotelOffer;
+    }
+
+    // One quote prices all rooms with the hotel's seasons, occupancy and promotions loaded once; stays a quote
+    // rejects are priced room by room as before
+    private List<RoomDto> priceRooms(List<Room> rooms, LocalDate checkIn, LocalDate checkOut, String promoCode) {
+        if (!checkIn.isBefore(checkOut)
+                || ChronoUnit.DAYS.between(checkIn, checkOut) > PriceCalculationService.MAX_QUOTE_NIGHTS) {
+            return rooms.stream().map(room -> roomMapper.toDto(room, checkIn, checkOut, promoCode)).toList();
+        }
+        List<PriceQuoteDto> quotes = priceCalculationService.quote(rooms, checkIn, checkOut, promoCode);
+        List<RoomDto> roomDtos = new ArrayList<>(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            roomDtos.add(roomMapper.toDto(rooms.get(i), quotes.get(i).getPrice()));
+        }
+        return roomDtos;
+    }
+
+    // Pure in-memory part of the offer, kept separate so the benchmarks can drive it without a database
+    static void fillOfferFromRooms(HotelOfferDto hotelOffer, List<RoomDto> roomDtos) {
         // Find cheapest room overall
         RoomDto cheapestRoom = roomDtos.stream()
                 .filter(room -> room.getStatus() == RoomStatus.AVAILABLE)
@@ -343,10 +416,6 @@ public class IHotelServices implements HotelServices {
 
         hotelOffer.setCheapestRoomByTypeList(cheapestRoomByTypeList);
 
-        List<AmenityDto> amenities = amenityRepository.findAllByHotel_Id(id).stream().map(amenityMapper::toDto)
-                .toList();
-        hotelOffer.setAmenities(amenities);
-
         // Build room type availability list
         Map<Long, Long> countsByTypeId = roomDtos.stream()
                 .filter(room -> room.getStatus() == RoomStatus.AVAILABLE
@@ -368,7 +437,41 @@ public class IHotelServices implements HotelServices {
                 .toList();
 
         hotelOffer.setRoomTypeCountAvailableList(roomTypeCountList);
+    }
+
+    // Without dates every room is priced per night, which is exactly what the projection holds
+    private HotelOfferDto fillOfferFromProjection(HotelOfferDto hotelOffer, Long id) {
+        List<HotelCheapestRoom> cheapestByType = hotelCheapestRoomRepository.findAllByHotelId(id);
+        Map<Long, Room> roomsById = cheapestByType.isEmpty() ? Map.of()
+                : roomRepository.findAllByRoomIdIn(cheapestByType.stream().map(HotelCheapestRoom::getRoomId).toList())
+                        .stream().collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+
+        List<CheapestRoomByTypeDto> cheapestRoomByTypeList = new ArrayList<>();
+        List<RoomTypeCountDto> roomTypeCountList = new ArrayList<>();
+        RoomDto cheapestRoom = null;
+        for (HotelCheapestRoom cheapest : cheapestByType) {
+            Room room = roomsById.get(cheapest.getRoomId());
+            if (room == null) {
+                continue;
+            }
+            RoomDto roomDto = roomMapper.toDto(room, cheapest.getPrice());
+            cheapestRoomByTypeList.add(CheapestRoomByTypeDto.builder()
+                    .roomType(roomDto.getRoomType())
+                    .room(roomDto)
+                    .build());
+            roomTypeCountList.add(RoomTypeCountDto.builder()
+                    .roomType(roomDto.getRoomType())
+                    .count(cheapest.getAvailableCount())
+                    .build());
+            if (cheapestRoom == null || roomDto.getPrice().compareTo(cheapestRoom.getPrice()) < 0) {
+                cheapestRoom = roomDto;
+            }
+        }
 
+        hotelOffer.setCheapestRoom(cheapestRoom);
+        hotelOffer.setCheapestRoomByTypeList(cheapestRoomByTypeList);
+        hotelOffer.setRoomTypeCountAvailableList(roomTypeCountList);
+        hotelOffer.setAmenities(amenityRepository.findAllByHotel_Id(id).stream().map(amenityMapper::toDto).toList());
         return hotelOffer;
     }
 
@@ -378,8 +481,41 @@ public class IHotelServices implements HotelServices {
     }
 
     @Override
+    public boolean hotelExists(Long id) {
+        return hotelRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional
     public void deleteHotel(Long id) {
+        // One statement per table however many rooms, reservations and users the hotel has
+        List<String> imagePublicIds = imageRepository.findPublicIdsByHotelId(id);
+        imageRepository.deleteAllByHotelId(id);
+        reservationRepository.deleteGuestsByHotelId(id);
+        reservationRepository.deleteAllByHotelId(id);
+        cheapestRoomProjectionService.removeHotel(id);
+        roomRepository.deleteAllByHotelId(id);
+        roomTypeRepository.deleteAllByHotelId(id);
+        amenityRepository.deleteAllByHotelId(id);
+        // Their tokens still name the hotel in the claims
+        tokenRevocationService.revokeTokensIssuedBefore(userRepository.findUserIdsByHotelId(id), Instant.now());
+        userRepository.detachAllFromHotel(id, LocalDateTime.now());
+        hotelDailyFactRepository.deleteAllByHotelId(id);
+        seasonalRateRepository.deleteAllByHotelId(id);
+        promotionRepository.deleteAllByHotelId(id);
         hotelRepository.deleteById(id);
+
+        // Bulk statements bypass the Hibernate listeners, so the in-memory views are told directly
+        roomAvailabilityIndex.hotelDeleted(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotelStatisticsAggregate.hotelDeleted(id);
+                seasonalRateCalendar.hotelDeleted(id);
+                promotionCatalog.hotelDeleted(id);
+                cloudinaryServices.deleteFilesInBackground(imagePublicIds);
+            }
+        });
     }
 
 }
\ No newline at end of file
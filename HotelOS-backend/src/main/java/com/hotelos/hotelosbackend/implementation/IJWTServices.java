@@ -1,6 +1,10 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.Auth.JwtPrincipal;
+import com.hotelos.hotelosbackend.models.User;
+import com.hotelos.hotelosbackend.models.UserType;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,16 +13,40 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
 import java.util.function.Function;
 
 @Service
 public class IJWTServices {
-    @Value("${SECRET_KEY}")
-    private String SECRET_KEY;
+    public static final long TOKEN_TTL_MILLIS = 1000 * 60 * 60 * 10;
+
+    // Claims that let requests authenticate without loading the user
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String USER_TYPE_CLAIM = "userType";
+    private static final String HOTEL_ID_CLAIM = "hotelId";
+
+    private final Key signInKey;
+
+    private final JwtParser jwtParser;
+
+    // Verified claims by SHA-256 of the token, least recently used evicted first
+    private final Map<String, Claims> claimsCache;
+
+    public IJWTServices(@Value("${SECRET_KEY}") String secretKey,
+            @Value("${hotelos.jwt.claims-cache-size:10000}") int claimsCacheSize) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.claimsCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > claimsCacheSize;
+            }
+        });
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -29,22 +57,66 @@ public class IJWTServices {
         return claimsResolver.apply(claims);
     }
 
+    // Each token is verified once, later calls are a cache lookup until the token expires
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String tokenHash = hash(token);
+        Claims cached = claimsCache.get(tokenHash);
+        if (cached != null) {
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            // Expired: drop it and let the parser reject the token as before
+            claimsCache.remove(tokenHash);
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        claimsCache.put(tokenHash, claims);
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signInKey;
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getUserId());
+            if (user.getUserType() != null) {
+                claims.put(USER_TYPE_CLAIM, user.getUserType().name());
+            }
+            if (user.getHotel() != null) {
+                claims.put(HOTEL_ID_CLAIM, user.getHotel().getId());
+            }
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    /** The user the token was issued to, or empty for tokens issued without the user claims. */
+    public Optional<JwtPrincipal> extractPrincipal(String token) {
+        Claims claims = extractAllClaims(token);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (userId == null || claims.get("purpose") != null) {
+            return Optional.empty();
+        }
+        String userType = claims.get(USER_TYPE_CLAIM, String.class);
+        Number hotelId = claims.get(HOTEL_ID_CLAIM, Number.class);
+        return Optional.of(new JwtPrincipal(userId.longValue(), claims.getSubject(),
+                userType == null ? null : UserType.valueOf(userType),
+                hotelId == null ? null : hotelId.longValue()));
+    }
+
+    public Date extractIssuedAt(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -53,7 +125,7 @@ public class IJWTServices {
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_TTL_MILLIS))
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
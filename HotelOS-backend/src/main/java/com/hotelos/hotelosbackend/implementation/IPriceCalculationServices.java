@@ -1,49 +1,297 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.dto.PriceQuoteDto;
 import com.hotelos.hotelosbackend.models.Room;
 import com.hotelos.hotelosbackend.services.PriceCalculationService;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import com.hotelos.hotelosbackend.utils.FixedPoint;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class IPriceCalculationServices implements PriceCalculationService {
+    // Prices are computed in scaled longs and become BigDecimal only in the results, all rounding is HALF_UP.
+    // Ratios (room type factors, season and occupancy multipliers) have four decimals like the seasonal
+    // multiplier column, room modifiers and discount percents two like their columns. A room whose factor or
+    // modifier has more decimals is priced in BigDecimal, rounding it to the scale would change the price.
+    private static final int MONEY_SCALE = 2;
+    private static final int RATIO_SCALE = SeasonalRateCalendar.MULTIPLIER_SCALE;
+    private static final long RATIO_ONE = FixedPoint.pow10(RATIO_SCALE);
+    private static final int MODIFIER_SCALE = 2;
+    private static final long MODIFIER_ONE = FixedPoint.pow10(MODIFIER_SCALE);
+    private static final int PERCENT_SCALE = 2;
+    private static final long PERCENT_ONE = 100 * FixedPoint.pow10(PERCENT_SCALE);
+    // An exact base price: cents x factor x modifier
+    private static final int EXACT_SCALE = MONEY_SCALE + RATIO_SCALE + MODIFIER_SCALE;
+    private static final long EXACT_UNITS_PER_CENT = FixedPoint.pow10(EXACT_SCALE - MONEY_SCALE);
+
+    private final SeasonalRateCalendar seasonalRateCalendar;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final PromotionCatalog promotionCatalog;
+    // Nights above the threshold occupancy get dearer, linearly up to maxUplift for a full hotel
+    private final double occupancyThreshold;
+    private final double occupancyMaxUplift;
+
+    public IPriceCalculationServices(SeasonalRateCalendar seasonalRateCalendar,
+            RoomAvailabilityIndex roomAvailabilityIndex, PromotionCatalog promotionCatalog,
+            @Value("${hotelos.pricing.occupancy-threshold:0.7}") double occupancyThreshold,
+            @Value("${hotelos.pricing.occupancy-max-uplift:0.25}") double occupancyMaxUplift) {
+        this.seasonalRateCalendar = seasonalRateCalendar;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.promotionCatalog = promotionCatalog;
+        this.occupancyThreshold = occupancyThreshold;
+        this.occupancyMaxUplift = occupancyMaxUplift;
+    }
 
     @Override
     public BigDecimal calculateRoomPrice(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
-        BigDecimal basePrice = room.getHotel().getBasePrice();
-
-        basePrice = basePrice.multiply(BigDecimal.valueOf(room.getRoomType().getPriceFactor()));
+        return calculateRoomPrice(room, checkInDate, checkOutDate, null);
+    }
 
-        if (room.getPriceModifier() != null) {
-            basePrice = basePrice.multiply(room.getPriceModifier());
-        }
+    @Override
+    public BigDecimal calculateRoomPrice(Room room, LocalDate checkInDate, LocalDate checkOutDate, String promoCode) {
+        StayInputs inputs = loadInputs(room.getHotel().getId(), checkInDate, checkOutDate);
+        return BigDecimal.valueOf(priceCents(room, inputs, discountPercent(room, inputs, promoCode)), MONEY_SCALE);
+    }
 
-        basePrice = applySeasonalFactors(basePrice, room.getHotel().getId(), checkInDate, checkOutDate);
+    @Override
+    public List<PriceQuoteDto> quote(List<Room> rooms, LocalDate checkIn, LocalDate checkOut) {
+        return quote(rooms, checkIn, checkOut, null);
+    }
 
-        basePrice = applyOccupancyPricing(basePrice, room.getHotel().getId(), checkInDate, checkOutDate);
+    @Override
+    public List<PriceQuoteDto> quote(List<Room> rooms, LocalDate checkIn, LocalDate checkOut, String promoCode) {
+        if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("Check-out date must be after the check-in date");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > MAX_QUOTE_NIGHTS) {
+            throw new IllegalArgumentException("A quote cannot cover more than " + MAX_QUOTE_NIGHTS + " nights");
+        }
+        // Seasons, occupancy and promotions are looked up once per hotel, then every room is priced from them
+        Map<Long, StayInputs> inputsByHotel = new HashMap<>();
+        List<PriceQuoteDto> quotes = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            StayInputs inputs = inputsByHotel.computeIfAbsent(room.getHotel().getId(),
+                    hotelId -> loadInputs(hotelId, checkIn, checkOut));
+            quotes.add(quote(room, inputs, promoCode));
+        }
+        return quotes;
+    }
 
-        basePrice = applyPromotions(basePrice, room, checkInDate, checkOutDate);
+    private PriceQuoteDto quote(Room room, StayInputs inputs, String promoCode) {
+        boolean scaled = fitsScales(room);
+        long exactBase = scaled ? exactBasePrice(room) : 0;
+        BigDecimal discountPercent = discountPercent(room, inputs, promoCode);
+        long discountFactor = discountFactor(discountPercent);
+        int nights = (int) ChronoUnit.DAYS.between(inputs.checkIn(), inputs.checkOut());
 
-        return basePrice;
+        // Each night is rounded once, from the exact base price times all of that night's multipliers
+        List<PriceQuoteDto.NightPrice> nightPrices = new ArrayList<>(nights);
+        long totalCents = 0;
+        for (int night = 0; night < nights; night++) {
+            long multiplier = units(inputs.seasonal(), night) * units(inputs.occupancy(), night) * discountFactor;
+            long nightCents = scaled
+                    ? FixedPoint.mulDivHalfUp(exactBase, multiplier,
+                            RATIO_ONE * RATIO_ONE * PERCENT_ONE * EXACT_UNITS_PER_CENT)
+                    : cents(decimalBasePrice(room).multiply(BigDecimal.valueOf(multiplier,
+                            2 * RATIO_SCALE + PERCENT_SCALE + 2)));
+            nightPrices.add(new PriceQuoteDto.NightPrice(inputs.checkIn().plusDays(night),
+                    BigDecimal.valueOf(nightCents, MONEY_SCALE)));
+            totalCents += nightCents;
+        }
+        return PriceQuoteDto.builder()
+                .roomId(room.getRoomId())
+                .hotelId(room.getHotel().getId())
+                .checkIn(inputs.checkIn())
+                .checkOut(inputs.checkOut())
+                .price(BigDecimal.valueOf(priceCents(room, inputs, discountPercent), MONEY_SCALE))
+                .discountPercent(discountPercent)
+                .total(BigDecimal.valueOf(totalCents, MONEY_SCALE))
+                .nights(nightPrices)
+                .build();
     }
 
     @Override
     public BigDecimal applySeasonalFactors(BigDecimal price, Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        // todo:
-        return price;
+        long[] multipliers = seasonalRateCalendar.nightlyMultiplierUnits(hotelId, checkIn, checkOut);
+        if (multipliers == null) {
+            return price;
+        }
+        return BigDecimal.valueOf(average(FixedPoint.toUnits(price, EXACT_SCALE), EXACT_UNITS_PER_CENT, multipliers),
+                MONEY_SCALE);
     }
-    @Override
 
+    @Override
     public BigDecimal applyOccupancyPricing(BigDecimal price, Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        // todo
-        return price;
+        long[] multipliers = occupancyMultipliers(hotelId, checkIn, checkOut);
+        if (multipliers == null) {
+            return price;
+        }
+        return BigDecimal.valueOf(average(FixedPoint.toUnits(price, EXACT_SCALE), EXACT_UNITS_PER_CENT, multipliers),
+                MONEY_SCALE);
     }
-    @Override
 
+    @Override
     public BigDecimal applyPromotions(BigDecimal price, Room room, LocalDate checkIn, LocalDate checkOut) {
-        // todo
-        return price;
+        return applyPromotions(price, room, checkIn, checkOut, null);
+    }
+
+    @Override
+    public BigDecimal applyPromotions(BigDecimal price, Room room, LocalDate checkIn, LocalDate checkOut,
+            String promoCode) {
+        BigDecimal discountPercent = promotionCatalog.bestDiscount(room.getHotel().getId(), roomTypeId(room),
+                checkIn, checkOut, promoCode);
+        if (discountPercent == null) {
+            return price;
+        }
+        return BigDecimal.valueOf(FixedPoint.mulDivHalfUp(FixedPoint.toUnits(price, EXACT_SCALE),
+                discountFactor(discountPercent), PERCENT_ONE * EXACT_UNITS_PER_CENT), MONEY_SCALE);
+    }
+
+    private StayInputs loadInputs(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+            // Priced per night without a stay, nothing date dependent applies
+            return new StayInputs(checkIn, checkOut, null, null, null);
+        }
+        return new StayInputs(checkIn, checkOut,
+                seasonalRateCalendar.nightlyMultiplierUnits(hotelId, checkIn, checkOut),
+                occupancyMultipliers(hotelId, checkIn, checkOut), promotionCatalog.forHotel(hotelId));
+    }
+
+    // Whether the base price, factor and modifier of the room are exact at their scales
+    private static boolean fitsScales(Room room) {
+        return room.getHotel().getBasePrice().scale() <= MONEY_SCALE
+                && FixedPoint.hasScale(room.getRoomType().getPriceFactor(), RATIO_SCALE)
+                && (room.getPriceModifier() == null || room.getPriceModifier().scale() <= MODIFIER_SCALE);
+    }
+
+    // Hotel base price x room type factor x room modifier, kept exact at EXACT_SCALE decimals
+    private static long exactBasePrice(Room room) {
+        long baseCents = FixedPoint.toUnits(room.getHotel().getBasePrice(), MONEY_SCALE);
+        long factor = FixedPoint.toUnits(room.getRoomType().getPriceFactor(), RATIO_SCALE);
+        long modifier = room.getPriceModifier() == null ? MODIFIER_ONE
+                : FixedPoint.toUnits(room.getPriceModifier(), MODIFIER_SCALE);
+        return Math.multiplyExact(Math.multiplyExact(baseCents, factor), modifier);
+    }
+
+    // Seasonal stage, occupancy stage, then the promotion; every stage rounds to cents like the BigDecimal
+    // stages did, and a price no stage rounded is rounded to cents last
+    private static long priceCents(Room room, StayInputs inputs, BigDecimal discountPercent) {
+        if (!fitsScales(room)) {
+            return decimalPriceCents(room, inputs, discountPercent);
+        }
+        long price = exactBasePrice(room);
+        long unitsPerCent = EXACT_UNITS_PER_CENT;
+        if (inputs.seasonal() != null) {
+            price = average(price, unitsPerCent, inputs.seasonal());
+            unitsPerCent = 1;
+        }
+        if (inputs.occupancy() != null) {
+            price = average(price, unitsPerCent, inputs.occupancy());
+            unitsPerCent = 1;
+        }
+        return FixedPoint.mulDivHalfUp(price, discountFactor(discountPercent), PERCENT_ONE * unitsPerCent);
+    }
+
+    // The same stages as priceCents in BigDecimal, for rooms whose inputs have more decimals than their scales
+    private static long decimalPriceCents(Room room, StayInputs inputs, BigDecimal discountPercent) {
+        BigDecimal price = decimalBasePrice(room);
+        if (inputs.seasonal() != null) {
+            price = decimalAverage(price, inputs.seasonal());
+        }
+        if (inputs.occupancy() != null) {
+            price = decimalAverage(price, inputs.occupancy());
+        }
+        return cents(price.multiply(BigDecimal.valueOf(discountFactor(discountPercent), PERCENT_SCALE + 2)));
+    }
+
+    private static BigDecimal decimalBasePrice(Room room) {
+        BigDecimal price = room.getHotel().getBasePrice()
+                .multiply(BigDecimal.valueOf(room.getRoomType().getPriceFactor()));
+        return room.getPriceModifier() == null ? price : price.multiply(room.getPriceModifier());
+    }
+
+    private static BigDecimal decimalAverage(BigDecimal price, long[] multipliers) {
+        long sum = 0;
+        for (long multiplier : multipliers) {
+            sum += multiplier;
+        }
+        return price.multiply(BigDecimal.valueOf(sum, RATIO_SCALE))
+                .divide(BigDecimal.valueOf(multipliers.length), MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static long cents(BigDecimal price) {
+        return FixedPoint.toUnits(price, MONEY_SCALE);
+    }
+
+    private static BigDecimal discountPercent(Room room, StayInputs inputs, String promoCode) {
+        return inputs.promotions() == null ? null
+                : inputs.promotions().bestDiscount(roomTypeId(room), inputs.checkIn(), inputs.checkOut(), promoCode);
+    }
+
+    // Share of the price left after the discount, scaled by PERCENT_ONE; promotions do not stack
+    private static long discountFactor(BigDecimal discountPercent) {
+        return discountPercent == null ? PERCENT_ONE
+                : PERCENT_ONE - FixedPoint.toUnits(discountPercent, PERCENT_SCALE);
+    }
+
+    private static Long roomTypeId(Room room) {
+        return room.getRoomType() == null ? null : room.getRoomType().getId();
+    }
+
+    // Every night takes its own multiplier; the result is the average nightly rate of the stay in cents
+    private static long average(long price, long unitsPerCent, long[] multipliers) {
+        long sum = 0;
+        for (long multiplier : multipliers) {
+            sum += multiplier;
+        }
+        return FixedPoint.mulDivHalfUp(price, sum, multipliers.length * RATIO_ONE * unitsPerCent);
+    }
+
+    private static long units(long[] multipliers, int night) {
+        return multipliers == null ? RATIO_ONE : multipliers[night];
+    }
+
+    // Booked share of the hotel per night from the availability index, no query per call; null when no night
+    // is busy enough to cost more
+    private long[] occupancyMultipliers(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut) || occupancyThreshold >= 1) {
+            return null;
+        }
+        double[] occupancy = roomAvailabilityIndex.occupancy(hotelId, checkIn, checkOut).orElse(null);
+        if (occupancy == null) {
+            return null;
+        }
+        long[] multipliers = new long[occupancy.length];
+        boolean any = false;
+        for (int night = 0; night < occupancy.length; night++) {
+            multipliers[night] = occupancyMultiplier(occupancy[night]);
+            any |= multipliers[night] != RATIO_ONE;
+        }
+        return any ? multipliers : null;
+    }
+
+    private long occupancyMultiplier(double occupancy) {
+        if (occupancy <= occupancyThreshold) {
+            return RATIO_ONE;
+        }
+        double demand = Math.min(1, (occupancy - occupancyThreshold) / (1 - occupancyThreshold));
+        return FixedPoint.toUnits(1 + occupancyMaxUplift * demand, RATIO_SCALE);
+    }
+
+    // Hotel level inputs of one stay, shared by every room of the hotel; multipliers scaled by RATIO_ONE
+    private record StayInputs(LocalDate checkIn, LocalDate checkOut, long[] seasonal, long[] occupancy,
+            PromotionCatalog.Book promotions) {
     }
 }
@@ -0,0 +1,109 @@
+package com.hotelos.hotelosbackend.implementation;
+
+import com.hotelos.hotelosbackend.models.Promotion;
+import com.hotelos.hotelosbackend.models.PromotionType;
+import com.hotelos.hotelosbackend.repository.PromotionRepository;
+import com.hotelos.hotelosbackend.repository.RoomTypeRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.PromotionServices;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class IPromotionServices implements PromotionServices {
+
+    private final PromotionRepository promotionRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final PromotionCatalog promotionCatalog;
+
+    public IPromotionServices(PromotionRepository promotionRepository, RoomTypeRepository roomTypeRepository,
+            PromotionCatalog promotionCatalog) {
+        this.promotionRepository = promotionRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.promotionCatalog = promotionCatalog;
+    }
+
+    @Override
+    public List<Promotion> getPromotions(Long hotelId) {
+        return promotionRepository.findAllByHotelIdOrderByIdAsc(hotelId);
+    }
+
+    @Override
+    public Promotion createPromotion(Long hotelId, Promotion promotion) {
+        validate(hotelId, promotion);
+        promotion.setId(null);
+        promotion.setHotelId(hotelId);
+        Promotion saved = promotionRepository.save(promotion);
+        promotionCatalog.refreshHotel(hotelId);
+        return saved;
+    }
+
+    @Override
+    public Optional<Promotion> updatePromotion(Long hotelId, Long id, Promotion promotion) {
+        validate(hotelId, promotion);
+        Optional<Promotion> updated = promotionRepository.findByIdAndHotelId(id, hotelId).map(existing -> {
+            existing.setRoomTypeId(promotion.getRoomTypeId());
+            existing.setName(promotion.getName());
+            existing.setType(promotion.getType());
+            existing.setCode(promotion.getCode());
+            existing.setDiscountPercent(promotion.getDiscountPercent());
+            existing.setMinNights(promotion.getMinNights());
+            existing.setMinDaysBeforeArrival(promotion.getMinDaysBeforeArrival());
+            existing.setMaxDaysBeforeArrival(promotion.getMaxDaysBeforeArrival());
+            existing.setValidFrom(promotion.getValidFrom());
+            existing.setValidTo(promotion.getValidTo());
+            existing.setActive(promotion.isActive());
+            return promotionRepository.save(existing);
+        });
+        updated.ifPresent(saved -> promotionCatalog.refreshHotel(hotelId));
+        return updated;
+    }
+
+    @Override
+    public boolean deletePromotion(Long hotelId, Long id) {
+        Optional<Promotion> existing = promotionRepository.findByIdAndHotelId(id, hotelId);
+        existing.ifPresent(promotion -> {
+            promotionRepository.delete(promotion);
+            promotionCatalog.refreshHotel(hotelId);
+        });
+        return existing.isPresent();
+    }
+
+    // Each type needs the condition it is named after; other conditions may narrow it further
+    private void validate(Long hotelId, Promotion promotion) {
+        boolean hasCode = promotion.getCode() != null && !promotion.getCode().isBlank();
+        switch (promotion.getType()) {
+            case EARLY_BIRD -> require(promotion.getMinDaysBeforeArrival() != null,
+                    "Early bird promotions need the minimum days before arrival");
+            case LAST_MINUTE -> require(promotion.getMaxDaysBeforeArrival() != null,
+                    "Last minute promotions need the maximum days before arrival");
+            case LENGTH_OF_STAY -> require(promotion.getMinNights() != null,
+                    "Length of stay promotions need the minimum nights");
+            case ROOM_TYPE -> require(promotion.getRoomTypeId() != null,
+                    "Room type promotions need a room type");
+            case PROMO_CODE -> require(hasCode, "Promo code promotions need a code");
+        }
+        require(!hasCode || promotion.getType() == PromotionType.PROMO_CODE,
+                "Only promo code promotions take a code");
+        if (!hasCode) {
+            promotion.setCode(null);
+        }
+        require(promotion.getMinDaysBeforeArrival() == null || promotion.getMaxDaysBeforeArrival() == null
+                        || promotion.getMinDaysBeforeArrival() <= promotion.getMaxDaysBeforeArrival(),
+                "Minimum days before arrival must not exceed the maximum");
+        require(promotion.getValidFrom() == null || promotion.getValidTo() == null
+                        || !promotion.getValidTo().isBefore(promotion.getValidFrom()),
+                "Valid to must not be before valid from");
+        require(promotion.getRoomTypeId() == null
+                        || roomTypeRepository.isAvailableToHotel(promotion.getRoomTypeId(), hotelId),
+                "Room type with id " + promotion.getRoomTypeId() + " does not exist in this hotel");
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -1,22 +1,53 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
+import com.hotelos.hotelosbackend.dto.ReservationExportRow;
 import com.hotelos.hotelosbackend.models.Reservation;
 import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
 import com.hotelos.hotelosbackend.services.ReservationServices;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class IReservationServices implements ReservationServices {
     private final ReservationRepository reservationRepository;
 
-    public IReservationServices(ReservationRepository reservationRepository) {
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private final RoomRepository roomRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Striped per-room locks: bookings of one room queue here instead of on the database row lock
+    private final ReentrantLock[] roomLocks;
+
+    public IReservationServices(ReservationRepository reservationRepository,
+            RoomAvailabilityIndex roomAvailabilityIndex, RoomRepository roomRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${hotelos.reservations.lock-stripes:256}") int lockStripes) {
         this.reservationRepository = reservationRepository;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.roomLocks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -25,36 +56,74 @@ public class IReservationServices implements ReservationServices {
             throw new IllegalArgumentException(
                     "Reservation with ID " + reservation.getReservationId() + " does not exist.");
         }
-        return reservationRepository.save(reservation);
+        return bookRoom(reservation);
     }
 
     @Override
     public Reservation saveReservation(Reservation reservation) {
-        List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservations(
-                reservation.getRoom().getRoomId(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        return bookRoom(reservation);
+    }
 
-        if (!overlappingReservations.isEmpty()) {
-            throw new IllegalArgumentException("The room is already reserved for the selected dates.");
+    /**
+     * Checks for overlapping reservations and saves under the room's striped lock and a
+     * SELECT ... FOR UPDATE on the room row, so concurrent bookings of one room cannot both pass the check.
+     */
+    private Reservation bookRoom(Reservation reservation) {
+        if (reservation.getRoom() == null) {
+            throw new IllegalArgumentException("A reservation requires a room.");
+        }
+        long roomId = reservation.getRoom().getRoomId();
+
+        ReentrantLock roomLock = roomLocks[Math.floorMod(Long.hashCode(roomId), roomLocks.length)];
+        roomLock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                roomRepository.findByIdForUpdate(roomId)
+                        .orElseThrow(() -> new NoSuchElementException("Room with id " + roomId + " not found"));
+
+                if (RoomAvailabilityIndex.blocksRoom(reservation.getStatus())) {
+                    boolean overlaps = reservationRepository.findOverlappingReservations(
+                            roomId, reservation.getCheckInDate(), reservation.getCheckOutDate()).stream()
+                            .anyMatch(other -> other.getReservationId() != reservation.getReservationId());
+                    if (overlaps) {
+                        throw new IllegalArgumentException("The room is already reserved for the selected dates.");
+                    }
+                }
+
+                Reservation savedReservation = reservationRepository.save(reservation);
+                roomAvailabilityIndex.reservationSaved(savedReservation);
+                return savedReservation;
+            });
+        } finally {
+            roomLock.unlock();
         }
+    }
 
-        return reservationRepository.save(reservation);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Reservation> getReservationsByHotelId(Long hotelId, String cursor, int size,
+            boolean withTotal) {
+        long afterId = CursorCodec.decodeAfterId(cursor);
+        List<Reservation> rows = reservationRepository.findHotelReservationsAfter(hotelId, afterId, Limit.of(size + 1));
+        Long total = withTotal ? reservationRepository.countByRoomHotelId(hotelId) : null;
+        return CursorPageDto.of(rows, size, Reservation::getReservationId, total);
     }
 
     @Override
-    public List<Reservation> getAllReservationsByHotelId(Long hotelId) {
-        expirePastPendingReservations();
-        return reservationRepository.findAllByHotelId(hotelId);
+    @Transactional(readOnly = true)
+    public void exportReservationsByHotelId(Long hotelId, Consumer<ReservationExportRow> sink) {
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamExportRowsByHotelId(hotelId)) {
+            rows.forEach(sink);
+        }
     }
 
     @Override
     public Page<Reservation> getReservationsByUser(Long userId, Pageable pageable) {
-        expirePastPendingReservations();
         return reservationRepository.findAllByUserUserId(userId, pageable);
     }
 
     @Override
     public Page<Reservation> getReservationsWithFilters(Long hotelId, String reservationName, Pageable pageable) {
-        expirePastPendingReservations();
         Optional<String> reservationNameOptional = Optional.ofNullable(reservationName);
 
         if (reservationNameOptional.isPresent()) {
@@ -67,28 +136,17 @@ public class IReservationServices implements ReservationServices {
 
     @Override
     public List<Reservation> getAllReservations() {
-        expirePastPendingReservations();
         return reservationRepository.findAll();
     }
 
     @Override
     public Optional<Reservation> getReservationById(Long id) {
-        expirePastPendingReservations();
         return reservationRepository.findById(id);
     }
 
     @Override
     public void deleteReservation(Long id) {
         reservationRepository.deleteById(id);
-    }
-
-    private void expirePastPendingReservations() {
-        LocalDate today = LocalDate.now();
-        List<Reservation> overdue = reservationRepository.findPendingReservationsBefore(today);
-        if (overdue.isEmpty())
-            return;
-
-        overdue.forEach(r -> r.setStatus(com.hotelos.hotelosbackend.models.ReservationStatus.EXPIRED));
-        reservationRepository.saveAll(overdue);
+        roomAvailabilityIndex.reservationDeleted(id);
     }
 }
\ No newline at end of file
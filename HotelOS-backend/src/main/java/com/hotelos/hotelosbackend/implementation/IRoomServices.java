@@ -1,17 +1,25 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.RoomDto;
 import com.hotelos.hotelosbackend.mapper.RoomMapper;
 import com.hotelos.hotelosbackend.models.EntityImage;
 import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.HotelCheapestRoom;
 import com.hotelos.hotelosbackend.models.Room;
 import com.hotelos.hotelosbackend.repository.EntityImageRepository;
+import com.hotelos.hotelosbackend.repository.HotelCheapestRoomRepository;
 import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.services.CheapestRoomProjectionService;
 import com.hotelos.hotelosbackend.services.CloudinaryServices;
 import com.hotelos.hotelosbackend.services.PriceCalculationService;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
 import com.hotelos.hotelosbackend.services.RoomServices;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -37,6 +45,18 @@ public class IRoomServices implements RoomServices {
     @Autowired
     private PriceCalculationService priceCalculationService;
 
+    @Autowired
+    private CheapestRoomProjectionService cheapestRoomProjectionService;
+
+    @Autowired
+    private HotelCheapestRoomRepository hotelCheapestRoomRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Value("${hotelos.rooms.bulk-max-size:5000}")
+    private int bulkMaxSize;
+
     public IRoomServices(RoomRepository roomRepository, RoomMapper roomMapper) {
         this.roomRepository = roomRepository;
         this.roomMapper = roomMapper;
@@ -61,7 +81,35 @@ public class IRoomServices implements RoomServices {
                 throw new IllegalArgumentException("Room number must be unique within the same hotel.");
             }
         }
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        cheapestRoomProjectionService.refreshHotel(savedRoom.getHotel().getId());
+        roomAvailabilityIndex.roomSaved(savedRoom);
+        return savedRoom;
+    }
+
+    @Override
+    @Transactional
+    public List<Room> createRooms(Hotel hotel, List<Room> rooms) {
+        if (rooms.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("At most " + bulkMaxSize + " rooms can be created at once.");
+        }
+        Set<Long> roomNumbers = new HashSet<>();
+        for (Room room : rooms) {
+            if (!roomNumbers.add(room.getRoomNumber())) {
+                throw new IllegalArgumentException("Room number " + room.getRoomNumber() + " appears more than once.");
+            }
+        }
+        List<Long> existing = roomRepository.findExistingRoomNumbers(hotel.getId(), roomNumbers);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("Room numbers already exist in this hotel: " + existing);
+        }
+
+        rooms.forEach(room -> room.setHotel(hotel));
+        // Sequence ids let Hibernate send these as JDBC batches
+        List<Room> savedRooms = roomRepository.saveAll(rooms);
+        cheapestRoomProjectionService.refreshHotel(hotel.getId());
+        savedRooms.forEach(roomAvailabilityIndex::roomSaved);
+        return savedRooms;
     }
 
     @Override
@@ -121,8 +169,12 @@ public class IRoomServices implements RoomServices {
         Hotel hotel = room.getHotel();
 
         // Upload all files to Cloudinary
-        List<String> imageUrls = cloudinaryServices.uploadMultipleRoomImages(
+        CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleRoomImages(
                 files, hotel.getId(), hotel.getName(), roomId, "Room-" + room.getRoomNumber());
+        List<String> imageUrls = result.urls();
+        if (imageUrls.isEmpty()) {
+            throw new IOException("Failed to upload files: " + result.failed());
+        }
 
         // Determine if these are the first images
         boolean noExistingImages = !imageRepository.existsByEntityTypeAndEntityId(EntityImage.EntityType.ROOM, roomId);
@@ -131,7 +183,8 @@ public class IRoomServices implements RoomServices {
         Integer startingDisplayOrder = imageRepository.findMaxDisplayOrderForEntity(EntityImage.EntityType.ROOM, roomId)
                 .orElse(0) + 1;
 
-        // Save all images to database
+        // Save all images to database, the inserts go out as one JDBC batch on commit
+        List<EntityImage> entityImages = new ArrayList<>(imageUrls.size());
         for (int i = 0; i < imageUrls.size(); i++) {
             String url = imageUrls.get(i);
             boolean isPrimary = noExistingImages && i == 0; // First image is primary if no existing images
@@ -144,14 +197,14 @@ public class IRoomServices implements RoomServices {
             entityImage.setPrimary(isPrimary);
             entityImage.setDisplayOrder(startingDisplayOrder + i);
             entityImage.setUploadDate(LocalDateTime.now());
+            entityImages.add(entityImage);
+        }
+        imageRepository.saveAll(entityImages);
 
-            imageRepository.save(entityImage);
-
-            // Update room's primary image path for the first image
-            if (isPrimary) {
-                room.setImagePath(url);
-                roomRepository.save(room);
-            }
+        // Update room's primary image path for the first image
+        if (noExistingImages) {
+            room.setImagePath(imageUrls.get(0));
+            roomRepository.save(room);
         }
 
         return imageUrls;
@@ -279,6 +332,16 @@ public class IRoomServices implements RoomServices {
         return roomRepository.findById(id);
     }
 
+    @Override
+    public List<Room> getRoomsByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : roomRepository.findAllByRoomIdIn(ids);
+    }
+
+    @Override
+    public boolean roomExists(Long id) {
+        return roomRepository.existsById(id);
+    }
+
     @Override
     public List<Room> getRoomsByHotel(Long id) {
         return roomRepository.findAllByHotelId(id);
@@ -295,20 +358,37 @@ public class IRoomServices implements RoomServices {
         }
     }
 
+    @Override
+    public CursorPageDto<Room> getRoomsWithFiltersAfter(long hotelId, Long roomNumber, String cursor, int size,
+            boolean withTotal) {
+        long afterId = CursorCodec.decodeAfterId(cursor);
+        Limit limit = Limit.of(size + 1);
+        if (roomNumber != null && roomNumber > 0) {
+            List<Room> rows = roomRepository.findByHotelIdAndRoomNumberAndRoomIdGreaterThanOrderByRoomIdAsc(hotelId,
+                    roomNumber, afterId, limit);
+            Long total = withTotal ? roomRepository.countByHotelIdAndRoomNumber(hotelId, roomNumber) : null;
+            return CursorPageDto.of(rows, size, Room::getRoomId, total);
+        }
+        List<Room> rows = roomRepository.findByHotelIdAndRoomIdGreaterThanOrderByRoomIdAsc(hotelId, afterId, limit);
+        Long total = withTotal ? roomRepository.countByHotelId(hotelId) : null;
+        return CursorPageDto.of(rows, size, Room::getRoomId, total);
+    }
+
     @Override
     public void deleteRoom(Long id) {
+        Optional<Long> hotelId = roomRepository.findById(id).map(room -> room.getHotel().getId());
         roomRepository.deleteById(id);
+        hotelId.ifPresent(cheapestRoomProjectionService::refreshHotel);
+        roomAvailabilityIndex.roomDeleted(id);
     }
 
     @Override
     public RoomDto getCheapestRoomByHotelId(Long id) {
-        List<Room> rooms = roomRepository.findAllByHotelId(id);
-        List<RoomDto> roomDtos = rooms.stream()
-                .map(room -> roomMapper.toDto(room, null, null))
-                .toList();
-
-        return roomDtos.stream()
-                .min(Comparator.comparing(RoomDto::getPrice))
+        // Reads the maintained projection instead of pricing every room of the hotel
+        return hotelCheapestRoomRepository.findAllByHotelId(id).stream()
+                .min(Comparator.comparing(HotelCheapestRoom::getPrice))
+                .flatMap(cheapest -> roomRepository.findById(cheapest.getRoomId())
+                        .map(room -> roomMapper.toDto(room, cheapest.getPrice())))
                 .orElse(null);
     }
 }
\ No newline at end of file
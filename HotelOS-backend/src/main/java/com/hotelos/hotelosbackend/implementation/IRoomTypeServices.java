@@ -4,6 +4,7 @@ import com.hotelos.hotelosbackend.dto.RoomTypeDto;
 import com.hotelos.hotelosbackend.mapper.RoomTypeMapper;
 import com.hotelos.hotelosbackend.models.RoomType;
 import com.hotelos.hotelosbackend.repository.RoomTypeRepository;
+import com.hotelos.hotelosbackend.services.CheapestRoomProjectionService;
 import com.hotelos.hotelosbackend.services.RoomTypeServices;
 import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
@@ -23,6 +24,9 @@ public class IRoomTypeServices implements RoomTypeServices {
     @Autowired
     private RoomTypeMapper roomTypeMapper;
 
+    @Autowired
+    private CheapestRoomProjectionService cheapestRoomProjectionService;
+
     @Override
     public List<RoomTypeDto> getAllRoomTypes(boolean includeInactive) {
         List<RoomType> roomTypes;
@@ -75,6 +79,8 @@ public class IRoomTypeServices implements RoomTypeServices {
         }
 
         RoomType updatedRoomType = roomTypeRepository.save(roomType);
+        // The price factor changes the price of every room of this type
+        cheapestRoomProjectionService.refreshRoomType(updatedRoomType.getId());
         return roomTypeMapper.toDto(updatedRoomType);
     }
 
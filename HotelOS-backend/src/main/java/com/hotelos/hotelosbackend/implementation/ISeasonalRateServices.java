@@ -0,0 +1,73 @@
+package com.hotelos.hotelosbackend.implementation;
+
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+import com.hotelos.hotelosbackend.repository.SeasonalRateRepository;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import com.hotelos.hotelosbackend.services.SeasonalRateServices;
+import org.springframework.stereotype.Service;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ISeasonalRateServices implements SeasonalRateServices {
+    private static final int MAX_SEASON_NIGHTS = 366;
+
+    private final SeasonalRateRepository seasonalRateRepository;
+    private final SeasonalRateCalendar seasonalRateCalendar;
+
+    public ISeasonalRateServices(SeasonalRateRepository seasonalRateRepository,
+            SeasonalRateCalendar seasonalRateCalendar) {
+        this.seasonalRateRepository = seasonalRateRepository;
+        this.seasonalRateCalendar = seasonalRateCalendar;
+    }
+
+    @Override
+    public List<SeasonalRate> getSeasonalRates(Long hotelId) {
+        return seasonalRateRepository.findAllByHotelIdOrderByStartDateAscIdAsc(hotelId);
+    }
+
+    @Override
+    public SeasonalRate createSeasonalRate(Long hotelId, SeasonalRate seasonalRate) {
+        validate(seasonalRate);
+        seasonalRate.setId(null);
+        seasonalRate.setHotelId(hotelId);
+        SeasonalRate saved = seasonalRateRepository.save(seasonalRate);
+        seasonalRateCalendar.refreshHotel(hotelId);
+        return saved;
+    }
+
+    @Override
+    public Optional<SeasonalRate> updateSeasonalRate(Long hotelId, Long id, SeasonalRate seasonalRate) {
+        validate(seasonalRate);
+        Optional<SeasonalRate> updated = seasonalRateRepository.findByIdAndHotelId(id, hotelId).map(existing -> {
+            existing.setName(seasonalRate.getName());
+            existing.setStartDate(seasonalRate.getStartDate());
+            existing.setEndDate(seasonalRate.getEndDate());
+            existing.setMultiplier(seasonalRate.getMultiplier());
+            return seasonalRateRepository.save(existing);
+        });
+        updated.ifPresent(saved -> seasonalRateCalendar.refreshHotel(hotelId));
+        return updated;
+    }
+
+    @Override
+    public boolean deleteSeasonalRate(Long hotelId, Long id) {
+        Optional<SeasonalRate> existing = seasonalRateRepository.findByIdAndHotelId(id, hotelId);
+        existing.ifPresent(seasonalRate -> {
+            seasonalRateRepository.delete(seasonalRate);
+            seasonalRateCalendar.refreshHotel(hotelId);
+        });
+        return existing.isPresent();
+    }
+
+    private static void validate(SeasonalRate seasonalRate) {
+        if (seasonalRate.getEndDate().isBefore(seasonalRate.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before the start date");
+        }
+        if (ChronoUnit.DAYS.between(seasonalRate.getStartDate(), seasonalRate.getEndDate()) >= MAX_SEASON_NIGHTS) {
+            throw new IllegalArgumentException("A season cannot be longer than " + MAX_SEASON_NIGHTS + " nights");
+        }
+    }
+}
@@ -1,29 +1,40 @@
 package com.hotelos.hotelosbackend.implementation;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.mapper.UserMapper;
 import com.hotelos.hotelosbackend.models.Hotel;
 import com.hotelos.hotelosbackend.models.User;
 import com.hotelos.hotelosbackend.models.UserType;
 import com.hotelos.hotelosbackend.repository.UserRepository;
 import com.hotelos.hotelosbackend.services.FileStorageService;
+import com.hotelos.hotelosbackend.services.TokenRevocationService;
 import com.hotelos.hotelosbackend.services.UserServices;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class IUserServices implements UserServices {
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public IUserServices(UserRepository userRepository, FileStorageService fileStorageService, UserMapper userMapper) {
+    public IUserServices(UserRepository userRepository, FileStorageService fileStorageService, UserMapper userMapper,
+            TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.fileStorageService = fileStorageService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -42,7 +53,7 @@ public class IUserServices implements UserServices {
     }
 
     @Override
-    public byte[] getFile(String filePath) throws IOException {
+    public Resource getFile(String filePath) throws IOException {
         return fileStorageService.getFile(filePath);
     }
 
@@ -73,7 +84,30 @@ public class IUserServices implements UserServices {
     }
 
     @Override
+    public CursorPageDto<User> getHotelUsersAfter(String email, long hotelId, String cursor, int size,
+            boolean withTotal) {
+        long afterId = CursorCodec.decodeAfterId(cursor);
+        Limit limit = Limit.of(size + 1);
+        if (email != null && !email.isBlank()) {
+            List<User> rows = userRepository
+                    .findByHotelIdAndEmailContainingIgnoreCaseAndUserIdGreaterThanOrderByUserIdAsc(hotelId, email,
+                            afterId, limit);
+            Long total = withTotal ? userRepository.countByHotelIdAndEmailContainingIgnoreCase(hotelId, email) : null;
+            return CursorPageDto.of(rows, size, User::getUserId, total);
+        }
+        List<User> rows = userRepository.findByHotelIdAndUserIdGreaterThanOrderByUserIdAsc(hotelId, afterId, limit);
+        Long total = withTotal ? userRepository.countByHotelId(hotelId) : null;
+        return CursorPageDto.of(rows, size, User::getUserId, total);
+    }
+
+    @Override
+    @Transactional
     public User updateUser(User user) {
+        // Tokens carry the role and hotel in their claims, the ones issued before a change of either are revoked
+        userRepository.findById(user.getUserId())
+                .filter(existing -> existing.getUserType() != user.getUserType()
+                        || !Objects.equals(hotelId(existing), hotelId(user)))
+                .ifPresent(existing -> tokenRevocationService.revokeTokensIssuedBefore(user.getUserId(), Instant.now()));
         return userRepository.save(user);
     }
 
@@ -83,8 +117,11 @@ public class IUserServices implements UserServices {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        // The claims alone would still authenticate the deleted user
+        tokenRevocationService.revokeTokensIssuedBefore(id, Instant.now());
     }
 
     @Override
@@ -111,4 +148,8 @@ public class IUserServices implements UserServices {
     public List<User> getUsersByHotel(Hotel hotel) {
         return userRepository.findByHotel(hotel);
     }
-}
\ No newline at end of file
+
+    private static Long hotelId(User user) {
+        return user.getHotel() == null ? null : user.getHotel().getId();
+    }
+}
@@ -0,0 +1,179 @@
+package com.hotelos.hotelosbackend.mail;
+
+import com.hotelos.hotelosbackend.models.EmailOutboxMessage;
+import com.hotelos.hotelosbackend.models.EmailOutboxStatus;
+import com.hotelos.hotelosbackend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends queued outbox emails in batches. One batch goes out over a single SMTP connection,
+ * failed messages are retried with exponential backoff and end up DEAD after the last attempt.
+ * A batch is claimed and its results recorded in two short transactions, so no row lock or pooled
+ * connection is held while SMTP is slow. Claimed messages are SENDING under a lease; if the dispatcher
+ * dies before recording them, they are claimed again once the lease runs out.
+ */
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration lease;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer sendLatency;
+    private final Counter sentMessages;
+    private final Counter failedAttempts;
+    private final Counter deadMessages;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Value("${hotelos.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${hotelos.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${hotelos.mail.outbox.backoff-ms:30000}") long backoffMillis,
+            @Value("${hotelos.mail.outbox.lease-ms:300000}") long leaseMillis) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        Gauge.builder("hotelos.mail.outbox.pending", queueDepth, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("hotelos.mail.outbox.send")
+                .description("Time to send one batch of outbox emails over SMTP")
+                .register(meterRegistry);
+        this.sentMessages = Counter.builder("hotelos.mail.outbox.sent")
+                .description("Outbox emails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.failedAttempts = Counter.builder("hotelos.mail.outbox.failed")
+                .description("Failed outbox email delivery attempts")
+                .register(meterRegistry);
+        this.deadMessages = Counter.builder("hotelos.mail.outbox.dead")
+                .description("Outbox emails given up on after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${hotelos.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (batch != null && !batch.isEmpty()) {
+            send(batch, LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+        }
+        queueDepth.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    private List<EmailOutboxMessage> claim(LocalDateTime now) {
+        List<EmailOutboxMessage> batch = emailOutboxRepository.claimDueMessages(now, PageRequest.of(0, batchSize));
+        for (EmailOutboxMessage message : batch) {
+            message.setStatus(EmailOutboxStatus.SENDING);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        emailOutboxRepository.saveAll(batch);
+        return batch;
+    }
+
+    private void send(List<EmailOutboxMessage> batch, LocalDateTime now) {
+        Map<SimpleMailMessage, EmailOutboxMessage> outboxByMail = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            outboxByMail.put(toMail(message), message);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            sendLatency.record(() -> mailSender.send(outboxByMail.keySet().toArray(new SimpleMailMessage[0])));
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(outboxByMail, ex);
+            }
+        } catch (MailException ex) {
+            failures = allFailed(outboxByMail, ex);
+        }
+
+        for (Map.Entry<SimpleMailMessage, EmailOutboxMessage> entry : outboxByMail.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            message.setAttempts(message.getAttempts() + 1);
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                message.setStatus(EmailOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sentMessages.increment();
+                continue;
+            }
+
+            failedAttempts.increment();
+            message.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(EmailOutboxStatus.DEAD);
+                deadMessages.increment();
+                logger.error("Giving up on email {} to {} after {} attempts", message.getId(),
+                        message.getRecipient(), message.getAttempts(), failure);
+            } else {
+                message.setStatus(EmailOutboxStatus.PENDING);
+                message.setNextAttemptAt(now.plus(backoffFor(message.getAttempts())));
+                logger.warn("Failed to send email {} to {}, attempt {}", message.getId(), message.getRecipient(),
+                        message.getAttempts());
+            }
+        }
+    }
+
+    // backoff, 2 * backoff, 4 * backoff, ... capped at an hour
+    private Duration backoffFor(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<SimpleMailMessage, EmailOutboxMessage> outboxByMail,
+            Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        outboxByMail.keySet().forEach(mail -> failures.put(mail, ex));
+        return failures;
+    }
+
+    private static SimpleMailMessage toMail(EmailOutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        if (message.getSender() != null) {
+            mail.setFrom(message.getSender());
+        }
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
@@ -1,38 +1,44 @@
 package com.hotelos.hotelosbackend.mail;
 
+import com.hotelos.hotelosbackend.models.EmailOutboxMessage;
+import com.hotelos.hotelosbackend.models.EmailOutboxStatus;
+import com.hotelos.hotelosbackend.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${spring.mail.username:}")
     private String defaultFrom;
 
     /**
-     * Sends a basic plain-text email; errors are logged but not propagated.
+     * Queues a basic plain-text email in the outbox, {@link EmailOutboxDispatcher} sends it;
+     * errors are logged but not propagated.
      */
     public void sendPlainText(String to, String subject, String body) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
+            EmailOutboxMessage message = new EmailOutboxMessage();
             if (defaultFrom != null && !defaultFrom.isBlank()) {
-                message.setFrom(defaultFrom);
+                message.setSender(defaultFrom);
             }
-            message.setTo(to);
+            message.setRecipient(to);
             message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
+            message.setBody(body);
+            message.setStatus(EmailOutboxStatus.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now());
+            emailOutboxRepository.save(message);
         } catch (Exception ex) {
-            logger.error("Failed to send email to {}", to, ex);
+            logger.error("Failed to queue email to {}", to, ex);
         }
     }
 
@@ -0,0 +1,15 @@
+package com.hotelos.hotelosbackend.mapper;
+
+import com.hotelos.hotelosbackend.dto.PromotionDto;
+import com.hotelos.hotelosbackend.models.Promotion;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface PromotionMapper {
+    PromotionDto toDto(Promotion promotion);
+
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Promotion toEntity(PromotionDto promotionDto);
+}
@@ -31,13 +31,32 @@ public abstract class RoomMapper {
     }
 
     public RoomDto toDto(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return toDto(room, checkIn, checkOut, null);
+    }
+
+    public RoomDto toDto(Room room, LocalDate checkIn, LocalDate checkOut, String promoCode) {
+        if (room == null) {
+            return null;
+        }
+
+        RoomDto dto = toDtoWithoutPrice(room);
+        dto.setPrice(priceCalculationService.calculateRoomPrice(room, checkIn, checkOut, promoCode));
+        return dto;
+    }
+
+    @Named("withoutPrice")
+    @Mapping(target = "hotel", source = "hotel")
+    @Mapping(target = "price", ignore = true)
+    protected abstract RoomDto toDtoWithoutPrice(Room room);
+
+    // Uses a price that is already known, e.g. from the cheapest room projection, instead of re-pricing
+    public RoomDto toDto(Room room, BigDecimal price) {
         if (room == null) {
             return null;
         }
 
-        RoomDto dto = toDto(room);
-        // Override the default price with specific dates
-        dto.setPrice(priceCalculationService.calculateRoomPrice(room, checkIn, checkOut));
+        RoomDto dto = toDtoWithoutPrice(room);
+        dto.setPrice(price);
         return dto;
     }
 
@@ -0,0 +1,15 @@
+package com.hotelos.hotelosbackend.mapper;
+
+import com.hotelos.hotelosbackend.dto.SeasonalRateDto;
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface SeasonalRateMapper {
+    SeasonalRateDto toDto(SeasonalRate seasonalRate);
+
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    SeasonalRate toEntity(SeasonalRateDto seasonalRateDto);
+}
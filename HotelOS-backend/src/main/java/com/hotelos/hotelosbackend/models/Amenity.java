@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "amenities", schema = "public", catalog = "HotelOS")
+@Table(name = "amenities", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_amenities_hotel", columnList = "hotel_id, amenity_id"))
 public class Amenity {
 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,39 @@
+package com.hotelos.hotelosbackend.models;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum AnalyticsGranularity {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String dateTruncUnit;
+
+    AnalyticsGranularity(String dateTruncUnit) {
+        this.dateTruncUnit = dateTruncUnit;
+    }
+
+    /** The matching PostgreSQL date_trunc unit */
+    public String dateTruncUnit() {
+        return dateTruncUnit;
+    }
+
+    /** Start of the period containing the day, weeks start on Monday like date_trunc('week') */
+    public LocalDate periodStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+}
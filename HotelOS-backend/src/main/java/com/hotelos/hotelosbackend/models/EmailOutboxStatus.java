@@ -0,0 +1,8 @@
+package com.hotelos.hotelosbackend.models;
+
+public enum EmailOutboxStatus {
+    PENDING,   // Waiting for the dispatcher, possibly after a failed attempt
+    SENDING,   // Claimed by a dispatcher until next_attempt_at, claimed again if still SENDING after that
+    SENT,      // Accepted by the SMTP server
+    DEAD       // Gave up after the maximum number of attempts
+}
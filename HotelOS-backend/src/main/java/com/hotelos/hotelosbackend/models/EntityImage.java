@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 public class EntityImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_images_seq")
+    @SequenceGenerator(name = "entity_images_seq", sequenceName = "entity_images_seq", schema = "public",
+            allocationSize = 50)
     private Long id;
 
     @Column(name = "entity_type", nullable = false)
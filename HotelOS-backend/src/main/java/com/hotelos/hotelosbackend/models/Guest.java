@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @Table(name = "guests")
 public class Guest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guests_seq")
+    @SequenceGenerator(name = "guests_seq", sequenceName = "guests_seq", schema = "public",
+            allocationSize = 50)
     private Long guestId;
 
     @Column(nullable = false)
@@ -41,11 +43,16 @@ public class Guest {
     @Column
     private String nationality;
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User bookedBy; // Link to the user who made the booking (if any)
 
-    @ManyToOne
+    // Excluded so hashing a guest set neither loads nor recurses into the owning reservation
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reservation_id")
     private Reservation reservation;
 
@@ -13,18 +13,24 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "hotels", schema = "public", catalog = "HotelOS")
+@NamedEntityGraph(name = Hotel.DETAILS, attributeNodes = {
+        @NamedAttributeNode("addressInformation"),
+        @NamedAttributeNode("contactInformation")
+})
 public class Hotel {
+    public static final String DETAILS = "Hotel.details";
+
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     @Column(name = "hotel_id")
     private long id;
 
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private AddressInformation addressInformation;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "contact_id")
     private ContactInformation contactInformation;
 
@@ -62,11 +68,19 @@ public class Hotel {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Hotel hotel = (Hotel) o;
-        return id == hotel.id && Objects.equals(addressInformation, hotel.addressInformation) && Objects.equals(contactInformation, hotel.contactInformation) && Objects.equals(name, hotel.name) && Objects.equals(description, hotel.description) && Objects.equals(basePrice, hotel.basePrice);
+        return id == hotel.id && Objects.equals(addressId(), hotel.addressId()) && Objects.equals(contactId(), hotel.contactId()) && Objects.equals(name, hotel.name) && Objects.equals(description, hotel.description) && Objects.equals(basePrice, hotel.basePrice);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, addressInformation, contactInformation, name, description, basePrice);
+        return Objects.hash(id, addressId(), contactId(), name, description, basePrice);
+    }
+
+    private Long addressId() {
+        return addressInformation == null ? null : addressInformation.getId();
+    }
+
+    private Long contactId() {
+        return contactInformation == null ? null : contactInformation.getId();
     }
 }
@@ -0,0 +1,49 @@
+package com.hotelos.hotelosbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Maintained projection: the cheapest available room of one room type in one hotel,
+ * priced per night without dates. Refreshed by {@code CheapestRoomProjectionService}.
+ */
+@Data
+@With
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "hotel_cheapest_rooms", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_hotel_cheapest_rooms_hotel", columnList = "hotel_id, price"))
+public class HotelCheapestRoom {
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "room_type_id", nullable = false)
+    private Long roomTypeId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "price", nullable = false, precision = 19, scale = 4)
+    private BigDecimal price;
+
+    @Column(name = "available_count", nullable = false)
+    private long availableCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
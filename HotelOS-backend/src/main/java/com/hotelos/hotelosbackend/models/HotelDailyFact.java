@@ -0,0 +1,38 @@
+package com.hotelos.hotelosbackend.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sold room nights and room revenue of one hotel on one day, derived from reservations.
+ * Refreshed by {@code HotelAnalyticsService}, never edited directly.
+ */
+@Data
+@With
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(HotelDailyFactId.class)
+@Table(name = "hotel_daily_facts", schema = "public", catalog = "HotelOS")
+public class HotelDailyFact {
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "room_nights", nullable = false)
+    private long roomNights;
+
+    @Column(name = "revenue", nullable = false, precision = 19, scale = 4)
+    private BigDecimal revenue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
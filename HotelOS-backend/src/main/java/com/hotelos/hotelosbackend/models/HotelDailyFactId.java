@@ -0,0 +1,16 @@
+package com.hotelos.hotelosbackend.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelDailyFactId implements Serializable {
+    private Long hotelId;
+    private LocalDate day;
+}
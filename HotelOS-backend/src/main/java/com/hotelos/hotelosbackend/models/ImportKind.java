@@ -0,0 +1,28 @@
+package com.hotelos.hotelosbackend.models;
+
+import java.util.Arrays;
+
+public enum ImportKind {
+    HOTELS("hotels"),
+    ROOM_TYPES("room-types"),
+    ROOMS("rooms"),
+    AMENITIES("amenities");
+
+    private final String path;
+
+    ImportKind(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public static ImportKind fromPath(String path) {
+        return Arrays.stream(values())
+                .filter(kind -> kind.path.equals(path))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown import kind '" + path
+                        + "', expected one of hotels, room-types, rooms, amenities"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.hotelos.hotelosbackend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A percentage off a hotel's room prices for stays meeting every condition that is set. The type names the
+ * condition the promotion is about; a stay matching several promotions gets the largest discount only.
+ */
+@Data
+@With
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "promotions", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_promotions_hotel", columnList = "hotel_id"))
+public class Promotion {
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    // Null applies to every room type of the hotel
+    @Column(name = "room_type_id")
+    private Long roomTypeId;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private PromotionType type;
+
+    // Only PROMO_CODE promotions have one, matched case-insensitively
+    @Column(name = "code", length = 50)
+    private String code;
+
+    @Column(name = "discount_percent", nullable = false, precision = 5, scale = 2)
+    private BigDecimal discountPercent;
+
+    @Column(name = "min_nights")
+    private Integer minNights;
+
+    @Column(name = "min_days_before_arrival")
+    private Integer minDaysBeforeArrival;
+
+    @Column(name = "max_days_before_arrival")
+    private Integer maxDaysBeforeArrival;
+
+    // Check-in dates the promotion applies to, both inclusive and open ended when null
+    @Column(name = "valid_from")
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to")
+    private LocalDate validTo;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
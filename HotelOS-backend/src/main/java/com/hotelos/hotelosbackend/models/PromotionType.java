@@ -0,0 +1,9 @@
+package com.hotelos.hotelosbackend.models;
+
+public enum PromotionType {
+    EARLY_BIRD,
+    LAST_MINUTE,
+    LENGTH_OF_STAY,
+    ROOM_TYPE,
+    PROMO_CODE
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.cglib.core.Local;
 
 import java.math.BigDecimal;
@@ -21,17 +22,40 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "reservations", schema = "public", catalog = "HotelOS")
+// Everything ReservationDto maps except the guests, which are batch fetched so paging stays in the database
+@NamedEntityGraph(name = Reservation.DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode(value = "room", subgraph = "room")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "user", attributeNodes = {
+                        @NamedAttributeNode("addressInformation"),
+                        @NamedAttributeNode("contactInformation"),
+                        @NamedAttributeNode(value = "hotel", subgraph = "hotel")
+                }),
+                @NamedSubgraph(name = "room", attributeNodes = {
+                        @NamedAttributeNode("roomType"),
+                        @NamedAttributeNode(value = "hotel", subgraph = "hotel")
+                }),
+                @NamedSubgraph(name = "hotel", attributeNodes = {
+                        @NamedAttributeNode("addressInformation"),
+                        @NamedAttributeNode("contactInformation")
+                })
+        })
 public class Reservation {
+    public static final String DETAILS = "Reservation.details";
+
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
     @Column(name = "reservation_id")
     private long reservationId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id")
     private Room room;
 
@@ -72,6 +96,7 @@ public class Reservation {
     private LocalDateTime updatedAt;
 
     // In your Reservation class
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Guest> guests = new HashSet<>();
 
@@ -101,11 +126,19 @@ public class Reservation {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Reservation that = (Reservation) o;
-        return reservationId == that.reservationId && Objects.equals(user, that.user) && Objects.equals(room, that.room) && Objects.equals(checkInDate, that.checkInDate) && Objects.equals(checkOutDate, that.checkOutDate) && Objects.equals(status, that.status) && Objects.equals(totalAmount, that.totalAmount);
+        return reservationId == that.reservationId && Objects.equals(userId(), that.userId()) && Objects.equals(roomId(), that.roomId()) && Objects.equals(checkInDate, that.checkInDate) && Objects.equals(checkOutDate, that.checkOutDate) && Objects.equals(status, that.status) && Objects.equals(totalAmount, that.totalAmount);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(reservationId, user, room, checkInDate, checkOutDate, status, totalAmount);
+        return Objects.hash(reservationId, userId(), roomId(), checkInDate, checkOutDate, status, totalAmount);
+    }
+
+    private Long userId() {
+        return user == null ? null : user.getUserId();
+    }
+
+    private Long roomId() {
+        return room == null ? null : room.getRoomId();
     }
 }
\ No newline at end of file
@@ -13,9 +13,25 @@ import java.util.Objects;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "rooms", schema = "public", catalog = "HotelOS")
+@Table(name = "rooms", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_rooms_hotel", columnList = "hotel_id, room_id"))
+// Everything RoomDto maps, fetched in the same select as the rooms
+@NamedEntityGraph(name = Room.DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode("roomType"),
+                @NamedAttributeNode(value = "hotel", subgraph = "hotel")
+        },
+        subgraphs = @NamedSubgraph(name = "hotel", attributeNodes = {
+                @NamedAttributeNode("addressInformation"),
+                @NamedAttributeNode("contactInformation")
+        }))
 public class Room {
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final String DETAILS = "Room.details";
+
+    // Sequence ids keep inserts batchable, identity ids need one round trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", schema = "public",
+            allocationSize = 50)
     @Id
     @Column(name = "room_id")
     private long roomId;
@@ -25,7 +41,7 @@ public class Room {
     @Column(name = "room_number")
     private long roomNumber;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_type_id")
     private RoomType roomType;
 
@@ -50,7 +66,7 @@ public class Room {
     @Column(name = "image_path")
     private String imagePath;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id")
     private Hotel hotel;
 
@@ -78,8 +94,9 @@ public class Room {
         if (o == null || getClass() != o.getClass())
             return false;
         Room room = (Room) o;
+        // Associations compare by id, so lazy proxies are never initialized here
         return roomId == room.roomId &&
-                Objects.equals(hotel, room.hotel) &&
+                Objects.equals(hotelId(), room.hotelId()) &&
                 Objects.equals(roomNumber, room.roomNumber) &&
                 (roomType == null ? room.roomType == null :
                         roomType.getId() != null && roomType.getId().equals(room.getRoomType() != null ? room.getRoomType().getId() : null)) &&
@@ -90,8 +107,12 @@ public class Room {
 
     @Override
     public int hashCode() {
-        return Objects.hash(roomId, hotel, roomNumber,
+        return Objects.hash(roomId, hotelId(), roomNumber,
                 roomType != null ? roomType.getId() : null,
                 capacity, priceModifier, status);
     }
-}
\ No newline at end of file
+
+    private Long hotelId() {
+        return hotel == null ? null : hotel.getId();
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotelos.hotelosbackend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Multiplies a hotel's room prices for the nights from startDate to endDate, both inclusive.
+ * Where seasons overlap, the one starting last wins.
+ */
+@Data
+@With
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "seasonal_rates", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_seasonal_rates_hotel", columnList = "hotel_id, start_date"))
+public class SeasonalRate {
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "multiplier", nullable = false, precision = 9, scale = 4)
+    private BigDecimal multiplier;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
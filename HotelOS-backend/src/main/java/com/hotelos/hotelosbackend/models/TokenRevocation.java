@@ -0,0 +1,27 @@
+package com.hotelos.hotelosbackend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Tokens of the user issued before the cut-off are rejected. Kept apart from the users table so the revocation
+ * outlives a deleted user, and dropped once every token it could reject has expired on its own.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "token_revocations", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_token_revocations_revoked_before", columnList = "revoked_before"))
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+}
@@ -19,8 +19,22 @@ import java.util.Objects;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "users", schema = "public", catalog = "HotelOS")
+@Table(name = "users", schema = "public", catalog = "HotelOS",
+        indexes = @Index(name = "idx_users_hotel", columnList = "hotel_id, user_id"))
+// Everything UserDto maps, fetched in the same select as the users
+@NamedEntityGraph(name = User.DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode("addressInformation"),
+                @NamedAttributeNode("contactInformation"),
+                @NamedAttributeNode(value = "hotel", subgraph = "hotel")
+        },
+        subgraphs = @NamedSubgraph(name = "hotel", attributeNodes = {
+                @NamedAttributeNode("addressInformation"),
+                @NamedAttributeNode("contactInformation")
+        }))
 public class User implements UserDetails {
+    public static final String DETAILS = "User.details";
+
     @Id
     @Column(name = "user_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,11 +56,11 @@ public class User implements UserDetails {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private AddressInformation addressInformation;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "contact_id")
     private ContactInformation contactInformation;
 
@@ -59,7 +73,7 @@ public class User implements UserDetails {
     @Column(name = "position")
     private String position;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id")
     private Hotel hotel;
 
@@ -96,18 +110,30 @@ public class User implements UserDetails {
                 Objects.equals(lastName, user.lastName) &&
                 Objects.equals(password, user.password) &&
                 Objects.equals(email, user.email) &&
-                Objects.equals(addressInformation, user.addressInformation) &&
-                Objects.equals(contactInformation, user.contactInformation) &&
+                Objects.equals(addressId(), user.addressId()) &&
+                Objects.equals(contactId(), user.contactId()) &&
                 userType == user.userType &&
                 Objects.equals(position, user.position) &&
-                Objects.equals(hotel, user.hotel) &&
+                Objects.equals(hotelId(), user.hotelId()) &&
                 Objects.equals(imagePath, user.imagePath);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userId, firstName, lastName, password, email, addressInformation, contactInformation,
-                userType, position, hotel, imagePath);
+        return Objects.hash(userId, firstName, lastName, password, email, addressId(), contactId(),
+                userType, position, hotelId(), imagePath);
+    }
+
+    private Long addressId() {
+        return addressInformation == null ? null : addressInformation.getId();
+    }
+
+    private Long contactId() {
+        return contactInformation == null ? null : contactInformation.getId();
+    }
+
+    private Long hotelId() {
+        return hotel == null ? null : hotel.getId();
     }
 
     @Override
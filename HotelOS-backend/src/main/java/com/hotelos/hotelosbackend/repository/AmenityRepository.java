@@ -1,15 +1,32 @@
 package com.hotelos.hotelosbackend.repository;
 
 import com.hotelos.hotelosbackend.models.Amenity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AmenityRepository extends JpaRepository<Amenity, Long> {
     Page<Amenity> findByHotel_Id(Long hotelId, Pageable pageable);
     List<Amenity> findAllByHotel_Id(Long hotelId);
+
+    // Keyset pages in id order, no OFFSET and no COUNT
+    List<Amenity> findByHotel_IdAndIdGreaterThanOrderByIdAsc(Long hotelId, Long afterId, Limit limit);
+
+    long countByHotel_Id(Long hotelId);
+
+    @Query("SELECT a FROM Amenity a JOIN FETCH a.hotel WHERE a.hotel.id IN :hotelIds")
+    List<Amenity> findAllByHotelIdIn(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @Modifying
+    @Query("DELETE FROM Amenity a WHERE a.hotel.id = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
 }
\ No newline at end of file
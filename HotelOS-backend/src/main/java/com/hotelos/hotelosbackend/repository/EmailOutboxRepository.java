@@ -0,0 +1,30 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.EmailOutboxMessage;
+import com.hotelos.hotelosbackend.models.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2), so several dispatchers never claim the same message;
+    // SENDING messages are due again once their lease ran out
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status IN (com.hotelos.hotelosbackend.models.EmailOutboxStatus.PENDING, "
+            + "com.hotelos.hotelosbackend.models.EmailOutboxStatus.SENDING) AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<EmailOutboxMessage> claimDueMessages(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -22,6 +22,20 @@ public interface EntityImageRepository extends JpaRepository<EntityImage, Long>
 
     Optional<EntityImage> findFirstByEntityTypeAndEntityIdOrderByDisplayOrderAsc(EntityImage.EntityType entityType, Long entityId);
 
+    // Images of the hotel itself and of all of its rooms
+    @Query("SELECT COALESCE(e.publicId, e.url) FROM EntityImage e WHERE "
+            + "(e.entityType = com.hotelos.hotelosbackend.models.EntityImage.EntityType.HOTEL AND e.entityId = :hotelId) OR "
+            + "(e.entityType = com.hotelos.hotelosbackend.models.EntityImage.EntityType.ROOM AND e.entityId IN "
+            + "(SELECT r.roomId FROM Room r WHERE r.hotel.id = :hotelId))")
+    List<String> findPublicIdsByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM EntityImage e WHERE "
+            + "(e.entityType = com.hotelos.hotelosbackend.models.EntityImage.EntityType.HOTEL AND e.entityId = :hotelId) OR "
+            + "(e.entityType = com.hotelos.hotelosbackend.models.EntityImage.EntityType.ROOM AND e.entityId IN "
+            + "(SELECT r.roomId FROM Room r WHERE r.hotel.id = :hotelId))")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+
     @Modifying
     @Transactional
     @Query("UPDATE EntityImage e SET e.isPrimary = false WHERE e.entityType = :entityType AND e.entityId = :entityId")
@@ -0,0 +1,26 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.HotelCheapestRoom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HotelCheapestRoomRepository extends JpaRepository<HotelCheapestRoom, Long> {
+    List<HotelCheapestRoom> findAllByHotelId(Long hotelId);
+
+    List<HotelCheapestRoom> findAllByHotelIdIn(Collection<Long> hotelIds);
+
+    @Modifying
+    @Query("DELETE FROM HotelCheapestRoom c WHERE c.hotelId = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM HotelCheapestRoom c")
+    int deleteAllRows();
+}
@@ -0,0 +1,88 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.HotelDailyFact;
+import com.hotelos.hotelosbackend.models.HotelDailyFactId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HotelDailyFactRepository extends JpaRepository<HotelDailyFact, HotelDailyFactId> {
+
+    @Modifying
+    @Query("DELETE FROM HotelDailyFact f WHERE f.hotelId = :hotelId AND f.day >= :from AND f.day < :to")
+    int deleteRange(@Param("hotelId") Long hotelId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM HotelDailyFact f WHERE f.hotelId = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM HotelDailyFact f")
+    int deleteAllRows();
+
+    // One row per hotel and night, revenue spread evenly over the nights of each stay
+    @Modifying
+    @Query(value = """
+            INSERT INTO hotel_daily_facts (hotel_id, day, room_nights, revenue, updated_at)
+            SELECT ro.hotel_id, CAST(d AS date), COUNT(*),
+                   COALESCE(SUM(res.total_amount / (res.check_out_date - res.check_in_date)), 0), now()
+            FROM reservations res
+            JOIN rooms ro ON ro.room_id = res.room_id
+            CROSS JOIN LATERAL generate_series(GREATEST(res.check_in_date, :from),
+                    LEAST(res.check_out_date, :to) - 1, interval '1 day') AS d
+            WHERE ro.hotel_id = :hotelId
+              AND res.check_out_date > :from AND res.check_in_date < :to
+              AND res.check_out_date > res.check_in_date
+              AND res.status NOT IN ('CANCELLED', 'EXPIRED')
+            GROUP BY ro.hotel_id, CAST(d AS date)
+            ON CONFLICT (hotel_id, day) DO UPDATE
+            SET room_nights = excluded.room_nights, revenue = excluded.revenue, updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int upsertRange(@Param("hotelId") Long hotelId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO hotel_daily_facts (hotel_id, day, room_nights, revenue, updated_at)
+            SELECT ro.hotel_id, CAST(d AS date), COUNT(*),
+                   COALESCE(SUM(res.total_amount / (res.check_out_date - res.check_in_date)), 0), now()
+            FROM reservations res
+            JOIN rooms ro ON ro.room_id = res.room_id
+            CROSS JOIN LATERAL generate_series(res.check_in_date, res.check_out_date - 1, interval '1 day') AS d
+            WHERE res.check_out_date > res.check_in_date
+              AND res.status NOT IN ('CANCELLED', 'EXPIRED')
+            GROUP BY ro.hotel_id, CAST(d AS date)
+            ON CONFLICT (hotel_id, day) DO UPDATE
+            SET room_nights = excluded.room_nights, revenue = excluded.revenue, updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int upsertAll();
+
+    // Periods come back as ISO dates, unit is a date_trunc unit: day, week or month
+    @Query(value = """
+            SELECT to_char(p.period, 'YYYY-MM-DD') AS period,
+                   SUM(p.room_nights) AS roomNights, SUM(p.revenue) AS revenue
+            FROM (SELECT date_trunc(:unit, f.day) AS period, f.room_nights, f.revenue
+                  FROM hotel_daily_facts f
+                  WHERE f.hotel_id = :hotelId AND f.day >= :from AND f.day < :to) p
+            GROUP BY p.period
+            ORDER BY p.period
+            """, nativeQuery = true)
+    List<PeriodTotals> sumByPeriod(@Param("hotelId") Long hotelId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, @Param("unit") String unit);
+
+    boolean existsBy();
+
+    interface PeriodTotals {
+        String getPeriod();
+
+        Long getRoomNights();
+
+        BigDecimal getRevenue();
+    }
+}
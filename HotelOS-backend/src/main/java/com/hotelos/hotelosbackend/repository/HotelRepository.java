@@ -3,6 +3,7 @@ package com.hotelos.hotelosbackend.repository;
 import com.hotelos.hotelosbackend.models.Hotel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -12,6 +13,16 @@ import java.util.Optional;
 @Repository
 
 public interface HotelRepository extends JpaRepository<Hotel, Long>, JpaSpecificationExecutor<Hotel> {
+    // Read paths load what HotelDto needs in one select; filtered lists fetch the same through a Specification
+    @Override
+    @EntityGraph(Hotel.DETAILS)
+    Optional<Hotel> findById(Long id);
+
+    @Override
+    @EntityGraph(Hotel.DETAILS)
+    Page<Hotel> findAll(Pageable pageable);
+
+    @EntityGraph(Hotel.DETAILS)
     Page<Hotel> findByNameContainingIgnoreCase(String email, Pageable pageable);
 
     Optional<Hotel> findByNameIgnoreCase(String name);
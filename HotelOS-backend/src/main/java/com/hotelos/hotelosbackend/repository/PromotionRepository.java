@@ -0,0 +1,26 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+    List<Promotion> findAllByHotelIdOrderByIdAsc(Long hotelId);
+
+    List<Promotion> findAllByActiveTrue();
+
+    List<Promotion> findAllByHotelIdAndActiveTrue(Long hotelId);
+
+    Optional<Promotion> findByIdAndHotelId(Long id, Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM Promotion p WHERE p.hotelId = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -1,34 +1,73 @@
 package com.hotelos.hotelosbackend.repository;
 
+import com.hotelos.hotelosbackend.dto.ReservationExportRow;
 import com.hotelos.hotelosbackend.models.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+        // Read paths load what ReservationDto needs in one select, everything else stays lazy
+        @Override
+        @EntityGraph(Reservation.DETAILS)
+        Optional<Reservation> findById(Long id);
+
+        @EntityGraph(Reservation.DETAILS)
         Page<Reservation> findByReservationNameContainsIgnoreCaseAndRoomHotelId(String reservationName, Long hotelId,
                         Pageable pageable);
 
+        @EntityGraph(Reservation.DETAILS)
         Page<Reservation> findByRoomRoomNumberAndRoomHotelId(Long roomNumber, Long hotelId, Pageable pageable);
 
+        @EntityGraph(Reservation.DETAILS)
         Page<Reservation> findByReservationNameContainsIgnoreCaseAndRoomRoomNumberAndRoomHotelId(String reservationName,
                         Long roomNumber, Long hotelId, Pageable pageable);
 
+        @EntityGraph(Reservation.DETAILS)
         Page<Reservation> findAllByRoomHotelId(Long hotelId, Pageable pageable);
 
         @Query("SELECT r FROM Reservation r WHERE r.room.hotel.id = :hotelId")
         List<Reservation> findAllByHotelId(@Param("hotelId") Long hotelId);
 
+        @EntityGraph(Reservation.DETAILS)
         Page<Reservation> findAllByUserUserId(Long userId, Pageable pageable);
 
+        // Keyset page: rows after the given id, so deep pages cost the same as the first one
+        @EntityGraph(Reservation.DETAILS)
+        @Query("SELECT r FROM Reservation r WHERE r.room.hotel.id = :hotelId AND r.reservationId > :afterId "
+                        + "ORDER BY r.reservationId")
+        List<Reservation> findHotelReservationsAfter(@Param("hotelId") Long hotelId, @Param("afterId") Long afterId,
+                        Limit limit);
+
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT new com.hotelos.hotelosbackend.dto.ReservationExportRow(r.reservationId, r.reservationName, "
+                        + "r.checkInDate, r.checkOutDate, r.status, r.totalAmount, r.numberOfAdults, r.numberOfChildren, "
+                        + "ro.roomId, ro.roomNumber, u.userId, u.email, r.primaryGuestName, r.primaryGuestEmail, "
+                        + "r.primaryGuestPhone, r.createdAt) "
+                        + "FROM Reservation r JOIN r.room ro LEFT JOIN r.user u WHERE ro.hotel.id = :hotelId "
+                        + "ORDER BY r.reservationId")
+        Stream<ReservationExportRow> streamExportRowsByHotelId(@Param("hotelId") Long hotelId);
+
         @Query("SELECT r FROM Reservation r WHERE r.room.roomId = :roomId "
                         + "AND r.checkOutDate > :checkInDate "
                         + "AND r.checkInDate < :checkOutDate "
@@ -37,7 +76,45 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                         @Param("checkInDate") LocalDate checkInDate,
                         @Param("checkOutDate") LocalDate checkOutDate);
 
-        @Query("SELECT r FROM Reservation r WHERE r.status = com.hotelos.hotelosbackend.models.ReservationStatus.PENDING AND r.checkOutDate < :today")
-        List<Reservation> findPendingReservationsBefore(@Param("today") LocalDate today);
+        @Query("SELECT r.reservationId AS reservationId, r.room.roomId AS roomId, "
+                        + "r.checkInDate AS checkInDate, r.checkOutDate AS checkOutDate FROM Reservation r "
+                        + "WHERE r.checkOutDate > :from AND r.checkInDate < :to "
+                        + "AND r.status NOT IN (com.hotelos.hotelosbackend.models.ReservationStatus.CANCELLED, com.hotelos.hotelosbackend.models.ReservationStatus.EXPIRED)")
+        List<ReservationStay> findActiveStaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        @Modifying
+        @Query("DELETE FROM Guest g WHERE g.reservation.reservationId IN "
+                        + "(SELECT r.reservationId FROM Reservation r WHERE r.room.hotel.id = :hotelId)")
+        int deleteGuestsByHotelId(@Param("hotelId") Long hotelId);
+
+        @Modifying
+        @Query("DELETE FROM Reservation r WHERE r.room.roomId IN (SELECT ro.roomId FROM Room ro WHERE ro.hotel.id = :hotelId)")
+        int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+
+        @Modifying
+        @Query("UPDATE Reservation r SET r.status = com.hotelos.hotelosbackend.models.ReservationStatus.EXPIRED, r.updatedAt = :now "
+                        + "WHERE r.status = com.hotelos.hotelosbackend.models.ReservationStatus.PENDING AND r.checkOutDate < :today")
+        int expirePendingReservationsBefore(@Param("today") LocalDate today, @Param("now") LocalDateTime now);
+
+        long countByRoomHotelId(Long hotelId);
+
+        @Query("SELECT r.room.hotel.id AS hotelId, COUNT(r) AS count FROM Reservation r WHERE r.room IS NOT NULL "
+                        + "GROUP BY r.room.hotel.id")
+        List<HotelCount> countReservationsByHotel();
+
+        interface HotelCount {
+                Long getHotelId();
+
+                long getCount();
+        }
+
+        interface ReservationStay {
+                Long getReservationId();
+
+                Long getRoomId();
+
+                LocalDate getCheckInDate();
 
-}
\ No newline at end of file
+                LocalDate getCheckOutDate();
+        }
+}
@@ -2,33 +2,102 @@ package com.hotelos.hotelosbackend.repository;
 
 import com.hotelos.hotelosbackend.dto.CheapestRoomByTypeDto;
 import com.hotelos.hotelosbackend.models.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.hotelos.hotelosbackend.models.RoomStatus;
+import jakarta.persistence.LockModeType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+  // Read paths load what RoomDto needs in one select, everything else stays lazy
+  @Override
+  @EntityGraph(Room.DETAILS)
+  Optional<Room> findById(Long id);
+
+  @Override
+  @EntityGraph(Room.DETAILS)
+  Page<Room> findAll(Pageable pageable);
+
+  @EntityGraph(Room.DETAILS)
   Page<Room> findByRoomNumberAndHotelId(Long roomNumber, Long hotelId, Pageable pageable);
 
+  @EntityGraph(Room.DETAILS)
   List<Room> findAllByHotelId(Long hotelId);
 
+  // SELECT ... FOR UPDATE, serializes bookings of one room across application instances
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Room r WHERE r.roomId = :roomId")
+  Optional<Room> findByIdForUpdate(@Param("roomId") Long roomId);
+
+  @Query("SELECT r FROM Room r JOIN FETCH r.hotel JOIN FETCH r.roomType " +
+      "WHERE r.hotel.id = :hotelId AND r.status = com.hotelos.hotelosbackend.models.RoomStatus.AVAILABLE")
+  List<Room> findAvailablePricedRoomsByHotelId(@Param("hotelId") Long hotelId);
+
+  @Query("SELECT r FROM Room r JOIN FETCH r.hotel JOIN FETCH r.roomType " +
+      "WHERE r.status = com.hotelos.hotelosbackend.models.RoomStatus.AVAILABLE")
+  List<Room> findAllAvailablePricedRooms();
+
+  @Query("SELECT DISTINCT r.hotel.id FROM Room r WHERE r.roomType.id = :roomTypeId")
+  List<Long> findHotelIdsByRoomTypeId(@Param("roomTypeId") Long roomTypeId);
+
+  @Query("SELECT r FROM Room r JOIN FETCH r.hotel LEFT JOIN FETCH r.roomType WHERE r.roomId IN :roomIds")
+  List<Room> findAllByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+
+  @Query("SELECT r.roomId AS roomId, r.hotel.id AS hotelId, r.status AS status FROM Room r WHERE r.hotel IS NOT NULL")
+  List<RoomSlot> findAllRoomSlots();
+
+  @Query("SELECT r.hotel.id AS hotelId, r.status AS status, COUNT(r) AS count FROM Room r "
+      + "WHERE r.hotel IS NOT NULL GROUP BY r.hotel.id, r.status")
+  List<RoomStatusCount> countRoomsByHotelAndStatus();
+
+  @EntityGraph(Room.DETAILS)
   Page<Room> findByHotelId(Long hotelId, Pageable pageable);
 
+  // Keyset pages: WHERE room_id > :afterId ORDER BY room_id LIMIT n, no OFFSET and no COUNT
+  @EntityGraph(Room.DETAILS)
+  List<Room> findByHotelIdAndRoomIdGreaterThanOrderByRoomIdAsc(Long hotelId, Long afterId, Limit limit);
+
+  @EntityGraph(Room.DETAILS)
+  List<Room> findByHotelIdAndRoomNumberAndRoomIdGreaterThanOrderByRoomIdAsc(Long hotelId, Long roomNumber,
+      Long afterId, Limit limit);
+
+  long countByHotelIdAndRoomNumber(Long hotelId, Long roomNumber);
+
   List<Room> findByRoomNumberAndHotel_Id(Long roomNumber, Long hotelId);
 
   boolean existsByRoomNumberAndHotel_Id(Long roomNumber, Long hotelId);
 
+  @Query("SELECT r.roomNumber FROM Room r WHERE r.hotel.id = :hotelId")
+  List<Long> findRoomNumbersByHotelId(@Param("hotelId") Long hotelId);
+
+  @Modifying
+  @Query("DELETE FROM Room r WHERE r.hotel.id = :hotelId")
+  int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+
+  // One uniqueness check for a whole bulk insert instead of one query per room
+  @Query("SELECT r.roomNumber FROM Room r WHERE r.hotel.id = :hotelId AND r.roomNumber IN :roomNumbers")
+  List<Long> findExistingRoomNumbers(@Param("hotelId") Long hotelId,
+      @Param("roomNumbers") Collection<Long> roomNumbers);
+
   Long countByHotelAndStatusEquals(Hotel hotel, RoomStatus status);
 
+  long countByHotelId(Long hotelId);
+
   Long countRoomsByHotelIdAndRoomType(Long hotelId, RoomType roomType);
 
   @Query("SELECT r FROM Reservation r WHERE r.room.roomId = :roomId " +
@@ -38,6 +107,7 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
       @Param("checkInDate") LocalDate checkInDate,
       @Param("checkOutDate") LocalDate checkOutDate);
 
+  @EntityGraph(Room.DETAILS)
   @Query("""
       SELECT room FROM Room room
       WHERE room.hotel.id = :hotelId
@@ -55,4 +125,20 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
   List<Room> findAvailableRoomsByHotelAndDates(@Param("hotelId") Long hotelId,
       @Param("checkIn") LocalDate checkIn,
       @Param("checkOut") LocalDate checkOut);
+
+  interface RoomSlot {
+    Long getRoomId();
+
+    Long getHotelId();
+
+    RoomStatus getStatus();
+  }
+
+  interface RoomStatusCount {
+    Long getHotelId();
+
+    RoomStatus getStatus();
+
+    long getCount();
+  }
 }
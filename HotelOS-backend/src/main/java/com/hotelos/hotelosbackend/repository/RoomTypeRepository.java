@@ -2,6 +2,9 @@ package com.hotelos.hotelosbackend.repository;
 
 import com.hotelos.hotelosbackend.models.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,12 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
     List<RoomType> findByisActiveTrueAndHotelIdOrHotelIsNull(Long hotelId);
 
     Optional<RoomType> findByNameAndHotelId(String name, Long hotelId);
+
+    // Shared room types have no hotel and can be used by every hotel
+    @Query("SELECT COUNT(t) > 0 FROM RoomType t WHERE t.id = :id AND (t.hotel IS NULL OR t.hotel.id = :hotelId)")
+    boolean isAvailableToHotel(@Param("id") Long id, @Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM RoomType t WHERE t.hotel.id = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
 }
\ No newline at end of file
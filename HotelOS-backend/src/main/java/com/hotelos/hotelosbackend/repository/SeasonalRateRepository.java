@@ -0,0 +1,22 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonalRateRepository extends JpaRepository<SeasonalRate, Long> {
+    List<SeasonalRate> findAllByHotelIdOrderByStartDateAscIdAsc(Long hotelId);
+
+    Optional<SeasonalRate> findByIdAndHotelId(Long id, Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM SeasonalRate s WHERE s.hotelId = :hotelId")
+    int deleteAllByHotelId(@Param("hotelId") Long hotelId);
+}
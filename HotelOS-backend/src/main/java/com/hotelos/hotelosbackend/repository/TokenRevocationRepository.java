@@ -0,0 +1,21 @@
+package com.hotelos.hotelosbackend.repository;
+
+import com.hotelos.hotelosbackend.models.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByRevokedBeforeAfter(Instant oldestLiveToken);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedBefore < :oldestLiveToken")
+    int deleteExpired(@Param("oldestLiveToken") Instant oldestLiveToken);
+}
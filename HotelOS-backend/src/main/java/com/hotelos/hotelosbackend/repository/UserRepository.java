@@ -3,11 +3,17 @@ package com.hotelos.hotelosbackend.repository;
 import com.hotelos.hotelosbackend.models.Hotel;
 import com.hotelos.hotelosbackend.models.User;
 import com.hotelos.hotelosbackend.models.UserType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +21,57 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByUserType(UserType userType);
     List<User> findByHotel(Hotel hotel);
+    // Read paths load what UserDto needs in one select, everything else stays lazy
+    @Override
+    @EntityGraph(User.DETAILS)
+    Optional<User> findById(Long id);
+
+    @Override
+    @EntityGraph(User.DETAILS)
+    Page<User> findAll(Pageable pageable);
+
+    @EntityGraph(User.DETAILS)
     Page<User> findByHotelId(long id, Pageable pageable);
     Optional<User> findByEmail(String email);
+    @EntityGraph(User.DETAILS)
     Page<User> findByEmailContainingIgnoreCase(String email, Pageable pageable);
 
+    @EntityGraph(User.DETAILS)
     Page<User> findByEmailContainingIgnoreCaseAndHotelId(String email, long hotelId, Pageable pageable);
+
+    // Keyset pages in user id order, no OFFSET and no COUNT
+    @EntityGraph(User.DETAILS)
+    List<User> findByHotelIdAndUserIdGreaterThanOrderByUserIdAsc(long hotelId, Long afterId, Limit limit);
+
+    @EntityGraph(User.DETAILS)
+    List<User> findByHotelIdAndEmailContainingIgnoreCaseAndUserIdGreaterThanOrderByUserIdAsc(long hotelId,
+            String email, Long afterId, Limit limit);
+
+    long countByHotelIdAndEmailContainingIgnoreCase(Long hotelId, String email);
     List<User> findByUserTypeAndHotelId(UserType userType, Long hotelId);
     Long countUsersByUserTypeEquals(UserType userType);
+
+    long countByHotelId(Long hotelId);
+
+    long countByHotelIdAndUserType(Long hotelId, UserType userType);
+
+    @Query("SELECT u.userId FROM User u WHERE u.hotel.id = :hotelId")
+    List<Long> findUserIdsByHotelId(@Param("hotelId") Long hotelId);
+
+    // Staff of a removed hotel keep their accounts, only the assignment goes
+    @Modifying
+    @Query("UPDATE User u SET u.hotel = null, u.updatedAt = :now WHERE u.hotel.id = :hotelId")
+    int detachAllFromHotel(@Param("hotelId") Long hotelId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.hotel.id AS hotelId, u.userType AS userType, COUNT(u) AS count FROM User u "
+            + "WHERE u.hotel IS NOT NULL GROUP BY u.hotel.id, u.userType")
+    List<UserTypeCount> countUsersByHotelAndUserType();
+
+    interface UserTypeCount {
+        Long getHotelId();
+
+        UserType getUserType();
+
+        long getCount();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.models.Amenity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,9 @@ public interface AmenityServices {
 
     Page<Amenity> getAmenitiesByHotelId(Long hotelId, Pageable pageable);
 
+    /** Keyset page of a hotel's amenities in id order, cursor is null for the first page */
+    CursorPageDto<Amenity> getAmenitiesByHotelIdAfter(Long hotelId, String cursor, int size, boolean withTotal);
+
     Optional<Amenity> getAmenityById(Long id);
 
     void deleteAmenity(Long id);
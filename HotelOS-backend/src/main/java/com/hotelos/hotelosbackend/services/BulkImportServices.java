@@ -0,0 +1,16 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.dto.ImportReportDto;
+import com.hotelos.hotelosbackend.models.ImportKind;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader;
+
+import java.io.IOException;
+
+public interface BulkImportServices {
+
+    /**
+     * Validates each record as it is read and writes the valid ones in batches, one transaction per batch.
+     * Invalid records are reported by line and skipped, they never fail the whole import.
+     */
+    ImportReportDto importRecords(ImportKind kind, ImportRecordReader reader) throws IOException;
+}
@@ -0,0 +1,96 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.HotelCheapestRoom;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.repository.HotelCheapestRoomRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link HotelCheapestRoom} projection in sync with rooms, room types and hotel base prices,
+ * so listings read one row per hotel and room type instead of pricing every room on each request.
+ */
+@Service
+public class CheapestRoomProjectionService {
+    private static final Logger logger = LoggerFactory.getLogger(CheapestRoomProjectionService.class);
+
+    private final HotelCheapestRoomRepository hotelCheapestRoomRepository;
+    private final RoomRepository roomRepository;
+    private final PriceCalculationService priceCalculationService;
+
+    public CheapestRoomProjectionService(HotelCheapestRoomRepository hotelCheapestRoomRepository,
+            RoomRepository roomRepository, PriceCalculationService priceCalculationService) {
+        this.hotelCheapestRoomRepository = hotelCheapestRoomRepository;
+        this.roomRepository = roomRepository;
+        this.priceCalculationService = priceCalculationService;
+    }
+
+    @Transactional
+    public void refreshHotel(Long hotelId) {
+        if (hotelId == null) {
+            return;
+        }
+        hotelCheapestRoomRepository.deleteAllByHotelId(hotelId);
+        hotelCheapestRoomRepository.saveAll(project(roomRepository.findAvailablePricedRoomsByHotelId(hotelId)));
+    }
+
+    /** Re-prices every hotel that has rooms of the given type, e.g. after its price factor changed. */
+    @Transactional
+    public void refreshRoomType(Long roomTypeId) {
+        roomRepository.findHotelIdsByRoomTypeId(roomTypeId).forEach(this::refreshHotel);
+    }
+
+    @Transactional
+    public void removeHotel(Long hotelId) {
+        hotelCheapestRoomRepository.deleteAllByHotelId(hotelId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        hotelCheapestRoomRepository.deleteAllRows();
+        List<HotelCheapestRoom> rows = project(roomRepository.findAllAvailablePricedRooms());
+        hotelCheapestRoomRepository.saveAll(rows);
+        logger.info("Rebuilt cheapest room projection with {} rows in {} ms", rows.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Rooms must be AVAILABLE and come with their hotel and room type loaded
+    private List<HotelCheapestRoom> project(List<Room> rooms) {
+        Map<List<Long>, List<Room>> roomsByHotelAndType = rooms.stream()
+                .filter(room -> room.getRoomType() != null && room.getHotel().getBasePrice() != null)
+                .collect(Collectors.groupingBy(room -> List.of(room.getHotel().getId(), room.getRoomType().getId())));
+
+        List<HotelCheapestRoom> rows = new ArrayList<>(roomsByHotelAndType.size());
+        roomsByHotelAndType.forEach((key, group) -> {
+            Room cheapestRoom = null;
+            BigDecimal cheapestPrice = null;
+            for (Room room : group) {
+                BigDecimal price = priceCalculationService.calculateRoomPrice(room, null, null);
+                if (cheapestPrice == null || price.compareTo(cheapestPrice) < 0) {
+                    cheapestRoom = room;
+                    cheapestPrice = price;
+                }
+            }
+
+            HotelCheapestRoom row = new HotelCheapestRoom();
+            row.setHotelId(key.get(0));
+            row.setRoomTypeId(key.get(1));
+            row.setRoomId(cheapestRoom.getRoomId());
+            row.setPrice(cheapestPrice);
+            row.setAvailableCount(group.size());
+            rows.add(row);
+        });
+        return rows;
+    }
+}
@@ -0,0 +1,156 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.utils.ObjectUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.mime.AbstractContentBody;
+import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class CloudinaryImageStore implements ImageStore {
+
+    private final Cloudinary cloudinary;
+    private final ObjectMapper objectMapper;
+    private final CloseableHttpClient httpClient;
+
+    // Bytes one upload holds in memory while copying the file into the request, whatever the file size
+    private final int bufferSize;
+    private final long uploadTimeoutMillis;
+
+    public CloudinaryImageStore(Cloudinary cloudinary, ObjectMapper objectMapper,
+            @Value("${hotelos.images.upload-buffer-size:65536}") int bufferSize,
+            @Value("${hotelos.images.upload-timeout-ms:60000}") long uploadTimeoutMillis) {
+        this.cloudinary = cloudinary;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.uploadTimeoutMillis = uploadTimeoutMillis;
+        Timeout timeout = Timeout.ofMilliseconds(uploadTimeoutMillis);
+        this.httpClient = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .useSystemProperties()
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(timeout)
+                                .setSocketTimeout(timeout)
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout)
+                        .setResponseTimeout(timeout)
+                        .build())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * Streams the file into one signed upload request. The SDK only sends byte arrays, and its chunked
+     * uploadLarge needs chunks of at least 5MB, so either way it would buffer the image on the heap.
+     */
+    @Override
+    public String upload(InputStream content, long size, String publicId) throws IOException {
+        Map<String, Object> params = new HashMap<>(ObjectUtils.asMap(
+                "public_id", publicId,
+                "overwrite", "true",
+                "timestamp", String.valueOf(System.currentTimeMillis() / 1000)
+        ));
+        cloudinary.signRequest(params, new HashMap<>());
+
+        MultipartEntityBuilder body = MultipartEntityBuilder.create();
+        params.forEach((name, value) -> body.addTextBody(name, value.toString()));
+        body.addPart("file", new StreamBody(content, size, bufferSize));
+
+        HttpPost request = new HttpPost(cloudinary.cloudinaryApiUrl("upload",
+                ObjectUtils.asMap("resource_type", "auto")));
+        request.setEntity(body.build());
+        // Socket timeouts do not cover a write to a peer that stopped reading, and interrupting the thread does
+        // not unblock socket I/O, so the request is also cancelled once the upload overruns its timeout
+        CompletableFuture<Void> deadline = CompletableFuture.runAsync(request::cancel,
+                CompletableFuture.delayedExecutor(uploadTimeoutMillis, TimeUnit.MILLISECONDS));
+        try {
+            return httpClient.execute(request, response -> {
+                JsonNode result = objectMapper.readTree(EntityUtils.toString(response.getEntity()));
+                if (response.getCode() != 200 || !result.hasNonNull("secure_url")) {
+                    throw new IOException("Cloudinary upload failed with status " + response.getCode() + ": "
+                            + result.path("error").path("message").asText("no error message"));
+                }
+                return result.get("secure_url").asText();
+            });
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    @Override
+    public boolean delete(String publicId) throws IOException {
+        Map result = cloudinary.uploader().destroy(publicId, null);
+        return "ok".equals(result.get("result"));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> list(String prefix) throws Exception {
+        ApiResponse response = cloudinary.api().resources(
+                ObjectUtils.asMap("type", "upload", "prefix", prefix, "max_results", 100));
+        return (List<Map<String, Object>>) response.get("resources");
+    }
+
+    // Copies the stream into the request body through a fixed buffer; a known size keeps the request unchunked
+    private static final class StreamBody extends AbstractContentBody {
+        private final InputStream content;
+        private final long size;
+        private final int bufferSize;
+
+        private StreamBody(InputStream content, long size, int bufferSize) {
+            super(ContentType.APPLICATION_OCTET_STREAM);
+            this.content = content;
+            this.size = size;
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return "file";
+        }
+
+        @Override
+        public long getContentLength() {
+            return size > 0 ? size : -1;
+        }
+    }
+}
@@ -1,24 +1,65 @@
 package com.hotelos.hotelosbackend.services;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.api.ApiResponse;
-import com.cloudinary.utils.ObjectUtils;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.text.Normalizer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class CloudinaryServices {
     private static final Logger logger = LoggerFactory.getLogger(CloudinaryServices.class);
 
-    @Autowired
-    private Cloudinary cloudinary;
+    private final ImageStore imageStore;
+
+    // Bounded pool shared by all batch uploads, so a bulk import cannot open unlimited connections
+    private final ExecutorService uploadExecutor;
+
+    private final int uploadConcurrency;
+    private final long uploadTimeoutMillis;
+
+    public CloudinaryServices(ImageStore imageStore,
+            @Value("${hotelos.images.upload-concurrency:4}") int uploadConcurrency,
+            @Value("${hotelos.images.upload-timeout-ms:60000}") long uploadTimeoutMillis) {
+        this.imageStore = imageStore;
+        this.uploadConcurrency = uploadConcurrency;
+        this.uploadTimeoutMillis = uploadTimeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(uploadConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "image-upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    /**
+     * Outcome of a batch upload: the files that made it, in request order, and the ones that did not
+     */
+    public record BatchUploadResult(List<UploadedFile> uploaded, List<FailedUpload> failed) {
+
+        public List<String> urls() {
+            return uploaded.stream().map(UploadedFile::url).toList();
+        }
+    }
+
+    public record UploadedFile(int index, String fileName, String url) {
+    }
+
+    public record FailedUpload(int index, String fileName, String error) {
+    }
 
     // Base folder structure constants
     private static final String HOTELS_FOLDER = "hotels";
@@ -34,17 +75,15 @@ public class CloudinaryServices {
             // Generate a unique public ID to prevent collisions
             String publicId = folder + "/" + UUID.randomUUID();
 
-            Map<String, Object> params = ObjectUtils.asMap(
-                    "public_id", publicId,
-                    "overwrite", true,
-                    "resource_type", "auto"
-            );
-
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), params);
+            // Streamed from the multipart upload, the file is never held on the heap as a whole
+            String secureUrl;
+            try (InputStream content = file.getInputStream()) {
+                secureUrl = imageStore.upload(content, file.getSize(), publicId);
+            }
             logger.info("File uploaded to Cloudinary: {}", publicId);
 
             // Return the secure URL (HTTPS)
-            return uploadResult.get("secure_url").toString();
+            return secureUrl;
         } catch (IOException e) {
             logger.error("Failed to upload file to Cloudinary", e);
             throw new RuntimeException("Failed to upload file to Cloudinary", e);
@@ -63,7 +102,7 @@ public class CloudinaryServices {
     /**
      * Upload multiple hotel images
      */
-    public List<String> uploadMultipleHotelImages(List<MultipartFile> files, Long hotelId, String hotelName) {
+    public BatchUploadResult uploadMultipleHotelImages(List<MultipartFile> files, Long hotelId, String hotelName) {
         String folderName = createSafeHotelFolderName(hotelId, hotelName);
         String folder = String.format("%s/%s/%s", HOTELS_FOLDER, folderName, IMAGES_FOLDER);
         return uploadMultipleFiles(files, folder);
@@ -83,7 +122,7 @@ public class CloudinaryServices {
     /**
      * Upload multiple room images
      */
-    public List<String> uploadMultipleRoomImages(List<MultipartFile> files, Long hotelId, String hotelName,
+    public BatchUploadResult uploadMultipleRoomImages(List<MultipartFile> files, Long hotelId, String hotelName,
                                                  Long roomId, String roomName) {
         String hotelFolderName = createSafeHotelFolderName(hotelId, hotelName);
         String roomFolderName = createSafeRoomFolderName(roomId, roomName);
@@ -102,17 +141,62 @@ public class CloudinaryServices {
     }
 
     /**
-     * Upload multiple files at once
+     * Upload multiple files in parallel on the bounded upload pool, each with its own timeout counted from
+     * the moment its upload starts. A failed or timed out file does not fail the others, it is reported in
+     * the result instead.
      */
-    public List<String> uploadMultipleFiles(List<MultipartFile> files, String folder) {
-        List<String> urls = new ArrayList<>();
+    public BatchUploadResult uploadMultipleFiles(List<MultipartFile> files, String folder) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(uploadTimeoutMillis);
+        // Every file starts within one timeout per round of the pool, unless uploads ignore cancellation
+        long startDeadline = System.nanoTime()
+                + timeoutNanos * ((files.size() + uploadConcurrency - 1) / uploadConcurrency);
+        long[] startedAt = new long[files.size()];
+        List<CountDownLatch> started = new ArrayList<>(files.size());
+        List<Future<String>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            MultipartFile file = files.get(i);
+            CountDownLatch latch = new CountDownLatch(1);
+            started.add(latch);
+            futures.add(uploadExecutor.submit(() -> {
+                startedAt[index] = System.nanoTime();
+                latch.countDown();
+                return uploadFile(file, folder);
+            }));
+        }
 
-        for (MultipartFile file : files) {
-            String url = uploadFile(file, folder);
-            urls.add(url);
+        List<UploadedFile> uploaded = new ArrayList<>();
+        List<FailedUpload> failed = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            String fileName = files.get(i).getOriginalFilename();
+            Future<String> future = futures.get(i);
+            try {
+                if (!started.get(i).await(Math.max(0, startDeadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                long remaining = Math.max(0, startedAt[i] + timeoutNanos - System.nanoTime());
+                uploaded.add(new UploadedFile(i, fileName, future.get(remaining, TimeUnit.NANOSECONDS)));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failed.add(new FailedUpload(i, fileName, "Upload timed out"));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null && e.getCause().getCause() != null
+                        ? e.getCause().getCause() : e.getCause();
+                failed.add(new FailedUpload(i, fileName, String.valueOf(cause.getMessage())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(pending -> pending.cancel(true));
+                for (int j = i; j < files.size(); j++) {
+                    failed.add(new FailedUpload(j, files.get(j).getOriginalFilename(), "Upload interrupted"));
+                }
+                break;
+            }
         }
 
-        return urls;
+        if (!failed.isEmpty()) {
+            logger.warn("{} of {} files failed to upload to {}", failed.size(), files.size(), folder);
+        }
+        return new BatchUploadResult(uploaded, failed);
     }
 
     /**
@@ -122,11 +206,7 @@ public class CloudinaryServices {
         try {
             String folderName = createSafeHotelFolderName(hotelId, hotelName);
             String prefix = String.format("%s/%s/%s", HOTELS_FOLDER, folderName, IMAGES_FOLDER);
-            ApiResponse response = cloudinary.api().resources(
-                    ObjectUtils.asMap("type", "upload", "prefix", prefix, "max_results", 100));
-
-            List<Map<String, Object>> resources = (List<Map<String, Object>>) response.get("resources");
-            return resources;
+            return imageStore.list(prefix);
         } catch (Exception e) {
             logger.error("Failed to get hotel images", e);
             return new ArrayList<>();
@@ -143,11 +223,7 @@ public class CloudinaryServices {
             String prefix = String.format("%s/%s/%s/%s/%s",
                     HOTELS_FOLDER, hotelFolderName, ROOMS_FOLDER, roomFolderName, IMAGES_FOLDER);
 
-            ApiResponse response = cloudinary.api().resources(
-                    ObjectUtils.asMap("type", "upload", "prefix", prefix, "max_results", 100));
-
-            List<Map<String, Object>> resources = (List<Map<String, Object>>) response.get("resources");
-            return resources;
+            return imageStore.list(prefix);
         } catch (Exception e) {
             logger.error("Failed to get room images", e);
             return new ArrayList<>();
@@ -160,11 +236,10 @@ public class CloudinaryServices {
     public boolean deleteFile(String publicIdOrUrl) {
         try {
             String publicId = extractPublicIdFromUrl(publicIdOrUrl);
-            Map result = cloudinary.uploader().destroy(publicId, null);
-            String status = (String) result.get("result");
+            boolean deleted = imageStore.delete(publicId);
 
-            logger.info("Deleting file {}: {}", publicId, status);
-            return "ok".equals(status);
+            logger.info("Deleting file {}: {}", publicId, deleted ? "ok" : "not found");
+            return deleted;
         } catch (IOException e) {
             logger.error("Failed to delete file from Cloudinary", e);
             throw new RuntimeException("Failed to delete file from Cloudinary", e);
@@ -226,6 +301,28 @@ public class CloudinaryServices {
         return normalized.length() > 50 ? normalized.substring(0, 50) : normalized;
     }
 
+    /**
+     * Deletes the files one after another as a single task on the upload pool, so a large cleanup
+     * holds one upload slot at most. Failures are logged and skipped.
+     */
+    public void deleteFilesInBackground(List<String> publicIdsOrUrls) {
+        if (publicIdsOrUrls.isEmpty()) {
+            return;
+        }
+        List<String> files = List.copyOf(publicIdsOrUrls);
+        uploadExecutor.execute(() -> {
+            int failed = 0;
+            for (String file : files) {
+                try {
+                    deleteFile(file);
+                } catch (RuntimeException e) {
+                    failed++;
+                }
+            }
+            logger.info("Deleted {} of {} files in the background", files.size() - failed, files.size());
+        });
+    }
+
     /**
      * Extract public ID from Cloudinary URL
      * Example URL: https://res.cloudinary.com/cloud_name/image/upload/v1234567890/hotels/123-hotel-name/images/abc123
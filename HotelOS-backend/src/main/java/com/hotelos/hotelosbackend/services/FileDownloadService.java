@@ -0,0 +1,145 @@
+package com.hotelos.hotelosbackend.services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Streams stored files to the client without loading them into memory. Supports conditional requests
+ * (ETag / Last-Modified) and single byte ranges. Large local files are handed to the container's sendfile
+ * when it offers one, everything else is copied with FileChannel.transferTo.
+ */
+@Service
+public class FileDownloadService {
+
+    // Request attributes of Tomcat's sendfile support, see org.apache.coyote.Constants
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final long sendfileThreshold;
+
+    public FileDownloadService(@Value("${hotelos.files.sendfile-threshold:49152}") long sendfileThreshold) {
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    public void serve(Resource resource, MediaType contentType, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long length = resource.contentLength();
+        long lastModified = resource.lastModified();
+        String etag = etag(length, lastModified);
+
+        // Sets ETag and Last-Modified, answers 304 / 412 on its own
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType.toString());
+
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = List.of();
+        if (rangeApplies(request, etag, lastModified)) {
+            try {
+                ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+            } catch (IllegalArgumentException e) {
+                ranges = null;
+            }
+        }
+        if (ranges == null || (ranges.size() == 1 && ranges.get(0).getRangeStart(length) >= length)) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        // Several ranges are answered with the whole file, RFC 9110 allows ignoring Range
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (resource.isFile()) {
+            Path path = resource.getFile().toPath();
+            if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                // The container writes the file straight from the page cache once the request returns
+                request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+                request.setAttribute(SENDFILE_FILE_END_ATTR, end + 1);
+                return;
+            }
+            transfer(path, start, count, response.getOutputStream());
+        } else {
+            try (InputStream in = resource.getInputStream()) {
+                StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+            }
+        }
+    }
+
+    /** Strong ETag from size and modification time, so the file never has to be hashed */
+    static String etag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    // A stale If-Range means the client's partial copy is outdated, so it gets the whole file
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        if (request.getHeader(HttpHeaders.RANGE) == null) {
+            return false;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(Path path, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+        out.flush();
+    }
+}
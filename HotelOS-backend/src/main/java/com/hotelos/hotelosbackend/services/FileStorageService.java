@@ -1,5 +1,7 @@
 package com.hotelos.hotelosbackend.services;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -49,10 +51,11 @@ public class FileStorageService {
         return Paths.get(baseUploadDir, subDir, fileName).toString();
     }
 
-    public byte[] getFile(String filePath) throws IOException {
+    /** Returns the stored file as a resource without reading it, FileDownloadService streams it to the client */
+    public Resource getFile(String filePath) throws IOException {
         Path path = Paths.get(filePath);
-        if (Files.exists(path)) {
-            return Files.readAllBytes(path);
+        if (Files.isRegularFile(path)) {
+            return new FileSystemResource(path);
         } else {
             throw new IOException("File not found: " + filePath);
         }
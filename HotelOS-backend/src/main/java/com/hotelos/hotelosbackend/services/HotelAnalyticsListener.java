@@ -0,0 +1,96 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.Reservation;
+import com.hotelos.hotelosbackend.models.Room;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Marks the nights of every committed reservation change stale in {@link HotelAnalyticsService}.
+ * Updates mark both the old and the new stay, so moved or shortened stays drop their old nights.
+ */
+@Component
+public class HotelAnalyticsListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final HotelAnalyticsService hotelAnalyticsService;
+
+    public HotelAnalyticsListener(EntityManagerFactory entityManagerFactory,
+            HotelAnalyticsService hotelAnalyticsService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hotelAnalyticsService = hotelAnalyticsService;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Reservation.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Reservation reservation) {
+            changed(reservation.getRoom(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Reservation reservation)) {
+            return;
+        }
+        changed(reservation.getRoom(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        Object[] oldState = event.getOldState();
+        if (oldState != null) {
+            List<String> properties = Arrays.asList(event.getPersister().getPropertyNames());
+            changed((Room) oldState[properties.indexOf("room")],
+                    (LocalDate) oldState[properties.indexOf("checkInDate")],
+                    (LocalDate) oldState[properties.indexOf("checkOutDate")]);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Reservation reservation) {
+            changed(reservation.getRoom(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+    }
+
+    // Rolled back changes left the facts untouched
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void changed(Room room, LocalDate checkIn, LocalDate checkOut) {
+        if (room != null && room.getHotel() != null) {
+            hotelAnalyticsService.reservationChanged(room.getHotel().getId(), checkIn, checkOut);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.dto.HotelPerformanceDto;
+import com.hotelos.hotelosbackend.models.AnalyticsGranularity;
+import com.hotelos.hotelosbackend.repository.HotelDailyFactRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy, ADR and RevPAR per hotel and period, read from the hotel_daily_facts table.
+ * Reservation changes mark night ranges stale; a short scheduled flush re-derives them set-based in the
+ * database, and a nightly rebuild covers anything that bypassed Hibernate.
+ */
+@Service
+public class HotelAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(HotelAnalyticsService.class);
+
+    private final HotelDailyFactRepository hotelDailyFactRepository;
+    private final RoomRepository roomRepository;
+    private final int maxRangeDays;
+
+    // Night ranges [from, to) per hotel whose facts are out of date, merged until the next flush
+    private final Map<Long, NightRange> staleRanges = new ConcurrentHashMap<>();
+
+    public HotelAnalyticsService(HotelDailyFactRepository hotelDailyFactRepository, RoomRepository roomRepository,
+            @Value("${hotelos.analytics.max-range-days:1096}") int maxRangeDays) {
+        this.hotelDailyFactRepository = hotelDailyFactRepository;
+        this.roomRepository = roomRepository;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public void reservationChanged(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (hotelId == null || checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            return;
+        }
+        staleRanges.merge(hotelId, new NightRange(checkIn, checkOut), NightRange::union);
+    }
+
+    @Scheduled(fixedDelayString = "${hotelos.analytics.flush-interval-ms:5000}")
+    @Transactional
+    public void refreshStaleRanges() {
+        Map<Long, NightRange> refreshed = new HashMap<>();
+        for (Long hotelId : List.copyOf(staleRanges.keySet())) {
+            NightRange range = staleRanges.remove(hotelId);
+            if (range == null) {
+                continue;
+            }
+            refreshed.put(hotelId, range);
+            hotelDailyFactRepository.deleteRange(hotelId, range.from(), range.to());
+            hotelDailyFactRepository.upsertRange(hotelId, range.from(), range.to());
+        }
+        if (refreshed.isEmpty()) {
+            return;
+        }
+        // Put the ranges back when the refresh rolls back, so the next flush retries them
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    refreshed.forEach((hotelId, range) -> staleRanges.merge(hotelId, range, NightRange::union));
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void buildIfEmpty() {
+        if (!hotelDailyFactRepository.existsBy()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${hotelos.analytics.rebuild-cron:0 30 2 * * *}")
+    @Transactional
+    public void rebuildAll() {
+        rebuild();
+    }
+
+    /**
+     * Metrics from {@code from} to {@code to} (both inclusive), one entry per period, periods without
+     * sales included. Available room nights use the hotel's current room count.
+     */
+    @Transactional(readOnly = true)
+    public List<HotelPerformanceDto> getPerformance(Long hotelId, LocalDate from, LocalDate to,
+            AnalyticsGranularity granularity) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must be on or before 'to'");
+        }
+        LocalDate end = to.plusDays(1);
+        if (ChronoUnit.DAYS.between(from, end) > maxRangeDays) {
+            throw new IllegalArgumentException("Date range must not exceed " + maxRangeDays + " days");
+        }
+
+        Map<LocalDate, HotelDailyFactRepository.PeriodTotals> totalsByPeriod = new HashMap<>();
+        for (HotelDailyFactRepository.PeriodTotals totals : hotelDailyFactRepository.sumByPeriod(hotelId, from, end,
+                granularity.dateTruncUnit())) {
+            totalsByPeriod.put(LocalDate.parse(totals.getPeriod()), totals);
+        }
+        long rooms = roomRepository.countByHotelId(hotelId);
+
+        List<HotelPerformanceDto> performance = new ArrayList<>();
+        for (LocalDate period = granularity.periodStart(from); period.isBefore(end); period = granularity.next(period)) {
+            LocalDate periodStart = period.isBefore(from) ? from : period;
+            LocalDate periodEnd = granularity.next(period).isAfter(end) ? end : granularity.next(period);
+            HotelDailyFactRepository.PeriodTotals totals = totalsByPeriod.get(period);
+            long available = rooms * ChronoUnit.DAYS.between(periodStart, periodEnd);
+            long sold = totals == null || totals.getRoomNights() == null ? 0 : totals.getRoomNights();
+            BigDecimal revenue = totals == null || totals.getRevenue() == null ? BigDecimal.ZERO : totals.getRevenue();
+
+            performance.add(HotelPerformanceDto.builder()
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd.minusDays(1))
+                    .availableRoomNights(available)
+                    .soldRoomNights(sold)
+                    .revenue(revenue.setScale(2, RoundingMode.HALF_UP))
+                    .occupancyRate(ratio(BigDecimal.valueOf(sold), available, 4))
+                    .adr(ratio(revenue, sold, 2))
+                    .revPar(ratio(revenue, available, 2))
+                    .build());
+        }
+        return performance;
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        staleRanges.clear();
+        hotelDailyFactRepository.deleteAllRows();
+        int rows = hotelDailyFactRepository.upsertAll();
+        logger.info("Rebuilt {} hotel daily facts in {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    private static BigDecimal ratio(BigDecimal value, long divisor, int scale) {
+        if (divisor == 0) {
+            return BigDecimal.ZERO.setScale(scale);
+        }
+        return value.divide(BigDecimal.valueOf(divisor), scale, RoundingMode.HALF_UP);
+    }
+
+    private record NightRange(LocalDate from, LocalDate to) {
+        NightRange union(NightRange other) {
+            return new NightRange(from.isBefore(other.from) ? from : other.from, to.isAfter(other.to) ? to : other.to);
+        }
+    }
+}
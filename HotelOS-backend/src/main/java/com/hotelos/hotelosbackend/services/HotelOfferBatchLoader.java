@@ -0,0 +1,90 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.config.StatementCounter;
+import com.hotelos.hotelosbackend.models.Amenity;
+import com.hotelos.hotelosbackend.models.HotelCheapestRoom;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.repository.AmenityRepository;
+import com.hotelos.hotelosbackend.repository.HotelCheapestRoomRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the cheapest rooms and amenities for a whole page of hotels with one IN (...) query each,
+ * instead of two queries per hotel.
+ */
+@Service
+public class HotelOfferBatchLoader {
+
+    private final RoomRepository roomRepository;
+    private final AmenityRepository amenityRepository;
+    private final HotelCheapestRoomRepository hotelCheapestRoomRepository;
+    private final StatementCounter statementCounter;
+
+    private final DistributionSummary queriesPerBatch;
+    private final DistributionSummary hotelsPerBatch;
+
+    public HotelOfferBatchLoader(RoomRepository roomRepository, AmenityRepository amenityRepository,
+            HotelCheapestRoomRepository hotelCheapestRoomRepository, StatementCounter statementCounter,
+            MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        this.amenityRepository = amenityRepository;
+        this.hotelCheapestRoomRepository = hotelCheapestRoomRepository;
+        this.statementCounter = statementCounter;
+        this.queriesPerBatch = DistributionSummary.builder("hotelos.offers.batch.queries")
+                .description("SQL statements issued to load rooms and amenities for one page of hotel offers")
+                .register(meterRegistry);
+        this.hotelsPerBatch = DistributionSummary.builder("hotelos.offers.batch.hotels")
+                .description("Hotels loaded per page of hotel offers")
+                .register(meterRegistry);
+    }
+
+    public HotelOfferBatch load(Collection<Long> hotelIds) {
+        hotelsPerBatch.record(hotelIds.size());
+        if (hotelIds.isEmpty()) {
+            queriesPerBatch.record(0);
+            return new HotelOfferBatch(Map.of(), Map.of(), Map.of());
+        }
+
+        long statementsBefore = statementCounter.current();
+        // One projection row per hotel and room type, the overall cheapest is the lowest of them
+        Map<Long, HotelCheapestRoom> cheapestByHotel = hotelCheapestRoomRepository.findAllByHotelIdIn(hotelIds).stream()
+                .collect(Collectors.toMap(HotelCheapestRoom::getHotelId, Function.identity(),
+                        (a, b) -> a.getPrice().compareTo(b.getPrice()) <= 0 ? a : b));
+        Map<Long, Room> roomsById = cheapestByHotel.isEmpty() ? Map.of()
+                : roomRepository.findAllByRoomIdIn(cheapestByHotel.values().stream()
+                        .map(HotelCheapestRoom::getRoomId).toList()).stream()
+                        .collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+        Map<Long, List<Amenity>> amenitiesByHotel = amenityRepository.findAllByHotelIdIn(hotelIds).stream()
+                .collect(Collectors.groupingBy(amenity -> amenity.getHotel().getId()));
+        // Counted, not assumed: lazy or eager associations loaded row by row show up here
+        queriesPerBatch.record(statementCounter.current() - statementsBefore);
+
+        return new HotelOfferBatch(cheapestByHotel, roomsById, amenitiesByHotel);
+    }
+
+    public record HotelOfferBatch(Map<Long, HotelCheapestRoom> cheapestByHotel, Map<Long, Room> roomsById,
+            Map<Long, List<Amenity>> amenitiesByHotel) {
+
+        public Optional<HotelCheapestRoom> cheapest(Long hotelId) {
+            return Optional.ofNullable(cheapestByHotel.get(hotelId));
+        }
+
+        public Optional<Room> room(Long roomId) {
+            return Optional.ofNullable(roomsById.get(roomId));
+        }
+
+        public List<Amenity> amenities(Long hotelId) {
+            return amenitiesByHotel.getOrDefault(hotelId, List.of());
+        }
+    }
+}
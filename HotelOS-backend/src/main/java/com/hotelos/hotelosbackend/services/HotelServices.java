@@ -1,8 +1,10 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.HotelOfferDto;
 import com.hotelos.hotelosbackend.dto.HotelStatisticsDto;
 import com.hotelos.hotelosbackend.models.Hotel;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,21 +21,29 @@ public interface HotelServices {
 
     HotelStatisticsDto getHotelStatistics(Hotel hotel);
 
-    byte[] getFile(String filePath) throws IOException;
+    Resource getFile(String filePath) throws IOException;
 
     Page<Hotel> getAllHotels(Pageable pageable);
 
     Page<Hotel> getHotelsByName(Pageable pageable, String hotel_name);
 
-    HotelOfferDto getHotelOfferById(Long id, LocalDate checkIn, LocalDate checkOut);
+    /** Rooms are priced for the dates when both are given, with the promotions the promo code unlocks */
+    HotelOfferDto getHotelOfferById(Long id, LocalDate checkIn, LocalDate checkOut, String promoCode);
 
     Optional<Hotel> getHotelById(Long id);
 
+    boolean hotelExists(Long id);
+
     List<Hotel> getHotelsWithFilters(String hotelName, String country, String city);
 
     Page<Hotel> getHotelsWithFiltersPaginated(String hotelName, String country, String city, Pageable pageable);
 
+    /** Keyset page of the filtered hotels in id order, cursor is null for the first page */
+    CursorPageDto<Hotel> getHotelsWithFiltersAfter(String hotelName, String country, String city, String cursor,
+            int size, boolean withTotal);
+
     Page<HotelOfferDto> getHotelsOffersWithFilters(String hotel_name, String country, String city, String sortBy, Pageable pageable);
 
+    /** Removes the hotel and everything it owns in one transaction, remote images are deleted afterwards */
     void deleteHotel(Long id);
 }
@@ -0,0 +1,217 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.dto.HotelStatisticsDto;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.models.UserType;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Per-hotel user, room and reservation counters behind /api/hotels/{id}/statistics. Kept current by
+ * {@link HotelStatisticsListener}, which reports every committed change with the state before and after it,
+ * and reconciled with grouped counts from the database periodically. Only counters are held, no entity ids.
+ */
+@Service
+public class HotelStatisticsAggregate {
+    private static final Logger logger = LoggerFactory.getLogger(HotelStatisticsAggregate.class);
+
+    private static final int STAFF = 0;
+    private static final int MANAGERS = 1;
+    private static final int USERS = 2;
+    private static final int RESERVATIONS = 3;
+    private static final int ROOMS = 4;
+    private static final int AVAILABLE = 5;
+    private static final int OCCUPIED = 6;
+    private static final int COUNTERS = 7;
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+
+    private final SnapshotHolder<Snapshot> snapshots = new SnapshotHolder<>();
+
+    private final Counter mismatches;
+
+    public HotelStatisticsAggregate(UserRepository userRepository, RoomRepository roomRepository,
+            ReservationRepository reservationRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.mismatches = Counter.builder("hotelos.statistics.mismatches")
+                .description("Hotels whose statistics differed from the database during reconciliation")
+                .register(meterRegistry);
+    }
+
+    /** Statistics of one hotel, or empty before the first build so callers can count in the database. */
+    public Optional<HotelStatisticsDto> statisticsFor(long hotelId) {
+        return snapshots.read(snapshot -> {
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            long[] counters = snapshot.countersByHotel.getOrDefault(hotelId, new long[COUNTERS]);
+            return Optional.of(HotelStatisticsDto.builder()
+                    .hotelId(hotelId)
+                    .staffCount(counters[STAFF])
+                    .managerCount(counters[MANAGERS])
+                    .totalUserCount(counters[USERS])
+                    .reservationsCount(counters[RESERVATIONS])
+                    .totalRoomCount(counters[ROOMS])
+                    .currentlyAvailableCount(counters[AVAILABLE])
+                    .currentlyOccupiedCount(counters[OCCUPIED])
+                    .build());
+        });
+    }
+
+    // A null hotel means the entity was not or is no longer counted, e.g. null before an insert
+    public void userChanged(Long previousHotelId, UserType previousType, Long hotelId, UserType userType) {
+        snapshots.apply(statistics -> {
+            statistics.countUser(previousHotelId, previousType, -1);
+            statistics.countUser(hotelId, userType, 1);
+        });
+    }
+
+    public void roomChanged(Long previousHotelId, RoomStatus previousStatus, Long hotelId, RoomStatus status) {
+        snapshots.apply(statistics -> {
+            statistics.countRoom(previousHotelId, previousStatus, -1);
+            statistics.countRoom(hotelId, status, 1);
+        });
+    }
+
+    public void reservationChanged(Long previousHotelId, Long hotelId) {
+        snapshots.apply(statistics -> {
+            statistics.add(previousHotelId, RESERVATIONS, -1);
+            statistics.add(hotelId, RESERVATIONS, 1);
+        });
+    }
+
+    /** Forgets the hotel's users, rooms and reservations, call after the hotel delete committed */
+    public void hotelDeleted(long hotelId) {
+        snapshots.apply(statistics -> statistics.countersByHotel.remove(hotelId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Snapshot rebuilt = snapshots.reload(this::load, (current, loaded) -> loaded.installed());
+        logger.info("Built statistics for {} hotels in {} ms", rebuilt.countersByHotel.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replaces the counters with the database state, catching anything written around Hibernate. Hotels that
+     * changed while the counts ran keep their counters, the counts may or may not include those changes.
+     */
+    @Scheduled(initialDelayString = "${hotelos.statistics.reconcile-interval-ms:600000}",
+            fixedDelayString = "${hotelos.statistics.reconcile-interval-ms:600000}")
+    public synchronized void reconcile() {
+        int[] differences = new int[1];
+        snapshots.reload(this::load, (current, expected) -> {
+            if (current != null) {
+                differences[0] = expected.adoptChangedHotels(current);
+            }
+            return expected.installed();
+        });
+        if (differences[0] > 0) {
+            mismatches.increment(differences[0]);
+            logger.warn("Statistics were out of sync for {} hotels, replaced them with the database state",
+                    differences[0]);
+        }
+    }
+
+    // One grouped count per table, the holder replays the changes committed meanwhile
+    private Snapshot load() {
+        Snapshot loaded = new Snapshot();
+        for (UserRepository.UserTypeCount users : userRepository.countUsersByHotelAndUserType()) {
+            loaded.countUser(users.getHotelId(), users.getUserType(), users.getCount());
+        }
+        for (RoomRepository.RoomStatusCount rooms : roomRepository.countRoomsByHotelAndStatus()) {
+            loaded.countRoom(rooms.getHotelId(), rooms.getStatus(), rooms.getCount());
+        }
+        for (ReservationRepository.HotelCount reservations : reservationRepository.countReservationsByHotel()) {
+            loaded.add(reservations.getHotelId(), RESERVATIONS, reservations.getCount());
+        }
+        loaded.changedHotels = new HashSet<>();
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, long[]> countersByHotel = new HashMap<>();
+        // Hotels whose changes were replayed onto a loaded snapshot, null once it is installed
+        private Set<Long> changedHotels;
+
+        void countUser(Long hotelId, UserType userType, long delta) {
+            add(hotelId, USERS, delta);
+            if (userType == UserType.STAFF) {
+                add(hotelId, STAFF, delta);
+            } else if (userType == UserType.MANAGER) {
+                add(hotelId, MANAGERS, delta);
+            }
+        }
+
+        void countRoom(Long hotelId, RoomStatus status, long delta) {
+            add(hotelId, ROOMS, delta);
+            if (status == RoomStatus.AVAILABLE) {
+                add(hotelId, AVAILABLE, delta);
+            } else if (status == RoomStatus.OCCUPIED) {
+                add(hotelId, OCCUPIED, delta);
+            }
+        }
+
+        void add(Long hotelId, int counter, long delta) {
+            if (hotelId == null || delta == 0) {
+                return;
+            }
+            // A late removal for a hotel without counters, e.g. one deleted meanwhile, has nothing to undo
+            if (delta < 0 && !countersByHotel.containsKey(hotelId)) {
+                return;
+            }
+            if (changedHotels != null) {
+                changedHotels.add(hotelId);
+            }
+            long[] counters = countersByHotel.computeIfAbsent(hotelId, id -> new long[COUNTERS]);
+            counters[counter] += delta;
+            if (Arrays.stream(counters).allMatch(count -> count == 0)) {
+                countersByHotel.remove(hotelId);
+            }
+        }
+
+        Snapshot installed() {
+            changedHotels = null;
+            return this;
+        }
+
+        // Keeps the current counters of the hotels changed while loading, counts the other hotels that differ
+        int adoptChangedHotels(Snapshot current) {
+            for (Long hotelId : changedHotels) {
+                long[] counters = current.countersByHotel.get(hotelId);
+                if (counters == null) {
+                    countersByHotel.remove(hotelId);
+                } else {
+                    countersByHotel.put(hotelId, counters.clone());
+                }
+            }
+            Set<Long> hotelIds = new HashSet<>(countersByHotel.keySet());
+            hotelIds.addAll(current.countersByHotel.keySet());
+            hotelIds.removeAll(changedHotels);
+            int differences = 0;
+            for (Long hotelId : hotelIds) {
+                if (!Arrays.equals(countersByHotel.getOrDefault(hotelId, new long[COUNTERS]),
+                        current.countersByHotel.getOrDefault(hotelId, new long[COUNTERS]))) {
+                    differences++;
+                }
+            }
+            return differences;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Reservation;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.models.User;
+import com.hotelos.hotelosbackend.models.UserType;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Feeds {@link HotelStatisticsAggregate} from Hibernate's post-commit events, so every committed user,
+ * room and reservation change is counted no matter which service or repository made it. Updates move the
+ * counters from the state Hibernate loaded before the change to the new one.
+ */
+@Component
+public class HotelStatisticsListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final HotelStatisticsAggregate hotelStatisticsAggregate;
+
+    public HotelStatisticsListener(EntityManagerFactory entityManagerFactory,
+            HotelStatisticsAggregate hotelStatisticsAggregate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.hotelStatisticsAggregate = hotelStatisticsAggregate;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == User.class || entityClass == Room.class || entityClass == Reservation.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User user) {
+            hotelStatisticsAggregate.userChanged(null, null, hotelId(user.getHotel()), user.getUserType());
+        } else if (entity instanceof Room room) {
+            hotelStatisticsAggregate.roomChanged(null, null, hotelId(room.getHotel()), room.getStatus());
+        } else if (entity instanceof Reservation reservation) {
+            hotelStatisticsAggregate.reservationChanged(null, hotelId(reservation.getRoom()));
+        }
+    }
+
+    // Without the state before the update there is nothing to move, the next reconcile catches it
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return;
+        }
+        Object entity = event.getEntity();
+        String[] properties = event.getPersister().getPropertyNames();
+        if (entity instanceof User user) {
+            hotelStatisticsAggregate.userChanged(hotelId((Hotel) previous(properties, oldState, "hotel")),
+                    (UserType) previous(properties, oldState, "userType"),
+                    hotelId(user.getHotel()), user.getUserType());
+        } else if (entity instanceof Room room) {
+            hotelStatisticsAggregate.roomChanged(hotelId((Hotel) previous(properties, oldState, "hotel")),
+                    (RoomStatus) previous(properties, oldState, "status"),
+                    hotelId(room.getHotel()), room.getStatus());
+        } else if (entity instanceof Reservation reservation) {
+            Room previousRoom = (Room) previous(properties, oldState, "room");
+            if (!Objects.equals(roomId(previousRoom), roomId(reservation.getRoom()))) {
+                hotelStatisticsAggregate.reservationChanged(hotelId(previousRoom), hotelId(reservation.getRoom()));
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof User user) {
+            hotelStatisticsAggregate.userChanged(hotelId(user.getHotel()), user.getUserType(), null, null);
+        } else if (entity instanceof Room room) {
+            hotelStatisticsAggregate.roomChanged(hotelId(room.getHotel()), room.getStatus(), null, null);
+        } else if (entity instanceof Reservation reservation) {
+            hotelStatisticsAggregate.reservationChanged(hotelId(reservation.getRoom()), null);
+        }
+    }
+
+    // Rolled back changes never reached the aggregate, nothing to undo
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private static Object previous(String[] properties, Object[] oldState, String property) {
+        return oldState[Arrays.asList(properties).indexOf(property)];
+    }
+
+    private static Long hotelId(Hotel hotel) {
+        return hotel == null ? null : hotel.getId();
+    }
+
+    private static Long hotelId(Room room) {
+        return room == null ? null : hotelId(room.getHotel());
+    }
+
+    private static Long roomId(Room room) {
+        return room == null ? null : room.getRoomId();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotelos.hotelosbackend.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remote image storage. {@link CloudinaryImageStore} is the production implementation,
+ * tests can plug in a local stub.
+ */
+public interface ImageStore {
+
+    /**
+     * Streams the content to the store under the given public ID and returns its secure URL.
+     * The size is sent as the Content-Length of the upload, -1 when unknown.
+     */
+    String upload(InputStream content, long size, String publicId) throws IOException;
+
+    /** Deletes an image by public ID, returns whether the store reported it as deleted. */
+    boolean delete(String publicId) throws IOException;
+
+    /** Lists stored images whose public ID starts with the prefix. */
+    List<Map<String, Object>> list(String prefix) throws Exception;
+}
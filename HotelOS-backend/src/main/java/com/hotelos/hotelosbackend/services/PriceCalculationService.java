@@ -1,18 +1,36 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.PriceQuoteDto;
 import com.hotelos.hotelosbackend.models.Room;
 
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 
 public interface PriceCalculationService {
+    /** Longest stay a quote covers */
+    int MAX_QUOTE_NIGHTS = 366;
+
     BigDecimal calculateRoomPrice(Room room, LocalDate checkInDate, LocalDate checkOutDate);
 
+    /** Same as above, also counting promotions unlocked by the promo code when one is given */
+    BigDecimal calculateRoomPrice(Room room, LocalDate checkInDate, LocalDate checkOutDate, String promoCode);
+
+    /**
+     * Prices every room for the same stay with a per-night breakdown, loading each hotel's seasons, occupancy
+     * and promotions once. Invalid or over-long stays throw IllegalArgumentException.
+     */
+    List<PriceQuoteDto> quote(List<Room> rooms, LocalDate checkIn, LocalDate checkOut);
+
+    List<PriceQuoteDto> quote(List<Room> rooms, LocalDate checkIn, LocalDate checkOut, String promoCode);
+
     BigDecimal applySeasonalFactors(BigDecimal price, Long hotelId, LocalDate checkIn, LocalDate checkOut);
 
     BigDecimal applyOccupancyPricing(BigDecimal price, Long hotelId, LocalDate checkIn, LocalDate checkOut);
 
     BigDecimal applyPromotions(BigDecimal price, Room room, LocalDate checkIn, LocalDate checkOut);
+
+    BigDecimal applyPromotions(BigDecimal price, Room room, LocalDate checkIn, LocalDate checkOut, String promoCode);
 }
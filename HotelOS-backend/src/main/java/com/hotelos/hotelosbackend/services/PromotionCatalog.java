@@ -0,0 +1,218 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.Promotion;
+import com.hotelos.hotelosbackend.repository.PromotionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Active promotions compiled per hotel into windows of check-in dates over which the same rules are valid. Each
+ * window keeps candidate lists keyed by room type and by promo code, ordered by discount so the first rule a
+ * stay meets is the best one. Built for all hotels at startup and recompiled for a hotel whenever its
+ * promotions change; hotels without active promotions have no entry.
+ */
+@Service
+public class PromotionCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(PromotionCatalog.class);
+
+    private final PromotionRepository promotionRepository;
+
+    private final Map<Long, Book> books = new ConcurrentHashMap<>();
+    // Until the first build a missing entry may just mean "not loaded yet"
+    private volatile boolean built;
+
+    public PromotionCatalog(PromotionRepository promotionRepository) {
+        this.promotionRepository = promotionRepository;
+    }
+
+    /**
+     * Largest discount percent a stay in a room of this type gets, counting promo code promotions only when
+     * their code is given. Null when no promotion applies.
+     */
+    public BigDecimal bestDiscount(Long hotelId, Long roomTypeId, LocalDate checkIn, LocalDate checkOut,
+            String promoCode) {
+        Book book = forHotel(hotelId);
+        return book == null ? null : book.bestDiscount(roomTypeId, checkIn, checkOut, promoCode);
+    }
+
+    /** The hotel's compiled promotions, null when it has none; lets a batch look the hotel up once. */
+    public Book forHotel(Long hotelId) {
+        if (hotelId == null) {
+            return null;
+        }
+        Book book = books.get(hotelId);
+        if (book == null && !built) {
+            refreshHotel(hotelId);
+            book = books.get(hotelId);
+        }
+        return book;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildAll() {
+        long start = System.currentTimeMillis();
+        Map<Long, List<Promotion>> promotionsByHotel = promotionRepository.findAllByActiveTrue().stream()
+                .collect(Collectors.groupingBy(Promotion::getHotelId));
+        books.keySet().retainAll(promotionsByHotel.keySet());
+        promotionsByHotel.forEach((hotelId, promotions) -> books.put(hotelId, compile(promotions)));
+        built = true;
+        logger.info("Compiled promotions of {} hotels in {} ms", books.size(), System.currentTimeMillis() - start);
+    }
+
+    /** Recompiles one hotel from the database, call after its promotions were saved or deleted. */
+    public synchronized void refreshHotel(Long hotelId) {
+        List<Promotion> promotions = promotionRepository.findAllByHotelIdAndActiveTrue(hotelId);
+        if (promotions.isEmpty()) {
+            books.remove(hotelId);
+        } else {
+            books.put(hotelId, compile(promotions));
+        }
+    }
+
+    public void hotelDeleted(Long hotelId) {
+        books.remove(hotelId);
+    }
+
+    static Book compile(List<Promotion> promotions) {
+        List<Rule> rules = promotions.stream().filter(Promotion::isActive).map(Rule::of).toList();
+
+        // Each validity bound starts a window of check-in dates over which the same rules are valid; a lookup
+        // finds its window once and never re-checks rules whose dates cannot apply to the stay
+        long[] windowStarts = rules.stream()
+                .flatMap(rule -> Stream.of(rule.validFrom(),
+                        rule.validTo() == null ? null : rule.validTo().plusDays(1)))
+                .filter(Objects::nonNull)
+                .mapToLong(LocalDate::toEpochDay)
+                .distinct()
+                .sorted()
+                .toArray();
+        Window[] windows = new Window[windowStarts.length + 1];
+        for (int i = 0; i < windows.length; i++) {
+            long firstDay = i == 0 ? Long.MIN_VALUE : windowStarts[i - 1];
+            windows[i] = Window.of(rules.stream().filter(rule -> rule.validOn(firstDay)).toList());
+        }
+        return new Book(windowStarts, windows);
+    }
+
+    static String normalizeCode(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static final class Book {
+        private final long[] windowStarts;
+        private final Window[] windows;
+
+        private Book(long[] windowStarts, Window[] windows) {
+            this.windowStarts = windowStarts;
+            this.windows = windows;
+        }
+
+        /** Largest discount percent for a stay in a room of this type, null when no promotion applies */
+        public BigDecimal bestDiscount(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, String promoCode) {
+            if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+                return null;
+            }
+            return bestDiscount(roomTypeId, checkIn, checkOut, promoCode, LocalDate.now());
+        }
+
+        BigDecimal bestDiscount(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, String promoCode,
+                LocalDate today) {
+            long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+            long daysBeforeArrival = ChronoUnit.DAYS.between(today, checkIn);
+            Window window = window(checkIn);
+            Rule[] candidates = roomTypeId == null
+                    ? window.anyRoomType() : window.byRoomType().getOrDefault(roomTypeId, window.anyRoomType());
+            BigDecimal best = first(candidates, roomTypeId, nights, daysBeforeArrival);
+
+            String code = normalizeCode(promoCode);
+            Rule[] codeCandidates = code == null ? null : window.byCode().get(code);
+            if (codeCandidates != null) {
+                BigDecimal withCode = first(codeCandidates, roomTypeId, nights, daysBeforeArrival);
+                if (best == null || (withCode != null && withCode.compareTo(best) > 0)) {
+                    best = withCode;
+                }
+            }
+            return best;
+        }
+
+        private Window window(LocalDate checkIn) {
+            int index = Arrays.binarySearch(windowStarts, checkIn.toEpochDay());
+            return windows[index >= 0 ? index + 1 : -index - 1];
+        }
+
+        private static BigDecimal first(Rule[] candidates, Long roomTypeId, long nights, long daysBeforeArrival) {
+            for (Rule rule : candidates) {
+                if (rule.matches(roomTypeId, nights, daysBeforeArrival)) {
+                    return rule.discountPercent();
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Window(Rule[] anyRoomType, Map<Long, Rule[]> byRoomType, Map<String, Rule[]> byCode) {
+        private static final Comparator<Rule> BEST_FIRST = Comparator.comparing(Rule::discountPercent).reversed()
+                .thenComparing(Rule::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        static Window of(List<Rule> valid) {
+            List<Rule> rules = valid.stream().sorted(BEST_FIRST).toList();
+
+            // Hotel-wide rules are merged into every room type's list, so a lookup reads a single list
+            List<Rule> anyRoomType = rules.stream()
+                    .filter(rule -> rule.code() == null && rule.roomTypeId() == null)
+                    .toList();
+            Map<Long, Rule[]> byRoomType = new HashMap<>();
+            rules.stream()
+                    .filter(rule -> rule.code() == null && rule.roomTypeId() != null)
+                    .collect(Collectors.groupingBy(Rule::roomTypeId))
+                    .forEach((roomTypeId, specific) -> byRoomType.put(roomTypeId, merge(specific, anyRoomType)));
+            Map<String, Rule[]> byCode = new HashMap<>();
+            rules.stream()
+                    .filter(rule -> rule.code() != null)
+                    .collect(Collectors.groupingBy(Rule::code))
+                    .forEach((code, withCode) -> byCode.put(code, withCode.toArray(Rule[]::new)));
+            return new Window(anyRoomType.toArray(Rule[]::new), byRoomType, byCode);
+        }
+
+        private static Rule[] merge(List<Rule> first, List<Rule> second) {
+            return Stream.concat(first.stream(), second.stream()).sorted(BEST_FIRST).toArray(Rule[]::new);
+        }
+    }
+
+    record Rule(Long id, Long roomTypeId, String code, BigDecimal discountPercent,
+            Integer minNights, Integer minDaysBeforeArrival, Integer maxDaysBeforeArrival, LocalDate validFrom,
+            LocalDate validTo) {
+
+        static Rule of(Promotion promotion) {
+            return new Rule(promotion.getId(), promotion.getRoomTypeId(),
+                    normalizeCode(promotion.getCode()), promotion.getDiscountPercent(), promotion.getMinNights(),
+                    promotion.getMinDaysBeforeArrival(), promotion.getMaxDaysBeforeArrival(),
+                    promotion.getValidFrom(), promotion.getValidTo());
+        }
+
+        boolean validOn(long epochDay) {
+            return (validFrom == null || validFrom.toEpochDay() <= epochDay)
+                    && (validTo == null || validTo.toEpochDay() >= epochDay);
+        }
+
+        // Validity dates are settled by the window the rule was compiled into
+        boolean matches(Long stayRoomTypeId, long nights, long daysBeforeArrival) {
+            return (roomTypeId == null || roomTypeId.equals(stayRoomTypeId))
+                    && (minNights == null || nights >= minNights)
+                    && (minDaysBeforeArrival == null || daysBeforeArrival >= minDaysBeforeArrival)
+                    && (maxDaysBeforeArrival == null
+                        || (daysBeforeArrival >= 0 && daysBeforeArrival <= maxDaysBeforeArrival));
+        }
+    }
+}
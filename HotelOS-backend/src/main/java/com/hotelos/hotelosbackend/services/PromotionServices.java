@@ -0,0 +1,18 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.Promotion;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PromotionServices {
+    List<Promotion> getPromotions(Long hotelId);
+
+    /** Saves a new promotion and recompiles the hotel's promotions, invalid rules throw IllegalArgumentException */
+    Promotion createPromotion(Long hotelId, Promotion promotion);
+
+    /** Empty when the promotion does not exist in this hotel */
+    Optional<Promotion> updatePromotion(Long hotelId, Long id, Promotion promotion);
+
+    boolean deletePromotion(Long hotelId, Long id);
+}
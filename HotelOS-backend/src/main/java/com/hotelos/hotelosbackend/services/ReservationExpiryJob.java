@@ -0,0 +1,51 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks PENDING reservations whose check-out date has passed as EXPIRED with one bulk UPDATE,
+ * on a fixed cadence instead of on every read.
+ */
+@Service
+public class ReservationExpiryJob {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryJob.class);
+
+    private final ReservationRepository reservationRepository;
+
+    private final Counter expiredReservations;
+    private final Timer expiryDuration;
+
+    public ReservationExpiryJob(ReservationRepository reservationRepository, MeterRegistry meterRegistry) {
+        this.reservationRepository = reservationRepository;
+        this.expiredReservations = Counter.builder("hotelos.reservations.expired")
+                .description("Pending reservations marked as expired")
+                .register(meterRegistry);
+        this.expiryDuration = Timer.builder("hotelos.reservations.expiry")
+                .description("Duration of one pending reservation expiry run")
+                .register(meterRegistry);
+    }
+
+    // Expired stays end before today, so they are already outside the availability index horizon
+    @Scheduled(initialDelayString = "${hotelos.reservations.expiry-initial-delay-ms:0}",
+            fixedDelayString = "${hotelos.reservations.expiry-interval-ms:300000}")
+    @Transactional
+    public void expirePastPendingReservations() {
+        int expired = expiryDuration.record(() -> reservationRepository.expirePendingReservationsBefore(
+                LocalDate.now(), LocalDateTime.now()));
+        if (expired > 0) {
+            expiredReservations.increment(expired);
+            logger.info("Expired {} pending reservations", expired);
+        }
+    }
+}
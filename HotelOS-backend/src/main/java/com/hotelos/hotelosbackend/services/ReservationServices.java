@@ -1,12 +1,15 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.ReservationDto;
+import com.hotelos.hotelosbackend.dto.ReservationExportRow;
 import com.hotelos.hotelosbackend.models.Reservation;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReservationServices {
     Reservation saveReservation(Reservation person);
@@ -21,7 +24,11 @@ public interface ReservationServices {
 
     void deleteReservation(Long id);
 
-    List<Reservation> getAllReservationsByHotelId(Long hotelId);
+    /** Keyset page of a hotel's reservations in id order, cursor is null for the first page */
+    CursorPageDto<Reservation> getReservationsByHotelId(Long hotelId, String cursor, int size, boolean withTotal);
+
+    /** Streams every reservation of a hotel to the sink inside one read-only transaction */
+    void exportReservationsByHotelId(Long hotelId, Consumer<ReservationExportRow> sink);
 
     Page<Reservation> getReservationsWithFilters(Long hotelId, String reservationName, Pageable pageable);
 }
@@ -0,0 +1,392 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.Reservation;
+import com.hotelos.hotelosbackend.models.ReservationStatus;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory occupancy index: one day bitset per room over a rolling horizon (18 months by default),
+ * kept in sync with room and reservation changes. Answers date-range availability without a
+ * NOT EXISTS query; callers fall back to the database when it returns {@link Optional#empty()}.
+ */
+@Service
+public class RoomAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+    private final int horizonMonths;
+
+    private final SnapshotHolder<Snapshot> snapshots = new SnapshotHolder<>();
+
+    private final Counter fallbacks;
+    private final Counter mismatches;
+
+    public RoomAvailabilityIndex(RoomRepository roomRepository, ReservationRepository reservationRepository,
+            MeterRegistry meterRegistry, @Value("${hotelos.availability.horizon-months:18}") int horizonMonths) {
+        this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.horizonMonths = horizonMonths;
+        this.fallbacks = Counter.builder("hotelos.availability.index.fallbacks")
+                .description("Availability lookups the index could not answer and left to the database")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("hotelos.availability.index.mismatches")
+                .description("Rooms whose indexed occupancy differed from the database during a consistency check")
+                .register(meterRegistry);
+        Gauge.builder("hotelos.availability.index.rooms", this, index -> index.indexedRoomCount())
+                .description("Rooms held in the availability index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids of the AVAILABLE rooms of a hotel without an active reservation from checkIn (inclusive)
+     * to checkOut (exclusive), or empty when the index is not built or the range is outside its horizon.
+     */
+    public Optional<Set<Long>> findFreeRoomIds(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        return snapshots.read(snapshot -> {
+            if (snapshot == null || !snapshot.covers(checkIn, checkOut)) {
+                fallbacks.increment();
+                return Optional.empty();
+            }
+            return Optional.of(snapshot.freeRooms(hotelId, checkIn, checkOut));
+        });
+    }
+
+    /** Whether a single room is free for the range, or empty when the index cannot answer. */
+    public Optional<Boolean> isRoomFree(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return snapshots.read(snapshot -> {
+            if (snapshot == null || !snapshot.covers(checkIn, checkOut)) {
+                fallbacks.increment();
+                return Optional.empty();
+            }
+            return Optional.of(snapshot.isFree(roomId, checkIn, checkOut));
+        });
+    }
+
+    /**
+     * Share of the hotel's rooms booked on each night from checkIn (inclusive) to checkOut (exclusive), read
+     * from per-hotel counters kept with the bitsets; empty when the index cannot answer.
+     */
+    public Optional<double[]> occupancy(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        return snapshots.read(snapshot -> {
+            if (snapshot == null || hotelId == null || !snapshot.covers(checkIn, checkOut)) {
+                return Optional.empty();
+            }
+            return Optional.of(snapshot.occupancy(hotelId, checkIn, checkOut));
+        });
+    }
+
+    public void roomSaved(Room room) {
+        if (room.getHotel() == null) {
+            return;
+        }
+        long roomId = room.getRoomId();
+        long hotelId = room.getHotel().getId();
+        RoomStatus status = room.getStatus();
+        afterCommit(index -> index.putRoom(roomId, hotelId, status));
+    }
+
+    public void roomDeleted(Long roomId) {
+        afterCommit(index -> index.removeRoom(roomId));
+    }
+
+    /** Drops every room of the hotel and their reservations, for deletes that bypass the entity listeners */
+    public void hotelDeleted(Long hotelId) {
+        afterCommit(index -> index.removeHotel(hotelId));
+    }
+
+    public void reservationSaved(Reservation reservation) {
+        long reservationId = reservation.getReservationId();
+        if (reservation.getRoom() == null || !blocksRoom(reservation.getStatus())) {
+            afterCommit(index -> index.removeStay(reservationId));
+            return;
+        }
+        long roomId = reservation.getRoom().getRoomId();
+        LocalDate checkIn = reservation.getCheckInDate();
+        LocalDate checkOut = reservation.getCheckOutDate();
+        afterCommit(index -> index.putStay(reservationId, roomId, checkIn, checkOut));
+    }
+
+    public void reservationDeleted(Long reservationId) {
+        afterCommit(index -> index.removeStay(reservationId));
+    }
+
+    public static boolean blocksRoom(ReservationStatus status) {
+        return status != ReservationStatus.CANCELLED && status != ReservationStatus.EXPIRED;
+    }
+
+    /** Rebuilds from the database on startup and every night, which also rolls the horizon forward. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hotelos.availability.rebuild-cron:0 5 0 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Snapshot rebuilt = snapshots.reload(this::load, (current, loaded) -> loaded);
+        logger.info("Rebuilt availability index for {} rooms from {} in {} ms", rebuilt.hotelByRoom.size(),
+                rebuilt.horizonStart, System.currentTimeMillis() - start);
+    }
+
+    /** Compares the index with the database and replaces it with the database state when they differ. */
+    @Scheduled(initialDelayString = "${hotelos.availability.check-interval-ms:900000}",
+            fixedDelayString = "${hotelos.availability.check-interval-ms:900000}")
+    public synchronized void verifyConsistency() {
+        int[] differences = new int[1];
+        snapshots.reload(this::load, (current, expected) -> {
+            if (current == null || !current.horizonStart.equals(expected.horizonStart)) {
+                // Not built yet or the day rolled over, nothing to compare against
+                return expected;
+            }
+            differences[0] = current.countDifferences(expected);
+            return differences[0] > 0 ? expected : current;
+        });
+        if (differences[0] > 0) {
+            mismatches.increment(differences[0]);
+            logger.warn("Availability index was out of sync for {} rooms, replaced it with the database state",
+                    differences[0]);
+        }
+    }
+
+    private double indexedRoomCount() {
+        return snapshots.read(snapshot -> snapshot == null ? 0 : snapshot.hotelByRoom.size());
+    }
+
+    // Reads the database into a new snapshot, the holder replays the changes committed meanwhile
+    private Snapshot load() {
+        LocalDate today = LocalDate.now();
+        Snapshot loaded = new Snapshot(today, (int) ChronoUnit.DAYS.between(today, today.plusMonths(horizonMonths)));
+        for (RoomRepository.RoomSlot room : roomRepository.findAllRoomSlots()) {
+            loaded.putRoom(room.getRoomId(), room.getHotelId(), room.getStatus());
+        }
+        for (ReservationRepository.ReservationStay stay : reservationRepository.findActiveStaysBetween(
+                loaded.horizonStart, loaded.horizonStart.plusDays(loaded.days))) {
+            loaded.putStay(stay.getReservationId(), stay.getRoomId(), stay.getCheckInDate(),
+                    stay.getCheckOutDate());
+        }
+        return loaded;
+    }
+
+    private void afterCommit(Consumer<Snapshot> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshots.apply(change);
+                }
+            });
+        } else {
+            snapshots.apply(change);
+        }
+    }
+
+    private record Stay(long roomId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private static final class Snapshot {
+        private final LocalDate horizonStart;
+        private final int days;
+
+        private final Map<Long, Long> hotelByRoom = new HashMap<>();
+        private final Map<Long, Set<Long>> roomsByHotel = new HashMap<>();
+        private final Set<Long> unavailableRooms = new HashSet<>();
+        private final Map<Long, Stay> staysByReservation = new HashMap<>();
+        private final Map<Long, Set<Long>> reservationsByRoom = new HashMap<>();
+        private final Map<Long, BitSet> bookedDaysByRoom = new HashMap<>();
+        // Booked rooms per night and hotel, moved with every bit set or cleared in bookedDaysByRoom
+        private final Map<Long, int[]> bookedRoomsByHotel = new HashMap<>();
+
+        private Snapshot(LocalDate horizonStart, int days) {
+            this.horizonStart = horizonStart;
+            this.days = days;
+        }
+
+        private boolean covers(LocalDate checkIn, LocalDate checkOut) {
+            return checkIn != null && checkOut != null && checkIn.isBefore(checkOut)
+                    && !checkIn.isBefore(horizonStart) && dayOf(checkOut) <= days;
+        }
+
+        private Set<Long> freeRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+            Set<Long> free = new HashSet<>();
+            for (Long roomId : roomsByHotel.getOrDefault(hotelId, Set.of())) {
+                if (!unavailableRooms.contains(roomId) && isFree(roomId, checkIn, checkOut)) {
+                    free.add(roomId);
+                }
+            }
+            return free;
+        }
+
+        private double[] occupancy(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+            double[] occupancy = new double[(int) ChronoUnit.DAYS.between(checkIn, checkOut)];
+            int rooms = roomsByHotel.getOrDefault(hotelId, Set.of()).size();
+            int[] booked = bookedRoomsByHotel.get(hotelId);
+            if (rooms == 0 || booked == null) {
+                return occupancy;
+            }
+            int first = dayOf(checkIn);
+            for (int night = 0; night < occupancy.length; night++) {
+                occupancy[night] = (double) booked[first + night] / rooms;
+            }
+            return occupancy;
+        }
+
+        private boolean isFree(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+            BitSet booked = bookedDaysByRoom.get(roomId);
+            if (booked == null) {
+                return true;
+            }
+            int nextBooked = booked.nextSetBit(dayOf(checkIn));
+            return nextBooked < 0 || nextBooked >= dayOf(checkOut);
+        }
+
+        private void putRoom(long roomId, long hotelId, RoomStatus status) {
+            Long previousHotel = hotelByRoom.put(roomId, hotelId);
+            if (previousHotel != null && previousHotel != hotelId) {
+                roomsByHotel.getOrDefault(previousHotel, new HashSet<>()).remove(roomId);
+            }
+            BitSet booked = bookedDaysByRoom.get(roomId);
+            if (booked != null && (previousHotel == null || previousHotel != hotelId)) {
+                count(previousHotel, booked, -1);
+                count(hotelId, booked, 1);
+            }
+            roomsByHotel.computeIfAbsent(hotelId, id -> new HashSet<>()).add(roomId);
+            if (status == RoomStatus.AVAILABLE) {
+                unavailableRooms.remove(roomId);
+            } else {
+                unavailableRooms.add(roomId);
+            }
+        }
+
+        private void removeRoom(long roomId) {
+            Long hotelId = hotelByRoom.remove(roomId);
+            if (hotelId != null) {
+                roomsByHotel.getOrDefault(hotelId, new HashSet<>()).remove(roomId);
+            }
+            unavailableRooms.remove(roomId);
+            BitSet booked = bookedDaysByRoom.remove(roomId);
+            if (booked != null) {
+                count(hotelId, booked, -1);
+            }
+            Set<Long> reservations = reservationsByRoom.remove(roomId);
+            if (reservations != null) {
+                reservations.forEach(staysByReservation::remove);
+            }
+        }
+
+        private void removeHotel(long hotelId) {
+            Set<Long> rooms = roomsByHotel.remove(hotelId);
+            if (rooms != null) {
+                rooms.forEach(this::removeRoom);
+            }
+            bookedRoomsByHotel.remove(hotelId);
+        }
+
+        private void putStay(long reservationId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+            removeStay(reservationId);
+            if (checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+                return;
+            }
+            Stay stay = new Stay(roomId, checkIn, checkOut);
+            staysByReservation.put(reservationId, stay);
+            reservationsByRoom.computeIfAbsent(roomId, id -> new HashSet<>()).add(reservationId);
+            mark(roomId, bookedDaysByRoom.computeIfAbsent(roomId, id -> new BitSet(days)), stay);
+        }
+
+        private void removeStay(long reservationId) {
+            Stay removed = staysByReservation.remove(reservationId);
+            if (removed == null) {
+                return;
+            }
+            Set<Long> reservations = reservationsByRoom.getOrDefault(removed.roomId(), new HashSet<>());
+            reservations.remove(reservationId);
+
+            // Clear the nights, then restore those still covered by another reservation of the room
+            BitSet booked = bookedDaysByRoom.get(removed.roomId());
+            if (booked == null) {
+                return;
+            }
+            int from = Math.max(0, dayOf(removed.checkIn()));
+            int to = Math.min(days, dayOf(removed.checkOut()));
+            int[] bookedRooms = bookedRooms(hotelByRoom.get(removed.roomId()));
+            for (int day = booked.nextSetBit(from); day >= 0 && day < to; day = booked.nextSetBit(day + 1)) {
+                if (bookedRooms != null) {
+                    bookedRooms[day]--;
+                }
+            }
+            if (from < to) {
+                booked.clear(from, to);
+            }
+            for (Long otherId : reservations) {
+                mark(removed.roomId(), booked, staysByReservation.get(otherId));
+            }
+        }
+
+        // Only nights that were free count as newly booked, overlapping stays of one room count once
+        private void mark(long roomId, BitSet booked, Stay stay) {
+            int from = Math.max(0, dayOf(stay.checkIn()));
+            int to = Math.min(days, dayOf(stay.checkOut()));
+            int[] bookedRooms = bookedRooms(hotelByRoom.get(roomId));
+            for (int day = booked.nextClearBit(from); day < to; day = booked.nextClearBit(day + 1)) {
+                booked.set(day);
+                if (bookedRooms != null) {
+                    bookedRooms[day]++;
+                }
+            }
+        }
+
+        private void count(Long hotelId, BitSet booked, int delta) {
+            int[] bookedRooms = bookedRooms(hotelId);
+            if (bookedRooms == null) {
+                return;
+            }
+            for (int day = booked.nextSetBit(0); day >= 0 && day < days; day = booked.nextSetBit(day + 1)) {
+                bookedRooms[day] += delta;
+            }
+        }
+
+        private int[] bookedRooms(Long hotelId) {
+            return hotelId == null ? null : bookedRoomsByHotel.computeIfAbsent(hotelId, id -> new int[days]);
+        }
+
+        private int dayOf(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(horizonStart, date);
+        }
+
+        // Rooms whose hotel, status or booked nights differ, both snapshots must share the horizon
+        private int countDifferences(Snapshot expected) {
+            Set<Long> roomIds = new HashSet<>(hotelByRoom.keySet());
+            roomIds.addAll(expected.hotelByRoom.keySet());
+
+            int differences = 0;
+            for (Long roomId : roomIds) {
+                if (!Objects.equals(hotelByRoom.get(roomId), expected.hotelByRoom.get(roomId))
+                        || unavailableRooms.contains(roomId) != expected.unavailableRooms.contains(roomId)
+                        || !bookedDays(roomId).equals(expected.bookedDays(roomId))) {
+                    differences++;
+                }
+            }
+            return differences;
+        }
+
+        private BitSet bookedDays(Long roomId) {
+            return bookedDaysByRoom.getOrDefault(roomId, new BitSet());
+        }
+    }
+}
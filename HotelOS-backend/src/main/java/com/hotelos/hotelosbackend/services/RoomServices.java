@@ -1,6 +1,8 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.dto.RoomDto;
+import com.hotelos.hotelosbackend.models.Hotel;
 import com.hotelos.hotelosbackend.models.Room;
 import com.hotelos.hotelosbackend.models.RoomType;
 import org.springframework.data.domain.Page;
@@ -11,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +22,10 @@ import java.util.Optional;
 public interface RoomServices {
     Room saveRoom(Room person);
 
+    /** Inserts all rooms of one hotel in a single transaction, room numbers must be new and unique */
+    @Transactional
+    List<Room> createRooms(Hotel hotel, List<Room> rooms);
+
     String storeImage(MultipartFile file, Long roomId) throws IOException;
 
     @Transactional
@@ -38,10 +45,19 @@ public interface RoomServices {
 
     Optional<Room> getRoomById(Long id);
 
+    /** Rooms with their hotel and room type loaded, in one query; ids that do not exist are left out */
+    List<Room> getRoomsByIds(Collection<Long> ids);
+
+    boolean roomExists(Long id);
+
     List<Room> getRoomsByHotel(Long id);
 
     Page<Room> getRoomsWithFilters(long hotel_id, Long roomNumber, Pageable pageable);
 
+    /** Keyset page of a hotel's rooms in id order, cursor is null for the first page */
+    CursorPageDto<Room> getRoomsWithFiltersAfter(long hotelId, Long roomNumber, String cursor, int size,
+            boolean withTotal);
+
     void deleteRoom(Long id);
 
     RoomDto getCheapestRoomByHotelId(Long id);
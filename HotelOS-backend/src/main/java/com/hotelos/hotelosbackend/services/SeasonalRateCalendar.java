@@ -0,0 +1,122 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+import com.hotelos.hotelosbackend.repository.SeasonalRateRepository;
+import com.hotelos.hotelosbackend.utils.FixedPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Each hotel's seasons compiled into one dense array with a multiplier per night, so pricing a stay is an
+ * array walk instead of a query. Built for all hotels at startup and recompiled for a hotel whenever its
+ * seasons change; hotels without seasons have no entry.
+ */
+@Service
+public class SeasonalRateCalendar {
+    /** Decimals of a multiplier, as stored in the seasonal_rates.multiplier column */
+    public static final int MULTIPLIER_SCALE = 4;
+    private static final Logger logger = LoggerFactory.getLogger(SeasonalRateCalendar.class);
+
+    private final SeasonalRateRepository seasonalRateRepository;
+
+    private final Map<Long, Calendar> calendars = new ConcurrentHashMap<>();
+    // Until the first build a missing entry may just mean "not loaded yet"
+    private volatile boolean built;
+
+    public SeasonalRateCalendar(SeasonalRateRepository seasonalRateRepository) {
+        this.seasonalRateRepository = seasonalRateRepository;
+    }
+
+    /**
+     * Multiplier of every night from checkIn (inclusive) to checkOut (exclusive) as a long scaled by
+     * 10^{@link #MULTIPLIER_SCALE}, nights outside all seasons count as 1. Returns null when no night of the
+     * stay falls in a season.
+     */
+    public long[] nightlyMultiplierUnits(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (hotelId == null || checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) {
+            return null;
+        }
+        Calendar calendar = calendars.get(hotelId);
+        if (calendar == null && !built) {
+            refreshHotel(hotelId);
+            calendar = calendars.get(hotelId);
+        }
+        return calendar == null ? null : calendar.nightUnits(checkIn, checkOut);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildAll() {
+        long start = System.currentTimeMillis();
+        Map<Long, List<SeasonalRate>> ratesByHotel = seasonalRateRepository.findAll().stream()
+                .collect(Collectors.groupingBy(SeasonalRate::getHotelId));
+        calendars.keySet().retainAll(ratesByHotel.keySet());
+        ratesByHotel.forEach((hotelId, rates) -> calendars.put(hotelId, compile(rates)));
+        built = true;
+        logger.info("Compiled seasonal rates of {} hotels in {} ms", calendars.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /** Recompiles one hotel from the database, call after its seasons were saved or deleted. */
+    public synchronized void refreshHotel(Long hotelId) {
+        List<SeasonalRate> rates = seasonalRateRepository.findAllByHotelIdOrderByStartDateAscIdAsc(hotelId);
+        if (rates.isEmpty()) {
+            calendars.remove(hotelId);
+        } else {
+            calendars.put(hotelId, compile(rates));
+        }
+    }
+
+    public void hotelDeleted(Long hotelId) {
+        calendars.remove(hotelId);
+    }
+
+    // Seasons are laid down in start order, so a later starting season overwrites the nights it shares
+    static Calendar compile(List<SeasonalRate> rates) {
+        List<SeasonalRate> ordered = rates.stream()
+                .sorted(Comparator.comparing(SeasonalRate::getStartDate).thenComparing(SeasonalRate::getId,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        LocalDate first = ordered.get(0).getStartDate();
+        LocalDate last = ordered.stream().map(SeasonalRate::getEndDate).max(Comparator.naturalOrder()).orElseThrow();
+
+        // Zero marks a night without a season, no stored multiplier can be zero
+        long[] unitsByNight = new long[(int) ChronoUnit.DAYS.between(first, last) + 1];
+        for (SeasonalRate rate : ordered) {
+            Arrays.fill(unitsByNight, (int) ChronoUnit.DAYS.between(first, rate.getStartDate()),
+                    (int) ChronoUnit.DAYS.between(first, rate.getEndDate()) + 1,
+                    FixedPoint.toUnits(rate.getMultiplier(), MULTIPLIER_SCALE));
+        }
+        return new Calendar(first, unitsByNight);
+    }
+
+    record Calendar(LocalDate first, long[] unitsByNight) {
+
+        long[] nightUnits(LocalDate checkIn, LocalDate checkOut) {
+            long offset = ChronoUnit.DAYS.between(first, checkIn);
+            int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+            // Stays entirely before or after every season skip the allocation
+            if (offset >= unitsByNight.length || offset + nights <= 0) {
+                return null;
+            }
+            long one = FixedPoint.pow10(MULTIPLIER_SCALE);
+            long[] result = new long[nights];
+            boolean any = false;
+            for (int night = 0; night < nights; night++) {
+                long day = offset + night;
+                long units = day >= 0 && day < unitsByNight.length ? unitsByNight[(int) day] : 0;
+                result[night] = units == 0 ? one : units;
+                any |= units != 0;
+            }
+            return any ? result : null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SeasonalRateServices {
+    List<SeasonalRate> getSeasonalRates(Long hotelId);
+
+    /** Saves a new season and recompiles the hotel's rate calendar, invalid ranges throw IllegalArgumentException */
+    SeasonalRate createSeasonalRate(Long hotelId, SeasonalRate seasonalRate);
+
+    /** Empty when the season does not exist in this hotel */
+    Optional<SeasonalRate> updateSeasonalRate(Long hotelId, Long id, SeasonalRate seasonalRate);
+
+    boolean deleteSeasonalRate(Long hotelId, Long id);
+}
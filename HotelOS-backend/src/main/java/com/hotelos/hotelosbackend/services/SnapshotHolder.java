@@ -0,0 +1,82 @@
+package com.hotelos.hotelosbackend.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory view that is rebuilt from the database while committed changes keep arriving. Changes applied
+ * while a replacement is read are replayed onto it, and it is installed under the same lock, so none is lost
+ * between reading the database and swapping the views.
+ */
+final class SnapshotHolder<S> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private S snapshot;
+    // Changes committed while a reload reads the database, replayed onto the loaded snapshot
+    private List<Consumer<S>> pendingChanges;
+
+    /** Runs the reader under the read lock; it gets null before the first load. */
+    <R> R read(Function<S, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(snapshot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void apply(Consumer<S> change) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot != null) {
+                change.accept(snapshot);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a new snapshot, replays the changes applied meanwhile and installs what {@code install} makes of
+     * the current snapshot (null before the first load) and the loaded one. Callers serialize their reloads.
+     */
+    S reload(Supplier<S> loader, BinaryOperator<S> install) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        S loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(loaded));
+            pendingChanges = null;
+            snapshot = install.apply(snapshot, loaded);
+            return snapshot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.hotelos.hotelosbackend.services;
+
+import com.hotelos.hotelosbackend.implementation.IJWTServices;
+import com.hotelos.hotelosbackend.models.TokenRevocation;
+import com.hotelos.hotelosbackend.repository.TokenRevocationRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user revocation list: tokens issued before a user's cut-off are rejected, e.g. after a password change or
+ * once the role or hotel in their claims is out of date. Cut-offs are stored in the database so every instance
+ * rejects the same tokens; each instance checks a copy it reloads every few seconds.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    // userId -> epoch second before which tokens of the user are no longer accepted
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    @Transactional
+    public void revokeTokensIssuedBefore(long userId, Instant cutOff) {
+        revokeTokensIssuedBefore(List.of(userId), cutOff);
+    }
+
+    @Transactional
+    public void revokeTokensIssuedBefore(Collection<Long> userIds, Instant cutOff) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<Long, TokenRevocation> existing = tokenRevocationRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(TokenRevocation::getUserId, Function.identity()));
+        List<TokenRevocation> revocations = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            TokenRevocation revocation = existing.getOrDefault(userId, new TokenRevocation(userId, cutOff));
+            if (revocation.getRevokedBefore().isBefore(cutOff)) {
+                revocation.setRevokedBefore(cutOff);
+            }
+            revocations.add(revocation);
+            revokedBefore.merge(userId, revocation.getRevokedBefore().getEpochSecond(), Math::max);
+        }
+        tokenRevocationRepository.saveAll(revocations);
+        tokenRevocationRepository.deleteExpired(oldestLiveToken());
+    }
+
+    public boolean isRevoked(long userId, Date issuedAt) {
+        Long cutOff = revokedBefore.get(userId);
+        return cutOff != null && (issuedAt == null || issuedAt.toInstant().getEpochSecond() < cutOff);
+    }
+
+    // Picks up the revocations of the other instances, runs at startup too. Cut-offs only move forward, so
+    // merging never loses one made here while the reload ran
+    @Scheduled(fixedDelayString = "${hotelos.jwt.revocation-reload-ms:5000}")
+    public void reload() {
+        Instant oldestLiveToken = oldestLiveToken();
+        for (TokenRevocation revocation : tokenRevocationRepository.findByRevokedBeforeAfter(oldestLiveToken)) {
+            revokedBefore.merge(revocation.getUserId(), revocation.getRevokedBefore().getEpochSecond(), Math::max);
+        }
+        long oldestLiveEpochSecond = oldestLiveToken.getEpochSecond();
+        revokedBefore.values().removeIf(epochSecond -> epochSecond < oldestLiveEpochSecond);
+    }
+
+    private static Instant oldestLiveToken() {
+        return Instant.now().minusMillis(IJWTServices.TOKEN_TTL_MILLIS);
+    }
+}
@@ -1,7 +1,9 @@
 package com.hotelos.hotelosbackend.services;
 
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
 import com.hotelos.hotelosbackend.models.Hotel;
 import com.hotelos.hotelosbackend.models.User;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,6 +21,9 @@ public interface UserServices {
 
     Page<User> getUsersWithFilters(String email, long hotelId, Pageable pageable);
 
+    /** Keyset page of a hotel's users in id order, cursor is null for the first page */
+    CursorPageDto<User> getHotelUsersAfter(String email, long hotelId, String cursor, int size, boolean withTotal);
+
     User updateUser(User user);
 
     Optional<User> getUserById(Long id);
@@ -27,7 +32,7 @@ public interface UserServices {
 
     String storeFile(MultipartFile file) throws IOException;
 
-    byte[] getFile(String filePath) throws IOException;
+    Resource getFile(String filePath) throws IOException;
 
     // Additional methods for specific user types
     List<User> findAllGuests();
@@ -0,0 +1,27 @@
+package com.hotelos.hotelosbackend.utils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/** RFC 4180 CSV lines for the export endpoints */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    public static String line(Object... values) {
+        return Arrays.stream(values).map(Csv::field).collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private static String field(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
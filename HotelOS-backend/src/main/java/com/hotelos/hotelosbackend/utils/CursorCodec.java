@@ -0,0 +1,51 @@
+package com.hotelos.hotelosbackend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursors: the sort key values of the last row of a page, base64url encoded.
+ * Clients pass the cursor back unchanged to get the next page.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001f";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... keys) {
+        String joined = String.join(SEPARATOR, Arrays.stream(keys).map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Key values in encoding order; throws IllegalArgumentException for malformed cursors */
+    public static List<String> decode(String cursor, int expectedKeys) {
+        String joined;
+        try {
+            joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        List<String> keys = List.of(joined.split(SEPARATOR, -1));
+        if (keys.size() != expectedKeys) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return keys;
+    }
+
+    public static Long decodeLong(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor, 1).get(0));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /** Id to continue after, 0 (start of the list) when no cursor was passed */
+    public static long decodeAfterId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0 : decodeLong(cursor);
+    }
+}
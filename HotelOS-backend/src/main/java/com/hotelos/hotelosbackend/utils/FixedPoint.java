@@ -0,0 +1,98 @@
+package com.hotelos.hotelosbackend.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Scaled-long arithmetic for money: an amount or ratio is a long holding its value times 10^scale, and every
+ * rounding is HALF_UP, so results equal BigDecimal arithmetic on the same decimal values.
+ */
+public final class FixedPoint {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L};
+    // Doubles whose scaled value is this far from a tie round the same as their decimal form
+    private static final double TIE_TOLERANCE = 1e-6;
+    private static final double MAX_FAST_SCALED = 1e9;
+
+    private FixedPoint() {
+    }
+
+    public static long pow10(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /** value × 10^scale rounded HALF_UP; throws ArithmeticException when it does not fit a long */
+    public static long toUnits(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** The decimal value of a double, as BigDecimal.valueOf reads it, × 10^scale rounded HALF_UP */
+    public static long toUnits(double value, int scale) {
+        double scaled = value * POWERS_OF_TEN[scale];
+        if (Math.abs(scaled) < MAX_FAST_SCALED) {
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+                return (long) (fraction > 0.5 ? floor + 1 : floor);
+            }
+        }
+        // Near a tie only the exact decimal form decides the direction
+        return toUnits(BigDecimal.valueOf(value), scale);
+    }
+
+    /**
+     * Whether the decimal form of a double, as BigDecimal.valueOf reads it, has at most scale decimals, i.e.
+     * toUnits loses nothing. The nearest double of a decimal with fewer digits would print as that decimal.
+     */
+    public static boolean hasScale(double value, int scale) {
+        if (!(Math.abs(value) < MAX_FAST_SCALED)) {
+            return false;
+        }
+        return toUnits(value, scale) / (double) POWERS_OF_TEN[scale] == value;
+    }
+
+    /**
+     * a × b / divisor rounded HALF_UP. The product is kept in 128 bits, so only a quotient that does not fit
+     * a long throws ArithmeticException.
+     */
+    public static long mulDivHalfUp(long a, long b, long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+        boolean negative = (a < 0) != (b < 0);
+        long x = Math.absExact(a);
+        long y = Math.absExact(b);
+        long high = Math.multiplyHigh(x, y);
+        long low = x * y;
+
+        long quotient;
+        long remainder;
+        if (high == 0 && low >= 0) {
+            quotient = low / divisor;
+            remainder = low - quotient * divisor;
+        } else {
+            if (high >= divisor) {
+                throw new ArithmeticException("Fixed point result does not fit a long");
+            }
+            // Shift-subtract division of the 128 bit product; the remainder always stays below the divisor
+            quotient = 0;
+            remainder = high;
+            for (int bit = 63; bit >= 0; bit--) {
+                remainder = (remainder << 1) | ((low >>> bit) & 1);
+                quotient <<= 1;
+                if (Long.compareUnsigned(remainder, divisor) >= 0) {
+                    remainder -= divisor;
+                    quotient |= 1;
+                }
+            }
+            if (quotient < 0) {
+                throw new ArithmeticException("Fixed point result does not fit a long");
+            }
+        }
+        if (remainder >= divisor - remainder) {
+            quotient++;
+        }
+        return negative ? -quotient : quotient;
+    }
+}
@@ -0,0 +1,254 @@
+package com.hotelos.hotelosbackend.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Reads CSV (with a header row) or NDJSON one record at a time, so imports never hold the whole file.
+ * Blank values come back as null. A record is held in memory only up to a character limit, and a quoted
+ * CSV field may span only so many lines, so an unterminated quote costs one malformed record instead of
+ * swallowing the rest of the input.
+ */
+public final class ImportRecordReader implements Closeable {
+    public static final int DEFAULT_MAX_RECORD_CHARS = 64 * 1024;
+    public static final int MAX_RECORD_LINES = 100;
+
+    private final Reader in;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    // A \r ended the last line, so a \n right after it belongs to the same terminator
+    private boolean skipLineFeed;
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private List<String> header;
+    private long lineNumber;
+
+    private ImportRecordReader(Reader in, ObjectMapper objectMapper, int maxRecordChars) {
+        this.in = in;
+        this.objectMapper = objectMapper;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    public static ImportRecordReader csv(BufferedReader in) {
+        return csv(in, DEFAULT_MAX_RECORD_CHARS);
+    }
+
+    public static ImportRecordReader csv(BufferedReader in, int maxRecordChars) {
+        return new ImportRecordReader(in, null, maxRecordChars);
+    }
+
+    public static ImportRecordReader ndjson(BufferedReader in, ObjectMapper objectMapper) {
+        return ndjson(in, objectMapper, DEFAULT_MAX_RECORD_CHARS);
+    }
+
+    public static ImportRecordReader ndjson(BufferedReader in, ObjectMapper objectMapper, int maxRecordChars) {
+        return new ImportRecordReader(in, objectMapper, maxRecordChars);
+    }
+
+    /**
+     * Next record, null at the end of the input. A malformed record throws {@link MalformedRecordException}
+     * and the reader continues with the record after it; a malformed CSV header throws IllegalArgumentException.
+     */
+    public ImportRecord next() throws IOException {
+        String line;
+        long start;
+        do {
+            start = lineNumber + 1;
+            try {
+                line = readLine(start, maxRecordChars);
+            } catch (MalformedRecordException e) {
+                if (objectMapper == null && header == null) {
+                    throw new IllegalArgumentException("Invalid CSV header: " + e.getMessage());
+                }
+                throw e;
+            }
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (objectMapper != null) {
+            return new ImportRecord(start, parseJson(line, start));
+        }
+        if (header == null) {
+            header = readHeader(line);
+            return next();
+        }
+        List<String> fields = parseCsv(line, start);
+        if (fields.size() != header.size()) {
+            throw new MalformedRecordException(start,
+                    "Expected " + header.size() + " fields but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(header.get(i), blankToNull(fields.get(i)));
+        }
+        return new ImportRecord(start, values);
+    }
+
+    private List<String> readHeader(String line) throws IOException {
+        // Spreadsheet exports often start with a byte order mark
+        List<String> names;
+        try {
+            names = parseCsv(line.startsWith("\uFEFF") ? line.substring(1) : line, lineNumber)
+                    .stream().map(String::trim).toList();
+        } catch (MalformedRecordException e) {
+            throw new IllegalArgumentException("Invalid CSV header: " + e.getMessage());
+        }
+        if (names.stream().anyMatch(String::isEmpty) || new HashSet<>(names).size() != names.size()) {
+            throw new IllegalArgumentException("CSV header must name every column once");
+        }
+        return names;
+    }
+
+    // RFC 4180 fields; a quoted field may span several physical lines
+    private List<String> parseCsv(String line, long start) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int chars = line.length();
+        int lines = 1;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (lines == MAX_RECORD_LINES) {
+                    throw new MalformedRecordException(start,
+                            "Quoted field not closed within " + MAX_RECORD_LINES + " lines");
+                }
+                line = readLine(start, maxRecordChars - chars);
+                if (line == null) {
+                    throw new MalformedRecordException(start, "Unterminated quoted field");
+                }
+                chars += line.length();
+                lines++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    /**
+     * Next physical line without its terminator, null at the end of the input. A line longer than the
+     * characters the record has left is skipped up to its end and throws {@link MalformedRecordException}.
+     */
+    private String readLine(long start, int maxChars) throws IOException {
+        lineBuffer.setLength(0);
+        boolean read = false;
+        boolean tooLong = false;
+        while (true) {
+            if (position == limit) {
+                limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+                position = 0;
+                if (limit == 0) {
+                    break;
+                }
+            }
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (c == '\n' || c == '\r') {
+                skipLineFeed = c == '\r';
+                break;
+            }
+            if (lineBuffer.length() < maxChars) {
+                lineBuffer.append(c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        lineNumber++;
+        if (tooLong) {
+            lineBuffer.setLength(0);
+            throw new MalformedRecordException(start, "Record longer than " + maxRecordChars + " characters");
+        }
+        return lineBuffer.toString();
+    }
+
+    private Map<String, String> parseJson(String line, long start) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new MalformedRecordException(start, "Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new MalformedRecordException(start, "Expected a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        node.fields().forEachRemaining(entry -> {
+            JsonNode value = entry.getValue();
+            values.put(entry.getKey(), value.isNull() ? null
+                    : blankToNull(value.isValueNode() ? value.asText() : value.toString()));
+        });
+        return values;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** One input record and the line it starts on */
+    public record ImportRecord(long line, Map<String, String> values) {
+
+        public String get(String name) {
+            return values.get(name);
+        }
+    }
+
+    public static class MalformedRecordException extends IllegalArgumentException {
+        private final long line;
+
+        public MalformedRecordException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.HotelCheapestRoom;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.models.RoomType;
+import com.hotelos.hotelosbackend.repository.HotelCheapestRoomRepository;
+import com.hotelos.hotelosbackend.repository.HotelRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.RoomTypeRepository;
+import com.hotelos.hotelosbackend.services.CheapestRoomProjectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = HotelOsBackendApplication.class)
+@Transactional
+class CheapestRoomProjectionTest {
+
+    @Autowired
+    private CheapestRoomProjectionService cheapestRoomProjectionService;
+
+    @Autowired
+    private HotelCheapestRoomRepository hotelCheapestRoomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private Hotel hotel;
+    private RoomType roomType;
+    private Room standard;
+    private Room discounted;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Projection Hotel");
+        hotel.setBasePrice(new BigDecimal("100.00"));
+        hotel = hotelRepository.save(hotel);
+
+        roomType = roomTypeRepository.save(RoomType.builder()
+                .name("Double")
+                .priceFactor(1.0)
+                .hotel(hotel)
+                .isActive(true)
+                .build());
+
+        standard = roomRepository.save(room(101L, "1.00"));
+        discounted = roomRepository.save(room(102L, "0.80"));
+        cheapestRoomProjectionService.refreshHotel(hotel.getId());
+    }
+
+    @Test
+    void testRefreshHotelStoresCheapestAvailableRoom() {
+        HotelCheapestRoom row = onlyRow();
+
+        assertThat(row.getRoomTypeId()).isEqualTo(roomType.getId());
+        assertThat(row.getRoomId()).isEqualTo(discounted.getRoomId());
+        assertThat(row.getPrice()).isEqualByComparingTo("80.00");
+        assertThat(row.getAvailableCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testRoomLeavingAvailableStatusDropsOutOfProjection() {
+        discounted.setStatus(RoomStatus.MAINTENANCE);
+        roomRepository.save(discounted);
+        cheapestRoomProjectionService.refreshHotel(hotel.getId());
+
+        HotelCheapestRoom row = onlyRow();
+        assertThat(row.getRoomId()).isEqualTo(standard.getRoomId());
+        assertThat(row.getPrice()).isEqualByComparingTo("100.00");
+        assertThat(row.getAvailableCount()).isEqualTo(1);
+
+        standard.setStatus(RoomStatus.MAINTENANCE);
+        roomRepository.save(standard);
+        cheapestRoomProjectionService.refreshHotel(hotel.getId());
+
+        assertThat(hotelCheapestRoomRepository.findAllByHotelId(hotel.getId())).isEmpty();
+    }
+
+    @Test
+    void testRefreshRoomTypeRepricesAfterPriceFactorChange() {
+        roomType.setPriceFactor(1.5);
+        roomTypeRepository.save(roomType);
+        cheapestRoomProjectionService.refreshRoomType(roomType.getId());
+
+        HotelCheapestRoom row = onlyRow();
+        assertThat(row.getRoomId()).isEqualTo(discounted.getRoomId());
+        assertThat(row.getPrice()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    void testRebuildAllReplacesStaleRows() {
+        // Changed without a refresh, so only the rebuild picks it up
+        hotel.setBasePrice(new BigDecimal("200.00"));
+        hotelRepository.save(hotel);
+        discounted.setStatus(RoomStatus.OCCUPIED);
+        roomRepository.save(discounted);
+
+        cheapestRoomProjectionService.rebuildAll();
+
+        HotelCheapestRoom row = onlyRow();
+        assertThat(row.getRoomId()).isEqualTo(standard.getRoomId());
+        assertThat(row.getPrice()).isEqualByComparingTo("200.00");
+        assertThat(row.getAvailableCount()).isEqualTo(1);
+    }
+
+    private HotelCheapestRoom onlyRow() {
+        List<HotelCheapestRoom> rows = hotelCheapestRoomRepository.findAllByHotelId(hotel.getId());
+        assertThat(rows).hasSize(1);
+        return rows.get(0);
+    }
+
+    private Room room(long roomNumber, String priceModifier) {
+        Room room = new Room();
+        room.setHotel(hotel);
+        room.setRoomType(roomType);
+        room.setRoomNumber(roomNumber);
+        room.setCapacity(2);
+        room.setPriceModifier(new BigDecimal(priceModifier));
+        room.setStatus(RoomStatus.AVAILABLE);
+        return room;
+    }
+}
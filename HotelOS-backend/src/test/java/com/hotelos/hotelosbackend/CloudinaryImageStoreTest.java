@@ -0,0 +1,135 @@
+package com.hotelos.hotelosbackend;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelos.hotelosbackend.services.CloudinaryImageStore;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CloudinaryImageStoreTest {
+
+    private static final int FILE_SIZE = 3 * 1024 * 1024;
+
+    private HttpServer server;
+    private CloudinaryImageStore imageStore;
+    private final AtomicReference<String> requestPath = new AtomicReference<>();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile boolean hang;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requestPath.set(exchange.getRequestURI().getPath());
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1));
+            if (hang) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] response = (status == 200
+                    ? "{\"secure_url\":\"https://res.example/hotels/1/images/abc.jpg\"}"
+                    : "{\"error\":{\"message\":\"Invalid Signature\"}}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "demo",
+                "api_key", "key",
+                "api_secret", "secret",
+                "upload_prefix", "http://127.0.0.1:" + server.getAddress().getPort()));
+        imageStore = new CloudinaryImageStore(cloudinary, new ObjectMapper(), 64 * 1024, 500);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        imageStore.close();
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void testStreamsTheFileIntoOneSignedRequest() throws IOException {
+        CountingStream content = new CountingStream(FILE_SIZE);
+
+        String url = imageStore.upload(content, FILE_SIZE, "hotels/1/images/abc");
+
+        assertThat(url).isEqualTo("https://res.example/hotels/1/images/abc.jpg");
+        assertThat(requestPath.get()).isEqualTo("/v1_1/demo/auto/upload");
+        assertThat(requestBody.get()).contains("hotels/1/images/abc", "name=\"signature\"", "name=\"timestamp\"",
+                "name=\"api_key\"");
+        assertThat(content.position).isEqualTo(FILE_SIZE);
+        // Reads go through the fixed buffer, never the whole file at once
+        assertThat(content.largestRead).isLessThanOrEqualTo(64 * 1024);
+    }
+
+    @Test
+    void testReportsRejectedUploads() {
+        status = 401;
+
+        assertThatThrownBy(() -> imageStore.upload(new ByteArrayInputStream(new byte[10]), 10, "hotels/1/x"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("401")
+                .hasMessageContaining("Invalid Signature");
+    }
+
+    @Test
+    void testGivesUpOnAServerThatNeverAnswers() {
+        hang = true;
+        long startedAt = System.nanoTime();
+
+        assertThatThrownBy(() -> imageStore.upload(new ByteArrayInputStream(new byte[10]), 10, "hotels/1/x"))
+                .isInstanceOf(IOException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    private static final class CountingStream extends InputStream {
+        private final int size;
+        private int position;
+        private int largestRead;
+
+        private CountingStream(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? (position++ & 0x7f) : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position >= size) {
+                return -1;
+            }
+            int read = Math.min(length, size - position);
+            Arrays.fill(buffer, offset, offset + read, (byte) 'x');
+            position += read;
+            largestRead = Math.max(largestRead, read);
+            return read;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.services.CloudinaryServices;
+import com.hotelos.hotelosbackend.services.ImageStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CloudinaryServicesTest {
+
+    private CloudinaryServices cloudinaryServices;
+
+    @AfterEach
+    void tearDown() {
+        cloudinaryServices.shutdown();
+    }
+
+    @Test
+    void testUploadMultipleFilesRunsInParallelWithinTheBound() {
+        StubImageStore imageStore = new StubImageStore();
+        cloudinaryServices = new CloudinaryServices(imageStore, 3, 10_000);
+
+        CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleFiles(files(12), "hotels/1/images");
+
+        assertThat(result.failed()).isEmpty();
+        assertThat(result.uploaded()).extracting(CloudinaryServices.UploadedFile::index)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(result.urls()).allMatch(url -> url.startsWith("https://stub/hotels/1/images/"));
+        assertThat(imageStore.maxConcurrentUploads.get()).isBetween(2, 3);
+        assertThat(imageStore.bytesRead.get()).isEqualTo(12 * 1024);
+    }
+
+    @Test
+    void testUploadMultipleFilesReportsFailuresAndTimeouts() {
+        StubImageStore imageStore = new StubImageStore();
+        imageStore.failing = "photo-1.jpg";
+        imageStore.hanging = "photo-2.jpg";
+        cloudinaryServices = new CloudinaryServices(imageStore, 4, 500);
+
+        CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleFiles(files(4), "rooms/7/images");
+
+        assertThat(result.uploaded()).extracting(CloudinaryServices.UploadedFile::fileName)
+                .containsExactly("photo-0.jpg", "photo-3.jpg");
+        assertThat(result.failed()).extracting(CloudinaryServices.FailedUpload::fileName)
+                .containsExactly("photo-1.jpg", "photo-2.jpg");
+        assertThat(result.failed().get(1).error()).isEqualTo("Upload timed out");
+    }
+
+    @Test
+    void testQueuedFilesAreTimedFromTheirOwnStart() {
+        // One worker: the hanging file is cancelled after its timeout, the queued ones then run in full
+        StubImageStore imageStore = new StubImageStore();
+        imageStore.hanging = "photo-0.jpg";
+        imageStore.delayMillis = 200;
+        cloudinaryServices = new CloudinaryServices(imageStore, 1, 300);
+
+        CloudinaryServices.BatchUploadResult result = cloudinaryServices.uploadMultipleFiles(files(4), "rooms/7/images");
+
+        assertThat(result.failed()).extracting(CloudinaryServices.FailedUpload::fileName)
+                .containsExactly("photo-0.jpg");
+        assertThat(result.uploaded()).extracting(CloudinaryServices.UploadedFile::fileName)
+                .containsExactly("photo-1.jpg", "photo-2.jpg", "photo-3.jpg");
+    }
+
+    private static List<MultipartFile> files(int count) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // The content starts with the file name so the stub can tell the files apart
+            byte[] content = new byte[1024];
+            byte[] name = ("photo-" + i + ".jpg").getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(name, 0, content, 0, name.length);
+            files.add(new MockMultipartFile("files", "photo-" + i + ".jpg", "image/jpeg", content));
+        }
+        return files;
+    }
+
+    private static class StubImageStore implements ImageStore {
+        private final AtomicInteger concurrentUploads = new AtomicInteger();
+        private final AtomicInteger maxConcurrentUploads = new AtomicInteger();
+        private final AtomicInteger bytesRead = new AtomicInteger();
+        private volatile String failing;
+        private volatile String hanging;
+        private volatile long delayMillis = 50;
+
+        @Override
+        public String upload(InputStream content, long size, String publicId) throws IOException {
+            int running = concurrentUploads.incrementAndGet();
+            maxConcurrentUploads.accumulateAndGet(running, Math::max);
+            try {
+                ByteArrayOutputStream received = new ByteArrayOutputStream();
+                byte[] buffer = new byte[256];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    received.write(buffer, 0, read);
+                    bytesRead.addAndGet(read);
+                }
+                String fileName = received.toString(StandardCharsets.UTF_8).split("\u0000")[0];
+                if (fileName.equals(failing)) {
+                    throw new IOException("Stub rejected " + fileName);
+                }
+                Thread.sleep(fileName.equals(hanging) ? 5_000 : delayMillis);
+                return "https://stub/" + publicId;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Upload interrupted", e);
+            } finally {
+                concurrentUploads.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean delete(String publicId) {
+            return true;
+        }
+
+        @Override
+        public List<Map<String, Object>> list(String prefix) {
+            return List.of();
+        }
+    }
+}
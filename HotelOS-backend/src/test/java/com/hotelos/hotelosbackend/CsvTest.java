@@ -0,0 +1,23 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.utils.Csv;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTest {
+
+    @Test
+    void testQuotesOnlyWhenNeeded() {
+        assertThat(Csv.line(1L, "Smith, John", "say \"hi\"", null, new BigDecimal("1E+2")))
+                .isEqualTo("1,\"Smith, John\",\"say \"\"hi\"\"\",,100\n");
+    }
+
+    @Test
+    void testQuotesLineBreaks() {
+        assertThat(Csv.line("first\nsecond", "carriage\rreturn", "plain"))
+                .isEqualTo("\"first\nsecond\",\"carriage\rreturn\",plain\n");
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.CursorPageDto;
+import com.hotelos.hotelosbackend.utils.CursorCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void testRoundTripsKeys() {
+        String cursor = CursorCodec.encode(LocalDate.of(2025, 3, 1), 42L);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(CursorCodec.decode(cursor, 2)).containsExactly("2025-03-01", "42");
+        assertThat(CursorCodec.decodeLong(CursorCodec.encode(7L))).isEqualTo(7L);
+    }
+
+    @Test
+    void testRejectsMalformedCursors() {
+        assertThatThrownBy(() -> CursorCodec.decodeLong("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeLong(CursorCodec.encode("abc"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(CursorCodec.encode(1L), 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPageUsesTheLookaheadRowOnlyForHasNext() {
+        CursorPageDto<Long> page = CursorPageDto.of(List.of(3L, 5L, 8L), 2, Function.identity(), null);
+
+        assertThat(page.getContent()).containsExactly(3L, 5L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(CursorCodec.decodeAfterId(page.getNextCursor())).isEqualTo(5L);
+        assertThat(page.getTotal()).isNull();
+
+        CursorPageDto<Long> last = CursorPageDto.of(List.of(13L), 2, Function.identity(), 3L);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(last.map(String::valueOf).getTotal()).isEqualTo(3L);
+        assertThat(CursorCodec.decodeAfterId(null)).isZero();
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.mail.EmailOutboxDispatcher;
+import com.hotelos.hotelosbackend.models.EmailOutboxMessage;
+import com.hotelos.hotelosbackend.models.EmailOutboxStatus;
+import com.hotelos.hotelosbackend.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final EmailOutboxRepository emailOutboxRepository = mock(EmailOutboxRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void testDispatchSendsBatchAndMarksMessagesSent() throws Exception {
+        EmailOutboxMessage welcome = pending(1L, "guest@example.com", "Welcome to HotelOS", 0);
+        EmailOutboxMessage reset = pending(2L, "staff@example.com", "Reset your HotelOS password", 0);
+        when(emailOutboxRepository.claimDueMessages(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(welcome, reset));
+
+        dispatcher(greenMail.getSmtp().getPort()).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(List.of(received[0].getSubject(), received[1].getSubject()))
+                .containsExactlyInAnyOrder("Welcome to HotelOS", "Reset your HotelOS password");
+        assertThat(welcome.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(reset.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(welcome.getAttempts()).isEqualTo(1);
+        assertThat(welcome.getSentAt()).isNotNull();
+        verify(emailOutboxRepository, times(2)).saveAll(List.of(welcome, reset));
+    }
+
+    @Test
+    void testSendsOutsideTheClaimAndRecordTransactions() {
+        EmailOutboxMessage welcome = pending(1L, "guest@example.com", "Welcome to HotelOS", 0);
+        when(emailOutboxRepository.claimDueMessages(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(welcome));
+        List<String> events = new ArrayList<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            events.add("begin");
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> events.add("commit")).when(transactionManager).commit(any());
+        when(emailOutboxRepository.saveAll(any())).thenAnswer(invocation -> {
+            events.add("save " + welcome.getStatus() + " after " + greenMail.getReceivedMessages().length + " sent");
+            return List.of(welcome);
+        });
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher(greenMail.getSmtp().getPort()).dispatch();
+
+        assertThat(events).containsExactly(
+                "begin", "save SENDING after 0 sent", "commit",
+                "begin", "save SENT after 1 sent", "commit");
+        assertThat(welcome.getAttempts()).isEqualTo(1);
+        assertThat(welcome.getSentAt()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    void testDispatchRetriesWithBackoffAndDeadLettersAfterLastAttempt() throws Exception {
+        EmailOutboxMessage firstAttempt = pending(1L, "guest@example.com", "Welcome to HotelOS", 0);
+        EmailOutboxMessage lastAttempt = pending(2L, "staff@example.com", "Your HotelOS password was changed", 2);
+        when(emailOutboxRepository.claimDueMessages(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(firstAttempt, lastAttempt));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher(unusedPort()).dispatch();
+
+        assertThat(firstAttempt.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        // The backoff replaces the lease of the claim
+        assertThat(firstAttempt.getNextAttemptAt()).isBefore(before.plusMinutes(1));
+        assertThat(firstAttempt.getAttempts()).isEqualTo(1);
+        assertThat(firstAttempt.getNextAttemptAt()).isAfter(before);
+        assertThat(firstAttempt.getLastError()).isNotBlank();
+        assertThat(lastAttempt.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(lastAttempt.getAttempts()).isEqualTo(3);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    private EmailOutboxDispatcher dispatcher(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        return new EmailOutboxDispatcher(emailOutboxRepository, mailSender, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), 50, 3, 1000, 300_000);
+    }
+
+    private static EmailOutboxMessage pending(Long id, String recipient, String subject, int attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setSender("noreply@hotelos.test");
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody("Hello from HotelOS");
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        return message;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
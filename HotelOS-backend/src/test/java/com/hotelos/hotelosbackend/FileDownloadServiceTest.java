@@ -0,0 +1,117 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.services.FileDownloadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final FileDownloadService fileDownloadService = new FileDownloadService(64 * 1024);
+    private byte[] content;
+    private Resource image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[100 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = tempDir.resolve("avatar.jpg");
+        Files.write(file, content);
+        image = new FileSystemResource(file);
+    }
+
+    @Test
+    void testServesWholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/api/users/1/image"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentLengthLong()).isEqualTo(content.length);
+        assertThat(response.getContentType()).isEqualTo(MediaType.IMAGE_JPEG_VALUE);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    @Test
+    void testAnswersMatchingETagWithNotModified() throws Exception {
+        String etag = serve(new MockHttpServletRequest("GET", "/api/users/1/image")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/image");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void testServesSingleByteRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-1999");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1000-1999/" + content.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 2000));
+    }
+
+    @Test
+    void testIgnoresRangeWhenIfRangeIsStale() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(content.length);
+    }
+
+    @Test
+    void testRejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/image");
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + content.length + "-");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + content.length);
+    }
+
+    @Test
+    void testHandsLargeFilesToContainerSendfile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1/image");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(image.getFile().getAbsolutePath());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(100L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) content.length);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileDownloadService.serve(image, MediaType.IMAGE_JPEG, request, response);
+        return response;
+    }
+}
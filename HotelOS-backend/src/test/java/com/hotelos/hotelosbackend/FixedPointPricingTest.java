@@ -0,0 +1,278 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.PriceQuoteDto;
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.*;
+import com.hotelos.hotelosbackend.repository.PromotionRepository;
+import com.hotelos.hotelosbackend.repository.SeasonalRateRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import com.hotelos.hotelosbackend.utils.FixedPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property checks of the scaled-long pricing against the BigDecimal pipeline it replaced: random hotels,
+ * seasons, occupancy, promotions, rooms and stays from fixed seeds, so a failure always reproduces.
+ */
+class FixedPointPricingTest {
+
+    private static final int HOTELS = 200;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final double OCCUPANCY_THRESHOLD = 0.7;
+    private static final double OCCUPANCY_MAX_UPLIFT = 0.25;
+
+    private final SplittableRandom random = new SplittableRandom(20_260_701);
+    private final List<Hotel> hotels = new ArrayList<>();
+    private SeasonalRateCalendar calendar;
+    private PromotionCatalog catalog;
+    private IPriceCalculationServices priceCalculationServices;
+
+    @BeforeEach
+    void setUp() {
+        List<SeasonalRate> seasons = new ArrayList<>();
+        List<Promotion> promotions = new ArrayList<>();
+        for (long hotelId = 1; hotelId <= HOTELS; hotelId++) {
+            Hotel hotel = new Hotel();
+            hotel.setId(hotelId);
+            hotel.setBasePrice(BigDecimal.valueOf(1 + random.nextLong(10_000_000), 2));
+            hotels.add(hotel);
+            for (int season = random.nextInt(4); season > 0; season--) {
+                LocalDate start = TODAY.plusDays(random.nextInt(120));
+                seasons.add(new SeasonalRate((long) seasons.size() + 1, hotelId, "Season", start,
+                        start.plusDays(random.nextInt(30)), BigDecimal.valueOf(1_000 + random.nextInt(99_001), 4),
+                        null, null));
+            }
+            if (random.nextBoolean()) {
+                Promotion promotion = new Promotion();
+                promotion.setId((long) promotions.size() + 1);
+                promotion.setHotelId(hotelId);
+                promotion.setType(PromotionType.LENGTH_OF_STAY);
+                promotion.setMinNights(1 + random.nextInt(5));
+                promotion.setDiscountPercent(BigDecimal.valueOf(1 + random.nextInt(9_999), 2));
+                promotions.add(promotion);
+            }
+        }
+
+        SeasonalRateRepository seasonalRateRepository = mock(SeasonalRateRepository.class);
+        when(seasonalRateRepository.findAll()).thenReturn(seasons);
+        calendar = new SeasonalRateCalendar(seasonalRateRepository);
+        calendar.rebuildAll();
+        PromotionRepository promotionRepository = mock(PromotionRepository.class);
+        when(promotionRepository.findAllByActiveTrue()).thenReturn(promotions);
+        catalog = new PromotionCatalog(promotionRepository);
+        catalog.rebuildAll();
+        RoomAvailabilityIndex index = mock(RoomAvailabilityIndex.class);
+        when(index.occupancy(anyLong(), any(), any())).thenAnswer(invocation -> Optional.of(
+                occupancy(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+
+        priceCalculationServices = new IPriceCalculationServices(calendar, index, catalog, OCCUPANCY_THRESHOLD,
+                OCCUPANCY_MAX_UPLIFT);
+    }
+
+    @Test
+    void testRoomPricesMatchTheBigDecimalPipeline() {
+        for (int i = 0; i < 20_000; i++) {
+            Room room = randomRoom();
+            LocalDate checkIn = TODAY.plusDays(random.nextInt(150));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(14));
+
+            BigDecimal expected = referencePrice(room, checkIn, checkOut);
+            BigDecimal actual = priceCalculationServices.calculateRoomPrice(room, checkIn, checkOut);
+
+            // Every stage rounded to cents before as well; only a price no stage touched was left unrounded
+            assertThat(actual.scale()).isEqualTo(2);
+            assertThat(actual).as("room %s from %s to %s", room, checkIn, checkOut)
+                    .isEqualByComparingTo(expected.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void testNightlyQuotesMatchTheBigDecimalPipeline() {
+        for (int i = 0; i < 2_000; i++) {
+            Room room = randomRoom();
+            LocalDate checkIn = TODAY.plusDays(random.nextInt(150));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(14));
+
+            PriceQuoteDto quote = priceCalculationServices.quote(List.of(room), checkIn, checkOut).get(0);
+
+            List<BigDecimal> expected = referenceNights(room, checkIn, checkOut);
+            assertThat(quote.getNights()).extracting(PriceQuoteDto.NightPrice::price)
+                    .usingElementComparator(BigDecimal::compareTo)
+                    .containsExactlyElementsOf(expected);
+            assertThat(quote.getTotal())
+                    .isEqualByComparingTo(expected.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+    }
+
+    @Test
+    void testFactorsWithMoreDecimalsAreNotRounded() {
+        Hotel hotel = new Hotel();
+        hotel.setId(HOTELS + 1L);
+        hotel.setBasePrice(new BigDecimal("9999.99"));
+        RoomType roomType = new RoomType();
+        roomType.setPriceFactor(1.33335);
+        Room room = new Room();
+        room.setHotel(hotel);
+        room.setRoomType(roomType);
+
+        assertThat(priceCalculationServices.calculateRoomPrice(room, null, null)).isEqualByComparingTo("13333.49");
+        // 13333.99 with the factor rounded to 1.3334
+        LocalDate checkIn = TODAY.plusDays(10);
+        assertThat(priceCalculationServices.quote(List.of(room), checkIn, checkIn.plusDays(3)).get(0).getNights())
+                .extracting(PriceQuoteDto.NightPrice::price)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyElementsOf(referenceNights(room, checkIn, checkIn.plusDays(3)));
+    }
+
+    @Test
+    void testMulDivHalfUpMatchesBigInteger() {
+        for (int i = 0; i < 50_000; i++) {
+            // Mix small operands with ones whose product needs all 128 bits
+            long a = random.nextBoolean() ? random.nextLong(1_000_000_000L) : random.nextLong(Long.MAX_VALUE / 4);
+            long b = (random.nextBoolean() ? 1 : -1) * random.nextLong(1, 1L << (1 + random.nextInt(60)));
+            long divisor = random.nextLong(1, random.nextBoolean() ? 1_000_000L : Long.MAX_VALUE);
+
+            BigDecimal exact = new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP);
+            if (exact.abs().compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+                continue;
+            }
+            assertThat(FixedPoint.mulDivHalfUp(a, b, divisor)).as("%d * %d / %d", a, b, divisor)
+                    .isEqualTo(exact.longValueExact());
+        }
+    }
+
+    @Test
+    void testDoublesRoundLikeTheirDecimalForm() {
+        for (int i = 0; i < 200_000; i++) {
+            // Five decimal values hit the HALF_UP ties, random doubles everything else
+            double value = random.nextBoolean() ? random.nextInt(2_000_000) / 100_000.0
+                    : random.nextDouble(-50, 50);
+
+            assertThat(FixedPoint.toUnits(value, 4)).as("%s", value)
+                    .isEqualTo(BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+            assertThat(FixedPoint.hasScale(value, 4)).as("%s", value)
+                    .isEqualTo(BigDecimal.valueOf(value).stripTrailingZeros().scale() <= 4);
+        }
+    }
+
+    private Room randomRoom() {
+        RoomType roomType = new RoomType();
+        roomType.setId(1L);
+        // The room type form takes any double; half the factors have at most four decimals, the scaled longs' case
+        roomType.setPriceFactor(random.nextBoolean() ? random.nextInt(1_000, 50_001) / 10_000.0
+                : random.nextDouble(0.1, 5));
+        Room room = new Room();
+        room.setRoomId(random.nextLong(1, Long.MAX_VALUE));
+        room.setHotel(hotels.get(random.nextInt(HOTELS)));
+        room.setRoomType(roomType);
+        if (random.nextBoolean()) {
+            room.setPriceModifier(BigDecimal.valueOf(50 + random.nextInt(151), 2));
+        }
+        return room;
+    }
+
+    // Deterministic per hotel and night, busy enough that about a third of the nights cost more
+    private static double[] occupancy(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        double[] occupancy = new double[(int) (checkOut.toEpochDay() - checkIn.toEpochDay())];
+        for (int night = 0; night < occupancy.length; night++) {
+            occupancy[night] = Math.floorMod(hotelId * 31 + (checkIn.toEpochDay() + night) * 17, 101) / 100.0;
+        }
+        return occupancy;
+    }
+
+    // The BigDecimal pipeline prices were computed with before they moved to scaled longs
+
+    private BigDecimal referencePrice(Room room, LocalDate checkIn, LocalDate checkOut) {
+        Long hotelId = room.getHotel().getId();
+        BigDecimal price = referenceBase(room);
+        price = referenceAverage(price, referenceSeasons(hotelId, checkIn, checkOut));
+        price = referenceAverage(price, referenceOccupancy(hotelId, checkIn, checkOut));
+        return referenceDiscount(price, catalog.bestDiscount(hotelId, 1L, checkIn, checkOut, null));
+    }
+
+    private List<BigDecimal> referenceNights(Room room, LocalDate checkIn, LocalDate checkOut) {
+        Long hotelId = room.getHotel().getId();
+        BigDecimal[] seasons = referenceSeasons(hotelId, checkIn, checkOut);
+        BigDecimal[] occupancy = referenceOccupancy(hotelId, checkIn, checkOut);
+        BigDecimal discountPercent = catalog.bestDiscount(hotelId, 1L, checkIn, checkOut, null);
+        List<BigDecimal> nights = new ArrayList<>();
+        for (int night = 0; night < checkOut.toEpochDay() - checkIn.toEpochDay(); night++) {
+            BigDecimal price = referenceBase(room)
+                    .multiply(seasons == null ? BigDecimal.ONE : seasons[night])
+                    .multiply(occupancy == null ? BigDecimal.ONE : occupancy[night]);
+            nights.add(referenceDiscount(price, discountPercent).setScale(2, RoundingMode.HALF_UP));
+        }
+        return nights;
+    }
+
+    private static BigDecimal referenceBase(Room room) {
+        BigDecimal price = room.getHotel().getBasePrice()
+                .multiply(BigDecimal.valueOf(room.getRoomType().getPriceFactor()));
+        return room.getPriceModifier() == null ? price : price.multiply(room.getPriceModifier());
+    }
+
+    private static BigDecimal referenceAverage(BigDecimal price, BigDecimal[] multipliers) {
+        if (multipliers == null) {
+            return price;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal multiplier : multipliers) {
+            sum = sum.add(multiplier);
+        }
+        return price.multiply(sum).divide(BigDecimal.valueOf(multipliers.length), 2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal[] referenceSeasons(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        long[] units = calendar.nightlyMultiplierUnits(hotelId, checkIn, checkOut);
+        if (units == null) {
+            return null;
+        }
+        BigDecimal[] multipliers = new BigDecimal[units.length];
+        for (int night = 0; night < units.length; night++) {
+            multipliers[night] = BigDecimal.valueOf(units[night], SeasonalRateCalendar.MULTIPLIER_SCALE);
+        }
+        return multipliers;
+    }
+
+    private static BigDecimal[] referenceOccupancy(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        double[] occupancy = occupancy(hotelId, checkIn, checkOut);
+        BigDecimal[] multipliers = new BigDecimal[occupancy.length];
+        boolean any = false;
+        for (int night = 0; night < occupancy.length; night++) {
+            if (occupancy[night] <= OCCUPANCY_THRESHOLD) {
+                multipliers[night] = BigDecimal.ONE;
+                continue;
+            }
+            double demand = Math.min(1, (occupancy[night] - OCCUPANCY_THRESHOLD) / (1 - OCCUPANCY_THRESHOLD));
+            multipliers[night] = BigDecimal.valueOf(1 + OCCUPANCY_MAX_UPLIFT * demand)
+                    .setScale(4, RoundingMode.HALF_UP);
+            any = true;
+        }
+        return any ? multipliers : null;
+    }
+
+    private static BigDecimal referenceDiscount(BigDecimal price, BigDecimal discountPercent) {
+        if (discountPercent == null) {
+            return price;
+        }
+        BigDecimal hundred = BigDecimal.valueOf(100);
+        return price.multiply(hundred.subtract(discountPercent)).divide(hundred, 2, RoundingMode.HALF_UP);
+    }
+}
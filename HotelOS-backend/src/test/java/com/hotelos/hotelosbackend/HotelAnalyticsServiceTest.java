@@ -0,0 +1,92 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.HotelPerformanceDto;
+import com.hotelos.hotelosbackend.models.AnalyticsGranularity;
+import com.hotelos.hotelosbackend.repository.HotelDailyFactRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.services.HotelAnalyticsService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HotelAnalyticsServiceTest {
+
+    private final HotelDailyFactRepository hotelDailyFactRepository = mock(HotelDailyFactRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final HotelAnalyticsService hotelAnalyticsService =
+            new HotelAnalyticsService(hotelDailyFactRepository, roomRepository, 1096);
+
+    @Test
+    void testDailyMetricsIncludeDaysWithoutSales() {
+        when(roomRepository.countByHotelId(1L)).thenReturn(10L);
+        when(hotelDailyFactRepository.sumByPeriod(eq(1L), any(), any(), eq("day")))
+                .thenReturn(List.of(totals("2025-03-02", 4, "480.00")));
+
+        List<HotelPerformanceDto> performance = hotelAnalyticsService.getPerformance(1L,
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 3), AnalyticsGranularity.DAY);
+
+        assertThat(performance).extracting(HotelPerformanceDto::getPeriodStart)
+                .containsExactly(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 3));
+        assertThat(performance.get(0).getSoldRoomNights()).isZero();
+        assertThat(performance.get(0).getAdr()).isEqualByComparingTo("0");
+
+        HotelPerformanceDto sold = performance.get(1);
+        assertThat(sold.getAvailableRoomNights()).isEqualTo(10);
+        assertThat(sold.getOccupancyRate()).isEqualByComparingTo("0.4");
+        assertThat(sold.getAdr()).isEqualByComparingTo("120.00");
+        assertThat(sold.getRevPar()).isEqualByComparingTo("48.00");
+        verify(hotelDailyFactRepository).sumByPeriod(1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4), "day");
+    }
+
+    @Test
+    void testWeeksAreClippedToTheRequestedRange() {
+        when(roomRepository.countByHotelId(1L)).thenReturn(5L);
+        // 2025-03-05 is a Wednesday, its week starts on Monday 2025-03-03
+        when(hotelDailyFactRepository.sumByPeriod(eq(1L), any(), any(), eq("week")))
+                .thenReturn(List.of(totals("2025-03-03", 10, "1000"), totals("2025-03-10", 7, "700")));
+
+        List<HotelPerformanceDto> performance = hotelAnalyticsService.getPerformance(1L,
+                LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 11), AnalyticsGranularity.WEEK);
+
+        assertThat(performance).hasSize(2);
+        assertThat(performance.get(0).getPeriodStart()).isEqualTo(LocalDate.of(2025, 3, 5));
+        assertThat(performance.get(0).getPeriodEnd()).isEqualTo(LocalDate.of(2025, 3, 9));
+        assertThat(performance.get(0).getAvailableRoomNights()).isEqualTo(25);
+        assertThat(performance.get(0).getOccupancyRate()).isEqualByComparingTo("0.4");
+        assertThat(performance.get(1).getPeriodEnd()).isEqualTo(LocalDate.of(2025, 3, 11));
+        assertThat(performance.get(1).getAvailableRoomNights()).isEqualTo(10);
+        assertThat(performance.get(1).getRevPar()).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    void testRejectsInvalidRanges() {
+        assertThatThrownBy(() -> hotelAnalyticsService.getPerformance(1L, LocalDate.of(2025, 3, 2),
+                LocalDate.of(2025, 3, 1), AnalyticsGranularity.DAY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> hotelAnalyticsService.getPerformance(1L, LocalDate.of(2020, 1, 1),
+                LocalDate.of(2025, 1, 1), AnalyticsGranularity.MONTH)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HotelDailyFactRepository.PeriodTotals totals(String period, long roomNights, String revenue) {
+        return new HotelDailyFactRepository.PeriodTotals() {
+            public String getPeriod() {
+                return period;
+            }
+
+            public Long getRoomNights() {
+                return roomNights;
+            }
+
+            public BigDecimal getRevenue() {
+                return new BigDecimal(revenue);
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.HotelStatisticsDto;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.models.UserType;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.UserRepository;
+import com.hotelos.hotelosbackend.services.HotelStatisticsAggregate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class HotelStatisticsAggregateTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HotelStatisticsAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.countUsersByHotelAndUserType()).thenReturn(List.of(
+                userCount(10L, UserType.MANAGER, 1), userCount(10L, UserType.STAFF, 1), userCount(20L, UserType.STAFF, 1)));
+        when(roomRepository.countRoomsByHotelAndStatus()).thenReturn(List.of(
+                roomCount(10L, RoomStatus.AVAILABLE, 1), roomCount(10L, RoomStatus.OCCUPIED, 1)));
+        when(reservationRepository.countReservationsByHotel()).thenReturn(List.of(reservationCount(10L, 1)));
+        aggregate = new HotelStatisticsAggregate(userRepository, roomRepository, reservationRepository, meterRegistry);
+    }
+
+    @Test
+    void testEmptyBeforeFirstBuild() {
+        assertThat(aggregate.statisticsFor(10L)).isEmpty();
+    }
+
+    @Test
+    void testCountsArePerHotel() {
+        aggregate.rebuild();
+
+        HotelStatisticsDto statistics = aggregate.statisticsFor(10L).orElseThrow();
+        assertThat(statistics.getManagerCount()).isEqualTo(1);
+        assertThat(statistics.getStaffCount()).isEqualTo(1);
+        assertThat(statistics.getTotalUserCount()).isEqualTo(2);
+        assertThat(statistics.getTotalRoomCount()).isEqualTo(2);
+        assertThat(statistics.getCurrentlyAvailableCount()).isEqualTo(1);
+        assertThat(statistics.getCurrentlyOccupiedCount()).isEqualTo(1);
+        assertThat(statistics.getReservationsCount()).isEqualTo(1);
+
+        assertThat(aggregate.statisticsFor(20L).orElseThrow().getTotalUserCount()).isEqualTo(1);
+        assertThat(aggregate.statisticsFor(30L).orElseThrow().getTotalRoomCount()).isZero();
+    }
+
+    @Test
+    void testChangesMoveCounters() {
+        aggregate.rebuild();
+
+        aggregate.roomChanged(10L, RoomStatus.OCCUPIED, 10L, RoomStatus.AVAILABLE);
+        aggregate.userChanged(10L, UserType.STAFF, 20L, UserType.STAFF);
+        aggregate.reservationChanged(null, 10L);
+        aggregate.reservationChanged(10L, null);
+
+        HotelStatisticsDto first = aggregate.statisticsFor(10L).orElseThrow();
+        assertThat(first.getCurrentlyAvailableCount()).isEqualTo(2);
+        assertThat(first.getCurrentlyOccupiedCount()).isZero();
+        assertThat(first.getStaffCount()).isZero();
+        assertThat(first.getTotalUserCount()).isEqualTo(1);
+        assertThat(first.getReservationsCount()).isEqualTo(1);
+        assertThat(aggregate.statisticsFor(20L).orElseThrow().getStaffCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testHotelDeletedForgetsEverythingOfThatHotel() {
+        aggregate.rebuild();
+
+        aggregate.hotelDeleted(10L);
+
+        assertThat(aggregate.statisticsFor(10L).orElseThrow().getTotalRoomCount()).isZero();
+        assertThat(aggregate.statisticsFor(10L).orElseThrow().getReservationsCount()).isZero();
+        assertThat(aggregate.statisticsFor(20L).orElseThrow().getTotalUserCount()).isEqualTo(1);
+        // A late event for a user of the deleted hotel has nothing left to undo
+        aggregate.userChanged(10L, UserType.MANAGER, null, null);
+        assertThat(aggregate.statisticsFor(10L).orElseThrow().getTotalUserCount()).isZero();
+    }
+
+    @Test
+    void testReconcileReplacesDriftedCounters() {
+        aggregate.rebuild();
+        // A change that bypassed Hibernate, e.g. a manual SQL update
+        when(roomRepository.countRoomsByHotelAndStatus()).thenReturn(List.of(
+                roomCount(10L, RoomStatus.MAINTENANCE, 1), roomCount(10L, RoomStatus.OCCUPIED, 1)));
+
+        aggregate.reconcile();
+
+        assertThat(aggregate.statisticsFor(10L).orElseThrow().getCurrentlyAvailableCount()).isZero();
+        assertThat(meterRegistry.counter("hotelos.statistics.mismatches").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReconcileKeepsHotelsChangedWhileCounting() {
+        aggregate.rebuild();
+        // The reservation commits while the rooms are counted; the reservation count may already include it
+        when(roomRepository.countRoomsByHotelAndStatus()).thenAnswer(invocation -> {
+            aggregate.reservationChanged(null, 10L);
+            return List.of(roomCount(10L, RoomStatus.AVAILABLE, 1), roomCount(10L, RoomStatus.OCCUPIED, 1),
+                    roomCount(20L, RoomStatus.AVAILABLE, 1));
+        });
+        when(reservationRepository.countReservationsByHotel()).thenReturn(List.of(reservationCount(10L, 2)));
+
+        aggregate.reconcile();
+
+        assertThat(aggregate.statisticsFor(10L).orElseThrow().getReservationsCount()).isEqualTo(2);
+        assertThat(aggregate.statisticsFor(20L).orElseThrow().getTotalRoomCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("hotelos.statistics.mismatches").count()).isEqualTo(1);
+    }
+
+    private static UserRepository.UserTypeCount userCount(Long hotelId, UserType userType, long count) {
+        return new UserRepository.UserTypeCount() {
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public UserType getUserType() {
+                return userType;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static RoomRepository.RoomStatusCount roomCount(Long hotelId, RoomStatus status, long count) {
+        return new RoomRepository.RoomStatusCount() {
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public RoomStatus getStatus() {
+                return status;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static ReservationRepository.HotelCount reservationCount(Long hotelId, long count) {
+        return new ReservationRepository.HotelCount() {
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
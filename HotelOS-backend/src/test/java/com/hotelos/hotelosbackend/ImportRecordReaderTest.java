@@ -0,0 +1,108 @@
+package com.hotelos.hotelosbackend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelos.hotelosbackend.utils.Csv;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader.ImportRecord;
+import com.hotelos.hotelosbackend.utils.ImportRecordReader.MalformedRecordException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportRecordReaderTest {
+
+    @Test
+    void testReadsCsvRecordsByHeader() throws IOException {
+        ImportRecordReader reader = csv("\uFEFFhotelId,roomNumber,description\n"
+                + "1,101,\n"
+                + "\n"
+                + Csv.line(1, 102, "Sea view, \"quiet\"\nsecond line")
+                + "1,103,last\n");
+
+        ImportRecord first = reader.next();
+        assertThat(first.line()).isEqualTo(2);
+        assertThat(first.get("roomNumber")).isEqualTo("101");
+        assertThat(first.get("description")).isNull();
+
+        ImportRecord quoted = reader.next();
+        assertThat(quoted.line()).isEqualTo(4);
+        assertThat(quoted.get("description")).isEqualTo("Sea view, \"quiet\"\nsecond line");
+
+        // Line numbers keep counting the physical lines of the multi-line field
+        assertThat(reader.next().line()).isEqualTo(6);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testContinuesAfterMalformedCsvRecord() throws IOException {
+        ImportRecordReader reader = csv("hotelId,roomNumber\n1\n1,102\n");
+
+        assertThatThrownBy(reader::next).isInstanceOfSatisfying(MalformedRecordException.class,
+                e -> assertThat(e.getLine()).isEqualTo(2));
+        assertThat(reader.next().get("roomNumber")).isEqualTo("102");
+    }
+
+    @Test
+    void testUnterminatedQuoteCostsOneRecord() throws IOException {
+        StringBuilder content = new StringBuilder("hotelId,description\n1,\"never closed\n");
+        for (int i = 0; i < ImportRecordReader.MAX_RECORD_LINES + 10; i++) {
+            content.append("1,room ").append(i).append('\n');
+        }
+        ImportRecordReader reader = csv(content.toString());
+
+        assertThatThrownBy(reader::next).isInstanceOfSatisfying(MalformedRecordException.class,
+                e -> assertThat(e.getLine()).isEqualTo(2));
+        // The quoted field gave up after MAX_RECORD_LINES physical lines, the records after them are read again
+        ImportRecord next = reader.next();
+        assertThat(next.line()).isEqualTo(2 + ImportRecordReader.MAX_RECORD_LINES);
+        assertThat(next.get("description")).isEqualTo("room " + (ImportRecordReader.MAX_RECORD_LINES - 1));
+    }
+
+    @Test
+    void testRejectsRecordsOverTheCharacterLimit() throws IOException {
+        ImportRecordReader reader = ImportRecordReader.csv(new BufferedReader(new StringReader(
+                "hotelId,description\r\n1,\"" + "x".repeat(30) + "\r\n" + "y".repeat(30) + "\"\r\n1,short\r\n")), 40);
+
+        assertThatThrownBy(reader::next).isInstanceOfSatisfying(MalformedRecordException.class,
+                e -> assertThat(e.getLine()).isEqualTo(2));
+        ImportRecord next = reader.next();
+        assertThat(next.line()).isEqualTo(4);
+        assertThat(next.get("description")).isEqualTo("short");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void testRejectsDuplicateHeaderColumns() {
+        assertThatThrownBy(() -> csv("name,name\nA,B\n").next())
+                .isInstanceOf(IllegalArgumentException.class)
+                .isNotInstanceOf(MalformedRecordException.class);
+    }
+
+    @Test
+    void testReadsNdjson() throws IOException {
+        ImportRecordReader reader = ImportRecordReader.ndjson(new BufferedReader(new StringReader(
+                "{\"hotelId\": 1, \"name\": \"Pool\", \"distanceKm\": null}\n"
+                        + "not json\n"
+                        + "[1]\n"
+                        + "{\"hotelId\": 2, \"name\": \" Spa \"}\n")), new ObjectMapper());
+
+        ImportRecord first = reader.next();
+        assertThat(first.get("hotelId")).isEqualTo("1");
+        assertThat(first.get("distanceKm")).isNull();
+        assertThatThrownBy(reader::next).isInstanceOf(MalformedRecordException.class);
+        assertThatThrownBy(reader::next).isInstanceOf(MalformedRecordException.class);
+        ImportRecord last = reader.next();
+        assertThat(last.line()).isEqualTo(4);
+        assertThat(last.get("name")).isEqualTo("Spa");
+        assertThat(reader.next()).isNull();
+    }
+
+    private static ImportRecordReader csv(String content) {
+        return ImportRecordReader.csv(new BufferedReader(new StringReader(content)));
+    }
+}
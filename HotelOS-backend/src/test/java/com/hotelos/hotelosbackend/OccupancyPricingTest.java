@@ -0,0 +1,122 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.Reservation;
+import com.hotelos.hotelosbackend.models.ReservationStatus;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class OccupancyPricingTest {
+
+    private static final long HOTEL_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private RoomAvailabilityIndex index;
+    private IPriceCalculationServices priceCalculationServices;
+
+    @BeforeEach
+    void setUp() {
+        // Ten rooms, none booked
+        List<RoomRepository.RoomSlot> slots = LongStream.rangeClosed(1, 10).mapToObj(this::slot).toList();
+        when(roomRepository.findAllRoomSlots()).thenReturn(slots);
+        when(reservationRepository.findActiveStaysBetween(any(), any())).thenReturn(List.of());
+        index = new RoomAvailabilityIndex(roomRepository, reservationRepository, new SimpleMeterRegistry(), 18);
+        index.rebuild();
+        priceCalculationServices = new IPriceCalculationServices(mock(SeasonalRateCalendar.class), index,
+                mock(PromotionCatalog.class), 0.7, 0.25);
+    }
+
+    @Test
+    void testQuietNightsKeepThePrice() {
+        book(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(3));
+        BigDecimal price = new BigDecimal("100.00");
+
+        assertThat(index.occupancy(HOTEL_ID, TODAY.plusDays(1), TODAY.plusDays(3)).orElseThrow())
+                .containsExactly(0.1, 0.1);
+        assertThat(priceCalculationServices.applyOccupancyPricing(price, HOTEL_ID, TODAY.plusDays(1),
+                TODAY.plusDays(3))).isSameAs(price);
+    }
+
+    @Test
+    void testBusyNightsScaleWithOccupancy() {
+        // Nine rooms booked on the first night, all ten on the second
+        for (long room = 1; room <= 9; room++) {
+            book(100L + room, room, TODAY.plusDays(5), TODAY.plusDays(7));
+        }
+        book(200L, 10L, TODAY.plusDays(6), TODAY.plusDays(7));
+
+        // 0.9 occupancy is two thirds of the way to full: x1.1667, full: x1.25
+        assertThat(priceCalculationServices.applyOccupancyPricing(new BigDecimal("100.00"), HOTEL_ID,
+                TODAY.plusDays(5), TODAY.plusDays(7))).isEqualByComparingTo("120.84");
+    }
+
+    @Test
+    void testCountsFollowReservationChanges() {
+        book(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(4));
+        // The same room booked twice on a night is still one sold room
+        book(101L, 1L, TODAY.plusDays(2), TODAY.plusDays(3));
+        assertThat(index.occupancy(HOTEL_ID, TODAY.plusDays(1), TODAY.plusDays(4)).orElseThrow())
+                .containsExactly(0.1, 0.1, 0.1);
+
+        Reservation cancelled = reservation(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(4));
+        cancelled.setStatus(ReservationStatus.CANCELLED);
+        index.reservationSaved(cancelled);
+        assertThat(index.occupancy(HOTEL_ID, TODAY.plusDays(1), TODAY.plusDays(4)).orElseThrow())
+                .containsExactly(0.0, 0.1, 0.0);
+
+        index.roomDeleted(1L);
+        assertThat(index.occupancy(HOTEL_ID, TODAY.plusDays(1), TODAY.plusDays(4)).orElseThrow())
+                .containsExactly(0.0, 0.0, 0.0);
+    }
+
+    @Test
+    void testOutsideTheHorizonKeepsThePrice() {
+        BigDecimal price = new BigDecimal("100.00");
+
+        assertThat(index.occupancy(HOTEL_ID, TODAY.plusYears(3), TODAY.plusYears(3).plusDays(1))).isEmpty();
+        assertThat(priceCalculationServices.applyOccupancyPricing(price, HOTEL_ID, TODAY.plusYears(3),
+                TODAY.plusYears(3).plusDays(1))).isSameAs(price);
+    }
+
+    private void book(long reservationId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        index.reservationSaved(reservation(reservationId, roomId, checkIn, checkOut));
+    }
+
+    private Reservation reservation(long reservationId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Room room = new Room();
+        room.setRoomId(roomId);
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setRoom(room);
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+
+    private RoomRepository.RoomSlot slot(long roomId) {
+        RoomRepository.RoomSlot slot = mock(RoomRepository.RoomSlot.class);
+        when(slot.getRoomId()).thenReturn(roomId);
+        when(slot.getHotelId()).thenReturn(HOTEL_ID);
+        when(slot.getStatus()).thenReturn(RoomStatus.AVAILABLE);
+        return slot;
+    }
+}
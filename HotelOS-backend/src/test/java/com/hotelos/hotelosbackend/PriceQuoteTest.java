@@ -0,0 +1,103 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.PriceQuoteDto;
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomType;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PriceQuoteTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    private final SeasonalRateCalendar calendar = mock(SeasonalRateCalendar.class);
+    private final RoomAvailabilityIndex index = mock(RoomAvailabilityIndex.class);
+    private final PromotionCatalog catalog = mock(PromotionCatalog.class);
+    private IPriceCalculationServices priceCalculationServices;
+
+    @BeforeEach
+    void setUp() {
+        // Hotel 1 has a season on the middle night, hotel 2 has no seasons
+        when(calendar.nightlyMultiplierUnits(1L, CHECK_IN, CHECK_OUT))
+                .thenReturn(new long[]{10_000, 15_000, 10_000});
+        priceCalculationServices = new IPriceCalculationServices(calendar, index, catalog, 0.7, 0.25);
+    }
+
+    @Test
+    void testQuotesEveryNight() {
+        Room room = room(10L, hotel(1L, "100.00"), 1.2);
+
+        PriceQuoteDto quote = priceCalculationServices.quote(List.of(room), CHECK_IN, CHECK_OUT).get(0);
+
+        assertThat(quote.getNights()).extracting(PriceQuoteDto.NightPrice::date)
+                .containsExactly(CHECK_IN, CHECK_IN.plusDays(1), CHECK_IN.plusDays(2));
+        assertThat(quote.getNights()).extracting(night -> night.price().toPlainString())
+                .containsExactly("120.00", "180.00", "120.00");
+        assertThat(quote.getTotal()).isEqualByComparingTo("420.00");
+        // The headline price is the same average nightly rate listings show
+        assertThat(quote.getPrice()).isEqualByComparingTo(
+                priceCalculationServices.calculateRoomPrice(room, CHECK_IN, CHECK_OUT));
+        assertThat(quote.getPrice()).isEqualByComparingTo("140.00");
+    }
+
+    @Test
+    void testLoadsHotelInputsOncePerHotel() {
+        Hotel first = hotel(1L, "100.00");
+        Hotel second = hotel(2L, "80.00");
+        List<Room> rooms = List.of(room(10L, first, 1.0), room(11L, first, 1.5), room(20L, second, 1.0),
+                room(12L, first, 2.0), room(21L, second, 2.0));
+
+        List<PriceQuoteDto> quotes = priceCalculationServices.quote(rooms, CHECK_IN, CHECK_OUT);
+
+        assertThat(quotes).extracting(PriceQuoteDto::getRoomId).containsExactly(10L, 11L, 20L, 12L, 21L);
+        assertThat(quotes.get(4).getTotal()).isEqualByComparingTo("480.00");
+        verify(calendar, times(1)).nightlyMultiplierUnits(eq(1L), any(), any());
+        verify(calendar, times(1)).nightlyMultiplierUnits(eq(2L), any(), any());
+        verify(index, times(2)).occupancy(any(), any(), any());
+        verify(catalog, times(2)).forHotel(any());
+    }
+
+    @Test
+    void testRejectsInvalidStays() {
+        Room room = room(10L, hotel(1L, "100.00"), 1.0);
+
+        assertThatThrownBy(() -> priceCalculationServices.quote(List.of(room), CHECK_OUT, CHECK_IN))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceCalculationServices.quote(List.of(room), CHECK_IN, CHECK_IN.plusYears(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Hotel hotel(long id, String basePrice) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setBasePrice(new BigDecimal(basePrice));
+        return hotel;
+    }
+
+    private static Room room(long roomId, Hotel hotel, double priceFactor) {
+        RoomType roomType = new RoomType();
+        roomType.setId(1L);
+        roomType.setPriceFactor(priceFactor);
+        Room room = new Room();
+        room.setRoomId(roomId);
+        room.setHotel(hotel);
+        room.setRoomType(roomType);
+        return room;
+    }
+}
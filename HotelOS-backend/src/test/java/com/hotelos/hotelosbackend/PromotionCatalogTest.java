@@ -0,0 +1,142 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Promotion;
+import com.hotelos.hotelosbackend.models.PromotionType;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomType;
+import com.hotelos.hotelosbackend.repository.PromotionRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class PromotionCatalogTest {
+
+    private static final long HOTEL_ID = 1L;
+    private static final long SUITE = 7L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final PromotionRepository promotionRepository = mock(PromotionRepository.class);
+    private PromotionCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        Promotion earlyBird = promotion(1L, PromotionType.EARLY_BIRD, "10");
+        earlyBird.setMinDaysBeforeArrival(60);
+        Promotion lastMinute = promotion(2L, PromotionType.LAST_MINUTE, "15");
+        lastMinute.setMaxDaysBeforeArrival(2);
+        Promotion longStay = promotion(3L, PromotionType.LENGTH_OF_STAY, "12");
+        longStay.setMinNights(7);
+        Promotion suites = promotion(4L, PromotionType.ROOM_TYPE, "20");
+        suites.setRoomTypeId(SUITE);
+        suites.setValidTo(TODAY.plusDays(30));
+        Promotion code = promotion(5L, PromotionType.PROMO_CODE, "25");
+        code.setCode("Summer25");
+        Promotion inactive = promotion(6L, PromotionType.LAST_MINUTE, "50");
+        inactive.setMaxDaysBeforeArrival(30);
+        inactive.setActive(false);
+
+        when(promotionRepository.findAllByActiveTrue())
+                .thenReturn(List.of(earlyBird, lastMinute, longStay, suites, code, inactive));
+        catalog = new PromotionCatalog(promotionRepository);
+        catalog.rebuildAll();
+    }
+
+    @Test
+    void testEachRuleKindApplies() {
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(90), TODAY.plusDays(92), null))
+                .isEqualByComparingTo("10");
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(1), TODAY.plusDays(2), null))
+                .isEqualByComparingTo("15");
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(10), TODAY.plusDays(17), null))
+                .isEqualByComparingTo("12");
+        assertThat(catalog.bestDiscount(HOTEL_ID, SUITE, TODAY.plusDays(10), TODAY.plusDays(11), null))
+                .isEqualByComparingTo("20");
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(10), TODAY.plusDays(11), " summer25 "))
+                .isEqualByComparingTo("25");
+    }
+
+    @Test
+    void testBestSingleDiscountWins() {
+        // Early bird, length of stay and the suite rule would all apply; they do not stack
+        assertThat(catalog.bestDiscount(HOTEL_ID, SUITE, TODAY.plusDays(20), TODAY.plusDays(27), null))
+                .isEqualByComparingTo("20");
+        // Past the suite rule's last check-in date the early bird and length of stay rules remain
+        assertThat(catalog.bestDiscount(HOTEL_ID, SUITE, TODAY.plusDays(60), TODAY.plusDays(67), null))
+                .isEqualByComparingTo("12");
+    }
+
+    @Test
+    void testNoPromotionLeavesThePriceAlone() {
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(10), TODAY.plusDays(11), "WRONG")).isNull();
+        assertThat(catalog.bestDiscount(2L, 3L, TODAY.plusDays(1), TODAY.plusDays(2), null)).isNull();
+
+        IPriceCalculationServices priceCalculationServices = new IPriceCalculationServices(
+                mock(SeasonalRateCalendar.class), mock(RoomAvailabilityIndex.class), catalog, 0.7, 0.25);
+        Room room = room(3L);
+        BigDecimal price = new BigDecimal("100.00");
+        assertThat(priceCalculationServices.applyPromotions(price, room, TODAY.plusDays(10), TODAY.plusDays(11)))
+                .isSameAs(price);
+        assertThat(priceCalculationServices.applyPromotions(price, room, TODAY.plusDays(10), TODAY.plusDays(11),
+                "SUMMER25")).isEqualByComparingTo("75.00");
+    }
+
+    @Test
+    void testRulesApplyOnlyWithinTheirCheckInWindow() {
+        Promotion flashSale = promotion(7L, PromotionType.LAST_MINUTE, "40");
+        flashSale.setValidFrom(TODAY.plusDays(100));
+        flashSale.setValidTo(TODAY.plusDays(102));
+        Promotion expired = promotion(8L, PromotionType.ROOM_TYPE, "30");
+        expired.setValidTo(TODAY.minusDays(1));
+        when(promotionRepository.findAllByHotelIdAndActiveTrue(HOTEL_ID)).thenReturn(List.of(flashSale, expired));
+
+        catalog.refreshHotel(HOTEL_ID);
+
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(99), TODAY.plusDays(100), null)).isNull();
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(100), TODAY.plusDays(101), null))
+                .isEqualByComparingTo("40");
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(102), TODAY.plusDays(110), null))
+                .isEqualByComparingTo("40");
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(103), TODAY.plusDays(104), null)).isNull();
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY, TODAY.plusDays(1), null)).isNull();
+    }
+
+    @Test
+    void testRefreshPicksUpChangedRules() {
+        when(promotionRepository.findAllByHotelIdAndActiveTrue(HOTEL_ID)).thenReturn(List.of());
+
+        catalog.refreshHotel(HOTEL_ID);
+
+        assertThat(catalog.bestDiscount(HOTEL_ID, 3L, TODAY.plusDays(1), TODAY.plusDays(2), null)).isNull();
+    }
+
+    private static Promotion promotion(long id, PromotionType type, String discountPercent) {
+        Promotion promotion = new Promotion();
+        promotion.setId(id);
+        promotion.setHotelId(HOTEL_ID);
+        promotion.setType(type);
+        promotion.setDiscountPercent(new BigDecimal(discountPercent));
+        return promotion;
+    }
+
+    private static Room room(long roomTypeId) {
+        Hotel hotel = new Hotel();
+        hotel.setId(HOTEL_ID);
+        RoomType roomType = new RoomType();
+        roomType.setId(roomTypeId);
+        Room room = new Room();
+        room.setHotel(hotel);
+        room.setRoomType(roomType);
+        return room;
+    }
+}
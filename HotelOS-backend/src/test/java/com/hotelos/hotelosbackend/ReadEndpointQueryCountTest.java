@@ -0,0 +1,236 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.controllers.HotelController;
+import com.hotelos.hotelosbackend.controllers.ReservationController;
+import com.hotelos.hotelosbackend.controllers.RoomController;
+import com.hotelos.hotelosbackend.dto.HotelDto;
+import com.hotelos.hotelosbackend.dto.HotelOfferDto;
+import com.hotelos.hotelosbackend.dto.ReservationDto;
+import com.hotelos.hotelosbackend.dto.RoomDto;
+import com.hotelos.hotelosbackend.models.*;
+import com.hotelos.hotelosbackend.repository.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counts the SQL statements behind each read endpoint, a missing entity graph shows up as extra selects
+@SpringBootTest(classes = HotelOsBackendApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ReadEndpointQueryCountTest {
+
+    @Autowired
+    private ReservationController reservationController;
+
+    @Autowired
+    private RoomController roomController;
+
+    @Autowired
+    private HotelController hotelController;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Hotel hotel;
+    private Room room;
+    private User user;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Query Count Hotel " + UUID.randomUUID());
+        hotel.setBasePrice(new BigDecimal("100.00"));
+        hotel.setAddressInformation(address());
+        hotel.setContactInformation(contact());
+        hotel = hotelRepository.save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Double");
+        roomType.setPriceFactor(1.5);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        for (int i = 0; i < 3; i++) {
+            Room saved = new Room();
+            saved.setHotel(hotel);
+            saved.setRoomType(roomType);
+            saved.setRoomNumber(100L + i);
+            saved.setStatus(RoomStatus.AVAILABLE);
+            room = roomRepository.save(saved);
+        }
+
+        user = new User();
+        user.setFirstName("Query");
+        user.setLastName("Count");
+        user.setEmail("query-count-" + UUID.randomUUID() + "@example.com");
+        user.setUserType(UserType.GUEST);
+        user.setHotel(hotel);
+        user.setAddressInformation(address());
+        user.setContactInformation(contact());
+        user = userRepository.save(user);
+
+        for (int i = 0; i < 2; i++) {
+            Reservation saved = new Reservation();
+            saved.setUser(user);
+            saved.setRoom(room);
+            saved.setReservationName("Query Count");
+            saved.setCheckInDate(LocalDate.now().plusDays(10L * i));
+            saved.setCheckOutDate(LocalDate.now().plusDays(10L * i + 2));
+            saved.setStatus(ReservationStatus.CONFIRMED);
+            saved.setTotalAmount(new BigDecimal("300.00"));
+
+            Guest guest = new Guest();
+            guest.setFirstName("Guest");
+            guest.setLastName(String.valueOf(i));
+            guest.setReservation(saved);
+            saved.getGuests().add(guest);
+            reservation = reservationRepository.save(saved);
+        }
+
+        // Every endpoint starts from an empty persistence context, as a new request would
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testReservationById() {
+        // Reservation with user, room, room type and both hotels in one select, guests in a second
+        ReservationDto dto = countStatements(2, () ->
+                reservationController.getReservationById(reservation.getReservationId()).getBody());
+
+        assertThat(dto.getRoom().getHotel().getAddressInformation()).isNotNull();
+        assertThat(dto.getUser().getContactInformation()).isNotNull();
+        assertThat(dto.getGuests()).hasSize(1);
+    }
+
+    @Test
+    void testReservationsByHotel() {
+        // The count query is skipped because the first page is not full, all guests come in one batch
+        Page<ReservationDto> page = countStatements(2, () ->
+                reservationController.getAllReservationsByHotelId(hotel.getId(), 0, 10, null).getBody());
+
+        assertThat(page.getContent()).hasSize(2)
+                .allSatisfy(dto -> assertThat(dto.getGuests()).hasSize(1));
+    }
+
+    @Test
+    void testReservationsByUser() {
+        Page<ReservationDto> page = countStatements(2, () ->
+                reservationController.getReservationsByUser(user.getUserId(), 0, 10).getBody());
+
+        assertThat(page.getContent()).hasSize(2);
+    }
+
+    @Test
+    void testRoomById() {
+        RoomDto dto = countStatements(1, () -> roomController.getRoomById(room.getRoomId()).getBody());
+
+        assertThat(dto.getPrice()).isEqualByComparingTo("150.00");
+        assertThat(dto.getHotel().getContactInformation()).isNotNull();
+    }
+
+    @Test
+    void testRoomsByHotel() {
+        Page<RoomDto> page = countStatements(1, () ->
+                hotelController.getRoomsByHotelId(hotel.getId(), 0, 10, null).getBody());
+
+        assertThat(page.getContent()).hasSize(3)
+                .allSatisfy(dto -> assertThat(dto.getRoomType()).isNotNull());
+    }
+
+    @Test
+    void testHotelById() {
+        HotelDto dto = countStatements(1, () -> hotelController.getHotelById(hotel.getId()).getBody());
+
+        assertThat(dto.getAddressInformation().getCity()).isEqualTo("Query City");
+    }
+
+    @Test
+    void testHotelsFilteredByName() {
+        Page<HotelDto> page = countStatements(1, () ->
+                hotelController.getAllHotels(0, 10, hotel.getName(), null, null).getBody());
+
+        assertThat(page.getContent()).singleElement()
+                .satisfies(dto -> assertThat(dto.getContactInformation()).isNotNull());
+    }
+
+    @Test
+    void testHotelOffersRecordTheBatchStatements() {
+        DistributionSummary batchStatements = meterRegistry.get("hotelos.offers.batch.queries").summary();
+        long batches = batchStatements.count();
+        double statements = batchStatements.totalAmount();
+
+        Page<HotelOfferDto> page = hotelController.getHotelsWithOffers(0, 10, hotel.getName(), null, null, null)
+                .getBody();
+
+        assertThat(page.getContent()).hasSize(1);
+        // The rooms were saved without a projection refresh, so the batch is the projection and amenity selects
+        assertThat(batchStatements.count()).isEqualTo(batches + 1);
+        assertThat(batchStatements.totalAmount() - statements).isEqualTo(2);
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> endpoint) {
+        T result = endpoint.get();
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements").isEqualTo(expected);
+        // Nothing was loaded one row at a time through a lazy proxy
+        assertThat(statistics.getEntityFetchCount()).as("lazy entity fetches").isZero();
+        return result;
+    }
+
+    private static AddressInformation address() {
+        AddressInformation address = new AddressInformation();
+        address.setAddress("1 Query St");
+        address.setCity("Query City");
+        address.setCountry("Query Country");
+        return address;
+    }
+
+    private static ContactInformation contact() {
+        ContactInformation contact = new ContactInformation();
+        contact.setEmail("contact@example.com");
+        contact.setPhoneNumber("123-456-7890");
+        return contact;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.models.*;
+import com.hotelos.hotelosbackend.repository.HotelRepository;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.repository.UserRepository;
+import com.hotelos.hotelosbackend.services.ReservationServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: every booking has to commit on its own for the race to be real
+@SpringBootTest(classes = HotelOsBackendApplication.class)
+class ReservationBookingConcurrencyTest {
+
+    private static final int BOOKINGS = 2000;
+    private static final int THREADS = 32;
+    private static final int ROOMS = 4;
+
+    @Autowired
+    private ReservationServices reservationServices;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Hotel hotel;
+    private User user;
+    private final List<Room> rooms = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Concurrency Test Hotel");
+        hotel.setBasePrice(BigDecimal.valueOf(100));
+        hotel = hotelRepository.save(hotel);
+
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setHotel(hotel);
+            room.setRoomNumber(100L + i);
+            room.setStatus(RoomStatus.AVAILABLE);
+            rooms.add(roomRepository.save(room));
+        }
+
+        user = new User();
+        user.setFirstName("Load");
+        user.setLastName("Test");
+        user.setEmail("load-test-" + UUID.randomUUID() + "@example.com");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(reservationRepository.findAllByHotelId(hotel.getId()));
+        roomRepository.deleteAll(rooms);
+        hotelRepository.delete(hotel);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void testParallelBookingsNeverOverlap() throws Exception {
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LocalDate checkIn = firstNight.plusDays(random.nextInt(60));
+
+                Reservation reservation = new Reservation();
+                reservation.setUser(user);
+                reservation.setRoom(rooms.get(random.nextInt(ROOMS)));
+                reservation.setCheckInDate(checkIn);
+                reservation.setCheckOutDate(checkIn.plusDays(1 + random.nextInt(5)));
+                reservation.setStatus(ReservationStatus.CONFIRMED);
+                reservation.setTotalAmount(BigDecimal.valueOf(100));
+
+                start.await();
+                try {
+                    reservationServices.saveReservation(reservation);
+                    booked.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(booked.get() + rejected.get()).isEqualTo(BOOKINGS);
+        assertThat(booked.get()).isPositive();
+
+        for (Room room : rooms) {
+            List<Reservation> reservations = reservationRepository.findAllByHotelId(hotel.getId()).stream()
+                    .filter(reservation -> reservation.getRoom().getRoomId() == room.getRoomId())
+                    .sorted(Comparator.comparing(Reservation::getCheckInDate))
+                    .toList();
+            for (int i = 1; i < reservations.size(); i++) {
+                assertThat(reservations.get(i).getCheckInDate())
+                        .isAfterOrEqualTo(reservations.get(i - 1).getCheckOutDate());
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Reservation;
+import com.hotelos.hotelosbackend.models.ReservationStatus;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.repository.ReservationRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RoomAvailabilityIndexTest {
+
+    private static final long HOTEL_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate HORIZON_END = TODAY.plusMonths(18);
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<RoomRepository.RoomSlot> slots =
+                List.of(slot(1L, RoomStatus.AVAILABLE), slot(2L, RoomStatus.AVAILABLE));
+        when(roomRepository.findAllRoomSlots()).thenReturn(slots);
+        when(reservationRepository.findActiveStaysBetween(any(), any())).thenReturn(List.of());
+        index = new RoomAvailabilityIndex(roomRepository, reservationRepository, meterRegistry, 18);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testMarksAndUnmarksNights() {
+        index.reservationSaved(reservation(100L, 1L, TODAY.plusDays(2), TODAY.plusDays(5)));
+
+        assertThat(free(TODAY.plusDays(2), TODAY.plusDays(5))).containsExactly(2L);
+        assertThat(free(TODAY.plusDays(4), TODAY.plusDays(6))).containsExactly(2L);
+        // Check-out day and the night before check-in stay free
+        assertThat(free(TODAY.plusDays(5), TODAY.plusDays(7))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(free(TODAY.plusDays(1), TODAY.plusDays(2))).containsExactlyInAnyOrder(1L, 2L);
+
+        // Nights shared with another stay of the room stay booked when one of them is cancelled
+        index.reservationSaved(reservation(101L, 1L, TODAY.plusDays(4), TODAY.plusDays(6)));
+        Reservation cancelled = reservation(100L, 1L, TODAY.plusDays(2), TODAY.plusDays(5));
+        cancelled.setStatus(ReservationStatus.CANCELLED);
+        index.reservationSaved(cancelled);
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(2), TODAY.plusDays(4))).contains(true);
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(4), TODAY.plusDays(5))).contains(false);
+
+        index.reservationDeleted(101L);
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(2), TODAY.plusDays(6))).contains(true);
+    }
+
+    @Test
+    void testRoomStatusAndDeletes() {
+        index.roomSaved(room(2L, RoomStatus.MAINTENANCE));
+        assertThat(free(TODAY, TODAY.plusDays(1))).containsExactly(1L);
+
+        index.roomSaved(room(2L, RoomStatus.AVAILABLE));
+        index.roomDeleted(1L);
+        assertThat(free(TODAY, TODAY.plusDays(1))).containsExactly(2L);
+
+        index.hotelDeleted(HOTEL_ID);
+        assertThat(free(TODAY, TODAY.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void testRangesAtTheHorizonEdges() {
+        assertThat(index.findFreeRoomIds(HOTEL_ID, TODAY, TODAY.plusDays(1))).isPresent();
+        assertThat(index.findFreeRoomIds(HOTEL_ID, HORIZON_END.minusDays(1), HORIZON_END)).isPresent();
+        assertThat(index.findFreeRoomIds(HOTEL_ID, TODAY.minusDays(1), TODAY.plusDays(1))).isEmpty();
+        assertThat(index.findFreeRoomIds(HOTEL_ID, HORIZON_END.minusDays(1), HORIZON_END.plusDays(1))).isEmpty();
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(3), TODAY.plusDays(3))).isEmpty();
+
+        // A stay running past the horizon books the nights inside it
+        index.reservationSaved(reservation(100L, 1L, HORIZON_END.minusDays(2), HORIZON_END.plusDays(5)));
+        assertThat(index.isRoomFree(1L, HORIZON_END.minusDays(1), HORIZON_END)).contains(false);
+        assertThat(index.isRoomFree(1L, HORIZON_END.minusDays(3), HORIZON_END.minusDays(2))).contains(true);
+
+        assertThat(meterRegistry.get("hotelos.availability.index.fallbacks").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testAppliesChangesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reservationSaved(reservation(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(2)));
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(1), TODAY.plusDays(2))).contains(true);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(1), TODAY.plusDays(2))).contains(false);
+    }
+
+    @Test
+    void testDropsChangesOfRolledBackTransactions() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reservationSaved(reservation(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(2)));
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(1), TODAY.plusDays(2))).contains(true);
+    }
+
+    @Test
+    void testReplaysChangesCommittedDuringRebuild() {
+        // The booking commits after the rebuild read the rooms but before it read the stays
+        when(reservationRepository.findActiveStaysBetween(any(), any())).thenAnswer(invocation -> {
+            index.reservationSaved(reservation(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(2)));
+            return List.of();
+        });
+        index.rebuild();
+
+        assertThat(index.isRoomFree(1L, TODAY.plusDays(1), TODAY.plusDays(2))).contains(false);
+    }
+
+    @Test
+    void testConsistencyCheckReplacesDriftedIndex() {
+        index.verifyConsistency();
+        assertThat(mismatches()).isZero();
+
+        // The database has a stay and a room status change the index never heard of
+        ReservationRepository.ReservationStay missed = stay(100L, 1L, TODAY.plusDays(1), TODAY.plusDays(3));
+        List<RoomRepository.RoomSlot> slots =
+                List.of(slot(1L, RoomStatus.AVAILABLE), slot(2L, RoomStatus.MAINTENANCE));
+        when(reservationRepository.findActiveStaysBetween(any(), any())).thenReturn(List.of(missed));
+        when(roomRepository.findAllRoomSlots()).thenReturn(slots);
+        index.verifyConsistency();
+
+        assertThat(mismatches()).isEqualTo(2);
+        assertThat(free(TODAY.plusDays(1), TODAY.plusDays(3))).isEmpty();
+        assertThat(free(TODAY.plusDays(3), TODAY.plusDays(4))).containsExactly(1L);
+    }
+
+    private Set<Long> free(LocalDate checkIn, LocalDate checkOut) {
+        return index.findFreeRoomIds(HOTEL_ID, checkIn, checkOut).orElseThrow();
+    }
+
+    private double mismatches() {
+        return meterRegistry.get("hotelos.availability.index.mismatches").counter().count();
+    }
+
+    private Room room(long roomId, RoomStatus status) {
+        Hotel hotel = new Hotel();
+        hotel.setId(HOTEL_ID);
+        Room room = new Room();
+        room.setRoomId(roomId);
+        room.setHotel(hotel);
+        room.setStatus(status);
+        return room;
+    }
+
+    private Reservation reservation(long reservationId, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setRoom(room(roomId, RoomStatus.AVAILABLE));
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return reservation;
+    }
+
+    private RoomRepository.RoomSlot slot(long roomId, RoomStatus status) {
+        RoomRepository.RoomSlot slot = mock(RoomRepository.RoomSlot.class);
+        when(slot.getRoomId()).thenReturn(roomId);
+        when(slot.getHotelId()).thenReturn(HOTEL_ID);
+        when(slot.getStatus()).thenReturn(status);
+        return slot;
+    }
+
+    private ReservationRepository.ReservationStay stay(long reservationId, long roomId, LocalDate checkIn,
+            LocalDate checkOut) {
+        ReservationRepository.ReservationStay stay = mock(ReservationRepository.ReservationStay.class);
+        when(stay.getReservationId()).thenReturn(reservationId);
+        when(stay.getRoomId()).thenReturn(roomId);
+        when(stay.getCheckInDate()).thenReturn(checkIn);
+        when(stay.getCheckOutDate()).thenReturn(checkOut);
+        return stay;
+    }
+}
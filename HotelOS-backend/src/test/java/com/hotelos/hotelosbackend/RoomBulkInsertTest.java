@@ -0,0 +1,117 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.config.IdSequenceAligner;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.models.RoomStatus;
+import com.hotelos.hotelosbackend.repository.HotelRepository;
+import com.hotelos.hotelosbackend.repository.RoomRepository;
+import com.hotelos.hotelosbackend.services.RoomServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = HotelOsBackendApplication.class, properties = "hotelos.rooms.bulk-max-size=20")
+@Transactional
+class RoomBulkInsertTest {
+
+    @Autowired
+    private RoomServices roomServices;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Bulk Hotel");
+        hotel.setBasePrice(new BigDecimal("100.00"));
+        hotel = hotelRepository.save(hotel);
+    }
+
+    @Test
+    void testCreatesEveryRoom() {
+        List<Room> saved = roomServices.createRooms(hotel, rooms(101, 120));
+
+        assertThat(saved).hasSize(20);
+        assertThat(saved).extracting(Room::getRoomId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat(roomRepository.findExistingRoomNumbers(hotel.getId(),
+                LongStream.rangeClosed(101, 120).boxed().toList())).hasSize(20);
+    }
+
+    @Test
+    void testRejectsDuplicateRoomNumbers() {
+        List<Room> repeated = rooms(101, 103);
+        repeated.add(room(102));
+        assertThatThrownBy(() -> roomServices.createRooms(hotel, repeated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("102");
+
+        roomServices.createRooms(hotel, rooms(201, 202));
+        assertThatThrownBy(() -> roomServices.createRooms(hotel, rooms(202, 203)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("202");
+        assertThat(roomRepository.findExistingRoomNumbers(hotel.getId(), List.of(101L, 203L))).isEmpty();
+    }
+
+    @Test
+    void testRejectsListsOverTheCap() {
+        assertThatThrownBy(() -> roomServices.createRooms(hotel, rooms(101, 121)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 20");
+    }
+
+    @Test
+    void testAlignsTheSequencePastRowsInsertedWithoutIt() {
+        // A row with an id the sequence has not handed out yet, like those of the old identity column
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM public.rooms_seq", Long.class);
+        long legacyId = lastValue + 1_000;
+        jdbcTemplate.update("INSERT INTO public.rooms (room_id, room_number, hotel_id, status) VALUES (?, ?, ?, ?)",
+                legacyId, 999, hotel.getId(), RoomStatus.AVAILABLE.name());
+
+        ReflectionTestUtils.invokeMethod(idSequenceAligner, "align");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT last_value FROM public.rooms_seq", Long.class))
+                .isGreaterThan(legacyId);
+        List<Room> saved = roomServices.createRooms(hotel, rooms(101, 110));
+        assertThat(saved).extracting(Room::getRoomId).doesNotContain(legacyId);
+    }
+
+    private List<Room> rooms(long firstNumber, long lastNumber) {
+        return LongStream.rangeClosed(firstNumber, lastNumber).mapToObj(this::room)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private Room room(long roomNumber) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setCapacity(2);
+        room.setPriceModifier(BigDecimal.ONE);
+        room.setStatus(RoomStatus.AVAILABLE);
+        return room;
+    }
+}
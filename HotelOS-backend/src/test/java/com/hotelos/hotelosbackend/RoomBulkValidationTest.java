@@ -0,0 +1,90 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.controllers.HotelController;
+import com.hotelos.hotelosbackend.mapper.RoomMapper;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.services.HotelServices;
+import com.hotelos.hotelosbackend.services.RoomServices;
+import com.hotelos.hotelosbackend.utils.ValidationExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RoomBulkValidationTest {
+
+    private static final String VALID_ROOM = """
+            {"roomNumber": %d, "roomType": {"id": 1, "name": "Double", "priceFactor": 1.0}, "capacity": %d,
+             "price": 100.00, "status": "AVAILABLE", "hotel": {"id": 1}}""";
+
+    private final HotelServices hotelServices = mock(HotelServices.class);
+    private final RoomServices roomServices = mock(RoomServices.class);
+    private final RoomMapper roomMapper = mock(RoomMapper.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        HotelController controller = new HotelController();
+        ReflectionTestUtils.setField(controller, "hotelServices", hotelServices);
+        ReflectionTestUtils.setField(controller, "roomServices", roomServices);
+        ReflectionTestUtils.setField(controller, "roomMapper", roomMapper);
+
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        // The same method validation proxy Spring Boot puts around @Validated beans
+        MethodValidationPostProcessor methodValidation = new MethodValidationPostProcessor();
+        methodValidation.setValidator(validator);
+        methodValidation.setProxyTargetClass(true);
+        methodValidation.afterPropertiesSet();
+        Object validated = methodValidation.postProcessAfterInitialization(controller, "hotelController");
+
+        mockMvc = MockMvcBuilders.standaloneSetup(validated)
+                .setControllerAdvice(new ValidationExceptionHandler())
+                .build();
+
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        when(hotelServices.getHotelById(1L)).thenReturn(Optional.of(hotel));
+        when(roomMapper.toEntity(any(), any())).thenAnswer(invocation -> new Room());
+    }
+
+    @Test
+    void testCreatesValidRooms() throws Exception {
+        Room saved = new Room();
+        saved.setRoomId(7L);
+        when(roomServices.createRooms(any(), anyList())).thenReturn(List.of(saved, saved));
+
+        mockMvc.perform(post("/api/hotels/1/rooms/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_ROOM.formatted(101, 2) + "," + VALID_ROOM.formatted(102, 2) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    void testRejectsAnInvalidElement() throws Exception {
+        mockMvc.perform(post("/api/hotels/1/rooms/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_ROOM.formatted(101, 2) + "," + VALID_ROOM.formatted(102, 0) + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['addRoomsBulk.roomDtos[1].capacity']")
+                        .value("Capacity must be a positive number"));
+
+        verify(roomServices, never()).createRooms(any(), anyList());
+    }
+}
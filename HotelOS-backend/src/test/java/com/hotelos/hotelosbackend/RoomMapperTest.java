@@ -0,0 +1,58 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.dto.RoomDto;
+import com.hotelos.hotelosbackend.mapper.RoomMapper;
+import com.hotelos.hotelosbackend.mapper.RoomMapperImpl;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.Room;
+import com.hotelos.hotelosbackend.services.PriceCalculationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RoomMapperTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    private final PriceCalculationService priceCalculationService = mock(PriceCalculationService.class);
+    private final RoomMapper roomMapper = new RoomMapperImpl();
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roomMapper, "priceCalculationService", priceCalculationService);
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        room = new Room();
+        room.setRoomId(7L);
+        room.setHotel(hotel);
+    }
+
+    @Test
+    void testPricesTheStayOnlyOnce() {
+        when(priceCalculationService.calculateRoomPrice(room, CHECK_IN, CHECK_OUT, "SUMMER"))
+                .thenReturn(new BigDecimal("240.00"));
+
+        RoomDto dto = roomMapper.toDto(room, CHECK_IN, CHECK_OUT, "SUMMER");
+
+        assertThat(dto.getRoomId()).isEqualTo(7L);
+        assertThat(dto.getPrice()).isEqualByComparingTo("240.00");
+        verify(priceCalculationService).calculateRoomPrice(room, CHECK_IN, CHECK_OUT, "SUMMER");
+        verifyNoMoreInteractions(priceCalculationService);
+    }
+
+    @Test
+    void testKnownPriceIsNotRecalculated() {
+        RoomDto dto = roomMapper.toDto(room, new BigDecimal("99.00"));
+
+        assertThat(dto.getPrice()).isEqualByComparingTo("99.00");
+        verifyNoInteractions(priceCalculationService);
+    }
+}
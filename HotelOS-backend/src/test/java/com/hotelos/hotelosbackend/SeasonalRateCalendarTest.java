@@ -0,0 +1,88 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.implementation.IPriceCalculationServices;
+import com.hotelos.hotelosbackend.models.SeasonalRate;
+import com.hotelos.hotelosbackend.repository.SeasonalRateRepository;
+import com.hotelos.hotelosbackend.services.PromotionCatalog;
+import com.hotelos.hotelosbackend.services.RoomAvailabilityIndex;
+import com.hotelos.hotelosbackend.services.SeasonalRateCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SeasonalRateCalendarTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2026, 7, 1);
+
+    private final SeasonalRateRepository seasonalRateRepository = mock(SeasonalRateRepository.class);
+    private SeasonalRateCalendar calendar;
+    private IPriceCalculationServices priceCalculationServices;
+
+    @BeforeEach
+    void setUp() {
+        when(seasonalRateRepository.findAll()).thenReturn(List.of(
+                season(1L, JULY_1, JULY_1.plusDays(30), "1.5"),
+                // Starts later, so it wins the nights it shares with the summer season
+                season(2L, JULY_1.plusDays(10), JULY_1.plusDays(12), "2.0"),
+                season(3L, JULY_1.minusDays(3), JULY_1.minusDays(3), "0.8")));
+        calendar = new SeasonalRateCalendar(seasonalRateRepository);
+        calendar.rebuildAll();
+        priceCalculationServices = new IPriceCalculationServices(calendar, mock(RoomAvailabilityIndex.class),
+                mock(PromotionCatalog.class), 0.7, 0.25);
+    }
+
+    @Test
+    void testPricesEachNightWithItsOwnSeason() {
+        // Two nights before the summer season and two nights in it
+        long[] nights = calendar.nightlyMultiplierUnits(10L, JULY_1.minusDays(2), JULY_1.plusDays(2));
+
+        assertThat(nights).containsExactly(10_000, 10_000, 15_000, 15_000);
+        assertThat(priceCalculationServices.applySeasonalFactors(new BigDecimal("100.00"), 10L,
+                JULY_1.minusDays(2), JULY_1.plusDays(2))).isEqualByComparingTo("125.00");
+    }
+
+    @Test
+    void testLaterSeasonWinsOverlappingNights() {
+        long[] nights = calendar.nightlyMultiplierUnits(10L, JULY_1.plusDays(9), JULY_1.plusDays(14));
+
+        assertThat(nights).containsExactly(15_000, 20_000, 20_000, 20_000, 15_000);
+    }
+
+    @Test
+    void testStaysOutsideSeasonsKeepThePrice() {
+        BigDecimal price = new BigDecimal("150.000");
+
+        assertThat(calendar.nightlyMultiplierUnits(10L, JULY_1.minusDays(2), JULY_1)).isNull();
+        assertThat(calendar.nightlyMultiplierUnits(20L, JULY_1, JULY_1.plusDays(3))).isNull();
+        assertThat(priceCalculationServices.applySeasonalFactors(price, 10L, JULY_1.plusYears(1),
+                JULY_1.plusYears(1).plusDays(14))).isSameAs(price);
+        assertThat(priceCalculationServices.applySeasonalFactors(price, 10L, null, null)).isSameAs(price);
+        // Nothing beyond the startup build touched the database
+        verify(seasonalRateRepository, never()).findAllByHotelIdOrderByStartDateAscIdAsc(any());
+    }
+
+    @Test
+    void testRefreshHotelRecompilesOnlyThatHotel() {
+        when(seasonalRateRepository.findAllByHotelIdOrderByStartDateAscIdAsc(10L)).thenReturn(List.of());
+
+        calendar.refreshHotel(10L);
+
+        assertThat(calendar.nightlyMultiplierUnits(10L, JULY_1, JULY_1.plusDays(2))).isNull();
+    }
+
+    private static SeasonalRate season(Long id, LocalDate start, LocalDate end, String multiplier) {
+        SeasonalRate season = new SeasonalRate();
+        season.setId(id);
+        season.setHotelId(10L);
+        season.setStartDate(start);
+        season.setEndDate(end);
+        season.setMultiplier(new BigDecimal(multiplier));
+        return season;
+    }
+}
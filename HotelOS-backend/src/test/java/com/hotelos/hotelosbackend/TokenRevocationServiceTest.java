@@ -0,0 +1,80 @@
+package com.hotelos.hotelosbackend;
+
+import com.hotelos.hotelosbackend.implementation.IUserServices;
+import com.hotelos.hotelosbackend.mapper.UserMapper;
+import com.hotelos.hotelosbackend.models.Hotel;
+import com.hotelos.hotelosbackend.models.TokenRevocation;
+import com.hotelos.hotelosbackend.models.User;
+import com.hotelos.hotelosbackend.models.UserType;
+import com.hotelos.hotelosbackend.repository.TokenRevocationRepository;
+import com.hotelos.hotelosbackend.repository.UserRepository;
+import com.hotelos.hotelosbackend.services.FileStorageService;
+import com.hotelos.hotelosbackend.services.TokenRevocationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private final TokenRevocationRepository tokenRevocationRepository = mock(TokenRevocationRepository.class);
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationService(tokenRevocationRepository);
+
+    @Test
+    void testTokensIssuedBeforeTheCutOffAreRejected() {
+        tokenRevocationService.revokeTokensIssuedBefore(1L, NOW);
+
+        assertThat(tokenRevocationService.isRevoked(1L, Date.from(NOW.minusSeconds(60)))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(1L, Date.from(NOW.plusSeconds(1)))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(2L, Date.from(NOW.minusSeconds(60)))).isFalse();
+        verify(tokenRevocationRepository).saveAll(anyList());
+    }
+
+    @Test
+    void testReloadPicksUpRevocationsOfOtherInstances() {
+        when(tokenRevocationRepository.findByRevokedBeforeAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(3L, NOW)));
+
+        tokenRevocationService.reload();
+
+        assertThat(tokenRevocationService.isRevoked(3L, Date.from(NOW.minusSeconds(60)))).isTrue();
+    }
+
+    @Test
+    void testChangedRoleOrHotelRevokesTheUsersTokens() {
+        UserRepository userRepository = mock(UserRepository.class);
+        IUserServices userServices = new IUserServices(userRepository, mock(FileStorageService.class),
+                mock(UserMapper.class), tokenRevocationService);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, UserType.STAFF, 10L)));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user(2L, UserType.STAFF, 10L)));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user(3L, UserType.STAFF, 10L)));
+
+        userServices.updateUser(user(1L, UserType.MANAGER, 10L));
+        userServices.updateUser(user(2L, UserType.STAFF, 20L));
+        userServices.updateUser(user(3L, UserType.STAFF, 10L));
+
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(60));
+        assertThat(tokenRevocationService.isRevoked(1L, issuedBefore)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(2L, issuedBefore)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(3L, issuedBefore)).isFalse();
+    }
+
+    private static User user(long userId, UserType userType, long hotelId) {
+        Hotel hotel = new Hotel();
+        hotel.setId(hotelId);
+        User user = new User();
+        user.setUserId(userId);
+        user.setUserType(userType);
+        user.setHotel(hotel);
+        return user;
+    }
+}